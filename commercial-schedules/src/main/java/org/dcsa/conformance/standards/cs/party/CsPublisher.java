@@ -12,9 +12,9 @@ import org.dcsa.conformance.core.party.ConformanceParty;
 import org.dcsa.conformance.core.party.CounterpartConfiguration;
 import org.dcsa.conformance.core.party.PartyConfiguration;
 import org.dcsa.conformance.core.party.PartyWebClient;
+import org.dcsa.conformance.core.query.QueryPlan;
 import org.dcsa.conformance.core.scenario.ConformanceAction;
 import org.dcsa.conformance.core.state.JsonNodeMap;
-import org.dcsa.conformance.core.toolkit.JsonToolkit;
 import org.dcsa.conformance.core.traffic.ConformanceMessageBody;
 import org.dcsa.conformance.core.traffic.ConformanceRequest;
 import org.dcsa.conformance.core.traffic.ConformanceResponse;
@@ -53,43 +53,38 @@ public class CsPublisher extends ConformanceParty {
   @Override
   public ConformanceResponse handleRequest(ConformanceRequest request) {
     log.info("CsPublisher.handleRequest(%s)".formatted(request));
-    String filePath;
     Map<String, List<String>> initialIMap = Map.of(API_VERSION, List.of(apiVersion));
     Map<String, Collection<String>> headers = new HashMap<>(initialIMap);
-    if (request.queryParams().containsKey("limit")
-        && !request.queryParams().containsKey("cursor")) {
-      String cursor = "fE9mZnNldHw9MTAmbGltaXQ9MTA"; //example value for a cursor
-      headers.put("Next-Page-Cursor", List.of(cursor));
-    }
-    boolean hasCursor = request.queryParams().containsKey("cursor");
 
-    String baseFilePath = "/standards/commercialschedules/messages/commercialschedules-api-1.0.0-"; // NOSONAR
-    String suffix = hasCursor ? "nextpage.json" : ".json";
     String routeType = "vs";
-
+    Map<String, String> entryMap = new HashMap<>();
     if (request.url().endsWith("v1/point-to-point-routes")) {
       routeType = "ptp";
+      CsDateUtils.handleArrivalAndDepartureDates(entryMap, request.queryParams());
     } else if (request.url().endsWith("v1/port-schedules")) {
       routeType = "ps";
+      CsDateUtils.handleSingleDate(entryMap, request.queryParams());
     }
 
-    filePath = baseFilePath + routeType + suffix;
+    CsScheduleDataset dataset = CsScheduleDataset.forRouteType(routeType);
+    QueryPlan queryPlan = QueryPlan.compile(request.queryParams());
+    CsScheduleDataset.Page page = dataset.getRequestedPage(queryPlan.cursor(), getLimit(queryPlan));
+    String nextPageCursor = dataset.getNextPageCursor(page);
+    if (nextPageCursor != null) {
+      headers.put("Next-Page-Cursor", List.of(nextPageCursor));
+    }
 
-    JsonNode jsonResponseBody = replacePlaceHolders(filePath, request);
+    JsonNode jsonResponseBody = dataset.toArrayNode(page, entryMap);
     return request.createResponse(200, headers, new ConformanceMessageBody(jsonResponseBody));
   }
 
-  private JsonNode replacePlaceHolders(String filePath, ConformanceRequest request) {
-    Map<String, String> entryMap = new HashMap<>();
-
-    String url = request.url();
-
-    if (url.endsWith("v1/point-to-point-routes")) {
-      CsDateUtils.handleArrivalAndDepartureDates(entryMap, request.queryParams());
-    } else if (url.endsWith("v1/port-schedules")) {
-      CsDateUtils.handleSingleDate(entryMap, request.queryParams());
+  private static Integer getLimit(QueryPlan queryPlan) {
+    try {
+      return queryPlan.limit();
+    } catch (NumberFormatException e) {
+      log.debug("Ignoring invalid limit '%s'".formatted(queryPlan.limitValue()));
+      return null;
     }
-    return JsonToolkit.templateFileToJsonNode(filePath, entryMap);
   }
 
   @Override
@@ -0,0 +1,166 @@
+package org.dcsa.conformance.standards.cs.party;
+
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import org.dcsa.conformance.core.toolkit.JsonToolkit;
+
+/**
+ * The vessel schedules, point-to-point routes or port schedules served by the commercial schedules
+ * publisher, generated once in memory and paged through with opaque offset cursors.
+ *
+ * <p>The dataset starts with the items of the first page response template, followed by the items
+ * of the next page response template repeated up to the dataset size. Since a cursor encodes the
+ * offset and limit of the page it points to, consecutive pages never overlap or skip items and
+ * don't require any state in the publisher.
+ *
+ * <p>The items are only copied when they are returned, with the date placeholders of the templates
+ * replaced by the dates computed from the query parameters.
+ */
+final class CsScheduleDataset {
+  static final int DEFAULT_DATASET_SIZE = 1000;
+  static final int MAX_LIMIT = 1000;
+
+  private static final String TEMPLATE_PATH_PREFIX =
+      "/standards/commercialschedules/messages/commercialschedules-api-1.0.0-"; // NOSONAR
+
+  private static final ConcurrentHashMap<String, CsScheduleDataset> DATASETS_BY_ROUTE_TYPE =
+      new ConcurrentHashMap<>();
+
+  /** The position and size of a page of the dataset. */
+  record Page(int offset, int limit) {}
+
+  private final String routeType;
+  private final JsonNode[] items;
+  private final int defaultLimit;
+
+  CsScheduleDataset(
+      String routeType, List<JsonNode> firstPageItems, List<JsonNode> nextPageItems, int size) {
+    if (firstPageItems.isEmpty() || nextPageItems.isEmpty() || size < firstPageItems.size()) {
+      throw new IllegalArgumentException(
+          "Cannot generate %d '%s' items from %d + %d sample items"
+              .formatted(size, routeType, firstPageItems.size(), nextPageItems.size()));
+    }
+    this.routeType = routeType;
+    this.items = new JsonNode[size];
+    for (int i = 0; i < size; ++i) {
+      items[i] =
+          i < firstPageItems.size()
+              ? firstPageItems.get(i)
+              : nextPageItems.get((i - firstPageItems.size()) % nextPageItems.size());
+    }
+    // queries without a limit keep getting the sample response of the first page template
+    this.defaultLimit = firstPageItems.size();
+  }
+
+  /** Returns the default size dataset of the route type ("vs", "ptp" or "ps"). */
+  static CsScheduleDataset forRouteType(String routeType) {
+    return DATASETS_BY_ROUTE_TYPE.computeIfAbsent(
+        routeType,
+        ignored ->
+            new CsScheduleDataset(
+                routeType,
+                _loadTemplateItems(TEMPLATE_PATH_PREFIX + routeType + ".json"),
+                _loadTemplateItems(TEMPLATE_PATH_PREFIX + routeType + "nextpage.json"),
+                DEFAULT_DATASET_SIZE));
+  }
+
+  private static List<JsonNode> _loadTemplateItems(String templatePath) {
+    List<JsonNode> templateItems = new ArrayList<>();
+    JsonToolkit.templateFileToJsonNode(templatePath, Map.ofEntries()).forEach(templateItems::add);
+    return templateItems;
+  }
+
+  int size() {
+    return items.length;
+  }
+
+  /**
+   * Returns the page requested by the query: the page of the cursor if there is one (the limit of
+   * the query overriding the limit of the cursor), otherwise the first page. A cursor that was not
+   * issued by this dataset restarts the pagination from the first page.
+   */
+  Page getRequestedPage(String cursor, Integer limit) {
+    Page cursorPage = cursor == null ? null : _decodeCursor(cursor);
+    int offset = cursorPage == null ? 0 : cursorPage.offset();
+    int pageLimit =
+        limit != null ? limit : cursorPage == null ? defaultLimit : cursorPage.limit();
+    return new Page(offset, Math.clamp(pageLimit, 1, MAX_LIMIT));
+  }
+
+  /** Returns the cursor of the page following the specified one, or null if it is the last. */
+  String getNextPageCursor(Page page) {
+    int nextOffset = page.offset() + page.limit();
+    if (nextOffset >= items.length) return null;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(
+            "%s|offset=%d&limit=%d"
+                .formatted(routeType, nextOffset, page.limit())
+                .getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Page _decodeCursor(String cursor) {
+    try {
+      String decodedCursor =
+          new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String prefix = routeType + "|offset=";
+      int limitIndex = decodedCursor.indexOf("&limit=");
+      if (!decodedCursor.startsWith(prefix) || limitIndex < 0) return null;
+      int offset = Integer.parseInt(decodedCursor.substring(prefix.length(), limitIndex));
+      int limit = Integer.parseInt(decodedCursor.substring(limitIndex + "&limit=".length()));
+      return offset >= 0 && offset < items.length && limit > 0 ? new Page(offset, limit) : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns copies of the items of the page, replacing the text values equal to a placeholder with
+   * its replacement, or removing them if the replacement is empty.
+   */
+  ArrayNode toArrayNode(Page page, Map<String, String> replacements) {
+    ArrayNode arrayNode = OBJECT_MAPPER.createArrayNode();
+    for (int i = page.offset(); i < Math.min(page.offset() + page.limit(), items.length); ++i) {
+      JsonNode item = items[i].deepCopy();
+      _replacePlaceholders(item, replacements);
+      arrayNode.add(item);
+    }
+    return arrayNode;
+  }
+
+  private static void _replacePlaceholders(JsonNode node, Map<String, String> replacements) {
+    if (replacements.isEmpty()) return;
+    if (node instanceof ObjectNode objectNode) {
+      List<String> fieldNames = new ArrayList<>();
+      objectNode.fieldNames().forEachRemaining(fieldNames::add);
+      for (String fieldName : fieldNames) {
+        JsonNode value = objectNode.get(fieldName);
+        String replacement = value.isTextual() ? replacements.get(value.asText()) : null;
+        if (replacement == null) {
+          _replacePlaceholders(value, replacements);
+        } else if (replacement.isEmpty()) {
+          objectNode.remove(fieldName);
+        } else {
+          objectNode.put(fieldName, replacement);
+        }
+      }
+    } else if (node instanceof ArrayNode arrayNode) {
+      for (int i = 0; i < arrayNode.size(); ++i) {
+        JsonNode value = arrayNode.get(i);
+        String replacement = value.isTextual() ? replacements.get(value.asText()) : null;
+        if (replacement == null) {
+          _replacePlaceholders(value, replacements);
+        } else {
+          arrayNode.set(i, TextNode.valueOf(replacement));
+        }
+      }
+    }
+  }
+}
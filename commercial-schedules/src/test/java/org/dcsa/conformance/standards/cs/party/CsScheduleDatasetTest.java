@@ -0,0 +1,107 @@
+package org.dcsa.conformance.standards.cs.party;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CsScheduleDatasetTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private CsScheduleDataset dataset;
+
+  @BeforeEach
+  void setUp() {
+    dataset =
+        new CsScheduleDataset(
+            "ps",
+            List.of(item("first", "DATE")),
+            List.of(item("next1", "DATE"), item("next2", "2024-01-01")),
+            10);
+  }
+
+  @Test
+  void pagesThroughTheWholeDatasetWithoutOverlaps() {
+    List<String> names = new ArrayList<>();
+    String cursor = null;
+    int pageCount = 0;
+    do {
+      CsScheduleDataset.Page page = dataset.getRequestedPage(cursor, 3);
+      dataset.toArrayNode(page, Map.of()).forEach(item -> names.add(item.path("name").asText()));
+      cursor = dataset.getNextPageCursor(page);
+      ++pageCount;
+    } while (cursor != null);
+
+    assertEquals(4, pageCount);
+    assertEquals(
+        List.of(
+            "first", "next1", "next2", "next1", "next2", "next1", "next2", "next1", "next2",
+            "next1"),
+        names);
+  }
+
+  @Test
+  void queriesWithoutLimitGetTheFirstPageSample() {
+    CsScheduleDataset.Page page = dataset.getRequestedPage(null, null);
+    assertEquals(new CsScheduleDataset.Page(0, 1), page);
+
+    CsScheduleDataset.Page nextPage = dataset.getRequestedPage(dataset.getNextPageCursor(page), 5);
+    assertEquals(new CsScheduleDataset.Page(1, 5), nextPage);
+    assertEquals(
+        new CsScheduleDataset.Page(6, 5),
+        dataset.getRequestedPage(dataset.getNextPageCursor(nextPage), null));
+  }
+
+  @Test
+  void foreignOrInvalidCursorsRestartFromTheFirstPage() {
+    String psCursor = dataset.getNextPageCursor(new CsScheduleDataset.Page(0, 5));
+    CsScheduleDataset vsDataset =
+        new CsScheduleDataset("vs", List.of(item("a", "")), List.of(item("b", "")), 10);
+    assertEquals(new CsScheduleDataset.Page(0, 5), vsDataset.getRequestedPage(psCursor, 5));
+    assertEquals(new CsScheduleDataset.Page(0, 5), dataset.getRequestedPage("not*base64", 5));
+    assertEquals(
+        new CsScheduleDataset.Page(0, CsScheduleDataset.MAX_LIMIT),
+        dataset.getRequestedPage(null, Integer.MAX_VALUE));
+    assertNull(dataset.getNextPageCursor(new CsScheduleDataset.Page(5, 5)));
+  }
+
+  @Test
+  void placeholdersAreReplacedInCopies() {
+    ArrayNode page =
+        dataset.toArrayNode(new CsScheduleDataset.Page(0, 3), Map.of("DATE", "2025-01-01"));
+    assertEquals("2025-01-01", page.get(0).path("dateTime").asText());
+    assertEquals("2025-01-01", page.get(1).path("timestamps").get(0).asText());
+    assertEquals("2024-01-01", page.get(2).path("dateTime").asText());
+
+    ArrayNode unreplacedPage = dataset.toArrayNode(new CsScheduleDataset.Page(0, 1), Map.of());
+    assertEquals("DATE", unreplacedPage.get(0).path("dateTime").asText());
+    assertFalse(
+        dataset
+            .toArrayNode(new CsScheduleDataset.Page(0, 1), Map.of("DATE", ""))
+            .get(0)
+            .has("dateTime"));
+  }
+
+  @Test
+  void defaultDatasetsAreGeneratedFromTheTemplates() {
+    for (String routeType : List.of("vs", "ptp", "ps")) {
+      CsScheduleDataset defaultDataset = CsScheduleDataset.forRouteType(routeType);
+      assertSame(defaultDataset, CsScheduleDataset.forRouteType(routeType));
+      assertEquals(CsScheduleDataset.DEFAULT_DATASET_SIZE, defaultDataset.size());
+    }
+  }
+
+  private JsonNode item(String name, String dateTime) {
+    return objectMapper
+        .createObjectNode()
+        .put("name", name)
+        .put("dateTime", dateTime)
+        .set("timestamps", objectMapper.createArrayNode().add(dateTime));
+  }
+}
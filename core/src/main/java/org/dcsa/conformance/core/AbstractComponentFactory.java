@@ -102,6 +102,26 @@ public abstract class AbstractComponentFactory {
       PartyConfiguration[] partyConfigurations,
       CounterpartConfiguration[] counterpartConfigurations);
 
+  /**
+   * Returns the id of the sandbox whose configuration template {@link
+   * #getJsonSandboxConfigurationTemplate} returns, without generating the template.
+   */
+  public String getSandboxId(
+      String testedPartyRole, boolean isManual, boolean isTestingCounterpartsConfig) {
+    String sandboxIdSuffix =
+        testedPartyRole == null
+            ? "auto-all-in-one"
+            : "%s-%s-%s"
+                .formatted(
+                    isManual ? "manual" : "auto",
+                    testedPartyRole.toLowerCase(),
+                    isTestingCounterpartsConfig ? "testing-counterparts" : "tested-party");
+    return "%s-%s"
+        .formatted(
+            AbstractComponentFactory._sandboxIdPrefix(standardName, standardVersion, scenarioSuite),
+            sandboxIdSuffix);
+  }
+
   @SneakyThrows
   public JsonNode getJsonSandboxConfigurationTemplate(
       String testedPartyRole, boolean isManual, boolean isTestingCounterpartsConfig) {
@@ -119,18 +139,9 @@ public abstract class AbstractComponentFactory {
 
     String autoOrManualInfix = isManual ? "manual" : "auto";
 
-    String sandboxIdSuffix =
-        isAllInOneSandbox
-            ? "auto-all-in-one"
-            : "%s-%s-%s"
-                .formatted(
-                    autoOrManualInfix,
-                    testedPartyRole.toLowerCase(),
-                    isTestingCounterpartsConfig ? "testing-counterparts" : "tested-party");
-
     ObjectNode sandboxNode = JsonToolkit.OBJECT_MAPPER.createObjectNode();
 
-    String sandboxIdAndName = "%s-%s".formatted(sandboxIdPrefix, sandboxIdSuffix);
+    String sandboxIdAndName = getSandboxId(testedPartyRole, isManual, isTestingCounterpartsConfig);
     sandboxNode.put("id", sandboxIdAndName);
     sandboxNode.put("name", sandboxIdAndName);
 
@@ -0,0 +1,219 @@
+package org.dcsa.conformance.core.check;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.Getter;
+
+/**
+ * A JSON path compiled once, usually when the check using it is defined, which then navigates any
+ * number of JSON bodies without parsing or rendering the path again.
+ *
+ * <p>Paths are compiled from:
+ *
+ * <ul>
+ *   <li>a {@link JsonPointer}, navigated like {@link JsonNode#at(JsonPointer)};
+ *   <li>a wildcard path such as "events/*&#47;eventType", where "*" matches all the elements of an
+ *       array or all the fields of an object;
+ *   <li>a pseudo path such as "consignmentItems.*.cargoItems", where "*" matches all the elements
+ *       of an array, as used by {@link MultiAttributeValidator#submitAllMatching(String)}.
+ * </ul>
+ *
+ * <p>Compiled paths are immutable and cached, so the paths built while scanning a body (rather than
+ * when defining the check) are only compiled the first time they are used.
+ */
+public final class CompiledJsonPath {
+  private static final String WILDCARD = "*";
+  private static final int MAX_CACHED_PATHS_PER_KIND = 10_000;
+
+  private static final ConcurrentHashMap<JsonPointer, CompiledJsonPath> POINTER_PATHS =
+      new ConcurrentHashMap<>();
+  private static final ConcurrentHashMap<String, CompiledJsonPath> WILDCARD_PATHS =
+      new ConcurrentHashMap<>();
+  private static final ConcurrentHashMap<String, CompiledJsonPath> PSEUDO_PATHS =
+      new ConcurrentHashMap<>();
+
+  /**
+   * One step of a compiled path: a field name, an array index (-1 if the name is not a valid
+   * index or if the path does not index arrays) or a wildcard.
+   */
+  public record Segment(String name, int index, boolean isWildcard) {}
+
+  @Getter private final String expression;
+  @Getter private final List<Segment> segments;
+  private final Segment[] segmentArray;
+  private final String rendered;
+  private final boolean hasWildcards;
+
+  private CompiledJsonPath(String expression, List<Segment> segments, String rendered) {
+    this.expression = expression;
+    this.segments = List.copyOf(segments);
+    this.segmentArray = segments.toArray(Segment[]::new);
+    this.rendered = rendered;
+    this.hasWildcards = segments.stream().anyMatch(Segment::isWildcard);
+  }
+
+  public static CompiledJsonPath of(JsonPointer jsonPointer) {
+    return _cached(
+        POINTER_PATHS,
+        jsonPointer,
+        pointer -> {
+          List<Segment> segments = new ArrayList<>();
+          for (JsonPointer tail = pointer; !tail.matches(); tail = tail.tail()) {
+            segments.add(
+                new Segment(tail.getMatchingProperty(), tail.getMatchingIndex(), false));
+          }
+          return new CompiledJsonPath(
+              pointer.toString(), segments, pointer.toString().substring(1).replace("/", "."));
+        });
+  }
+
+  /** Compiles a slash separated path in which "*" matches all array elements or object fields. */
+  public static CompiledJsonPath ofWildcardPath(String pathExpression) {
+    return _cached(
+        WILDCARD_PATHS,
+        pathExpression,
+        expression ->
+            new CompiledJsonPath(
+                expression,
+                Arrays.stream(expression.split("/"))
+                    .map(name -> new Segment(name, -1, name.equals(WILDCARD)))
+                    .toList(),
+                expression.replace("/", ".")));
+  }
+
+  /** Compiles a dot separated path in which "*" matches all array elements. */
+  public static CompiledJsonPath ofPseudoPath(String pseudoPath) {
+    return _cached(
+        PSEUDO_PATHS,
+        pseudoPath,
+        expression -> {
+          String[] parts = expression.split("\\.");
+          if (parts[0].startsWith(".") || parts[0].startsWith("$") || parts[0].startsWith("/")) {
+            throw new IllegalArgumentException(
+                "Invalid path " + expression + ": Please start with `attribute.<...>`");
+          }
+          if (parts[0].equals(WILDCARD)) {
+            throw new IllegalArgumentException(
+                "Invalid path " + expression + ": Cannot start on a wildcard/all");
+          }
+          if (parts[0].contains(WILDCARD)) {
+            throw new IllegalArgumentException(
+                "Invalid path "
+                    + expression
+                    + ": Segments cannot contain wildcards (a*.b is not supported)");
+          }
+          List<Segment> segments = new ArrayList<>();
+          for (String part : parts) {
+            if (!part.equals(WILDCARD) && part.contains(WILDCARD)) {
+              throw new IllegalArgumentException(
+                  "Invalid path "
+                      + expression
+                      + ": Segments cannot contain wildcards (a.foo*.c is not supported)");
+            }
+            segments.add(new Segment(part, -1, part.equals(WILDCARD)));
+          }
+          return new CompiledJsonPath(expression, segments, expression);
+        });
+  }
+
+  private static <K> CompiledJsonPath _cached(
+      Map<K, CompiledJsonPath> cache, K key, Function<K, CompiledJsonPath> compiler) {
+    CompiledJsonPath compiledPath = cache.get(key);
+    if (compiledPath != null) return compiledPath;
+    compiledPath = compiler.apply(key);
+    // paths built from the content of the bodies could otherwise grow the cache without bounds
+    if (cache.size() < MAX_CACHED_PATHS_PER_KIND) {
+      cache.putIfAbsent(key, compiledPath);
+    }
+    return compiledPath;
+  }
+
+  /** The path in the dotted form used in the validation messages, e.g. "a.b.0.c". */
+  public String render() {
+    return rendered;
+  }
+
+  public String render(String contextPath) {
+    return contextPath.isEmpty() ? rendered : contextPath + "." + rendered;
+  }
+
+  /**
+   * Returns the node at this path, or a missing node if there is none.
+   *
+   * @throws IllegalStateException if the path contains wildcards
+   */
+  public JsonNode navigate(JsonNode rootNode) {
+    if (hasWildcards) {
+      throw new IllegalStateException(
+          "Cannot navigate to a single node along the wildcard path " + expression);
+    }
+    JsonNode currentNode = rootNode;
+    for (Segment segment : segmentArray) {
+      currentNode = _child(currentNode, segment);
+      if (currentNode == null) {
+        return MissingNode.getInstance();
+      }
+    }
+    return currentNode;
+  }
+
+  /**
+   * Passes to the consumer, in document order, all the nodes matching this path.
+   *
+   * @throws IllegalArgumentException if a wildcard is applied to a node that is neither an array
+   *     nor an object
+   */
+  public void forEachMatch(JsonNode rootNode, Consumer<JsonNode> matchConsumer) {
+    _forEachMatch(rootNode, 0, matchConsumer);
+  }
+
+  private void _forEachMatch(
+      JsonNode currentNode, int segmentIndex, Consumer<JsonNode> matchConsumer) {
+    if (segmentIndex == segmentArray.length) {
+      matchConsumer.accept(currentNode);
+      return;
+    }
+    Segment segment = segmentArray[segmentIndex];
+    if (!segment.isWildcard()) {
+      JsonNode childNode = _child(currentNode, segment);
+      if (childNode != null) {
+        _forEachMatch(childNode, segmentIndex + 1, matchConsumer);
+      }
+    } else if (currentNode.isArray()) {
+      for (JsonNode element : currentNode) {
+        _forEachMatch(element, segmentIndex + 1, matchConsumer);
+      }
+    } else if (currentNode.isObject()) {
+      Iterator<JsonNode> fieldValues = currentNode.elements();
+      while (fieldValues.hasNext()) {
+        _forEachMatch(fieldValues.next(), segmentIndex + 1, matchConsumer);
+      }
+    } else {
+      throw new IllegalArgumentException("Invalid wildcard usage in path: " + expression);
+    }
+  }
+
+  private static JsonNode _child(JsonNode currentNode, Segment segment) {
+    if (currentNode.isObject()) {
+      return currentNode.get(segment.name());
+    }
+    if (currentNode.isArray() && segment.index() >= 0) {
+      return currentNode.get(segment.index());
+    }
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+}
@@ -5,6 +5,9 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -46,12 +49,35 @@ public abstract class ConformanceCheck {
   }
 
   public final void check(Function<UUID, ConformanceExchange> getExchangeByUuid) {
+    _check(
+        getExchangeByUuid,
+        conformanceChecks ->
+            conformanceChecks.forEach(subCheck -> subCheck.check(getExchangeByUuid)));
+  }
+
+  /**
+   * Same as {@link #check(Function)}, except that the sub-checks of each check are evaluated in
+   * parallel in the specified pool. Every check still collects its own results and keeps its
+   * sub-checks in their original order, so the resulting report is identical to the one of a
+   * sequential evaluation. The {@code getExchangeByUuid} function must be safe to call
+   * concurrently.
+   */
+  public final void check(
+      Function<UUID, ConformanceExchange> getExchangeByUuid, ForkJoinPool forkJoinPool) {
+    forkJoinPool.invoke(
+        new CheckTask(
+            this, getExchangeByUuid, VersionedKeywordDataset.STANDARD_VERSION_BEING_CHECKED.get()));
+  }
+
+  private void _check(
+      Function<UUID, ConformanceExchange> getExchangeByUuid,
+      Consumer<List<ConformanceCheck>> subChecksEvaluator) {
     try {
       List<ConformanceCheck> conformanceChecks = getSubChecks();
       if (conformanceChecks.isEmpty()) {
         this.doCheck(getExchangeByUuid);
       } else {
-        conformanceChecks.forEach(subCheck -> subCheck.check(getExchangeByUuid));
+        subChecksEvaluator.accept(conformanceChecks);
         if (conformanceChecks.stream().noneMatch(ConformanceCheck::isApplicable))
           this.setApplicable(false);
       }
@@ -60,6 +86,46 @@ public abstract class ConformanceCheck {
     }
   }
 
+  private static class CheckTask extends RecursiveAction {
+    private final transient ConformanceCheck conformanceCheck;
+    private final transient Function<UUID, ConformanceExchange> getExchangeByUuid;
+    private final String standardVersion;
+
+    private CheckTask(
+        ConformanceCheck conformanceCheck,
+        Function<UUID, ConformanceExchange> getExchangeByUuid,
+        String standardVersion) {
+      this.conformanceCheck = conformanceCheck;
+      this.getExchangeByUuid = getExchangeByUuid;
+      this.standardVersion = standardVersion;
+    }
+
+    @Override
+    protected void compute() {
+      if (standardVersion == null) {
+        _computeWithCurrentVersion();
+      } else {
+        // worker threads do not inherit the version set by the thread that started the check
+        VersionedKeywordDataset.withVersion(
+            standardVersion,
+            () -> {
+              _computeWithCurrentVersion();
+              return null;
+            });
+      }
+    }
+
+    private void _computeWithCurrentVersion() {
+      conformanceCheck._check(
+          getExchangeByUuid,
+          conformanceChecks ->
+              ForkJoinTask.invokeAll(
+                  conformanceChecks.stream()
+                      .map(subCheck -> new CheckTask(subCheck, getExchangeByUuid, standardVersion))
+                      .toList()));
+    }
+  }
+
   protected void doCheck(Function<UUID, ConformanceExchange> getExchangeByUuid) {}
 
   protected Stream<? extends ConformanceCheck> createSubChecks() {
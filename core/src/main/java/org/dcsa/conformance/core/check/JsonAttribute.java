@@ -125,7 +125,8 @@ public class JsonAttribute {
     JsonPointer jsonPointer,
     boolean defaultValue
   ) {
-    return baseNode -> baseNode.at(jsonPointer).asBoolean(defaultValue);
+    var compiledPath = CompiledJsonPath.of(jsonPointer);
+    return baseNode -> compiledPath.navigate(baseNode).asBoolean(defaultValue);
   }
 
   public static Predicate<JsonNode> isTrue(
@@ -163,9 +164,10 @@ public class JsonAttribute {
     @NonNull String expectedValue
   ) {
     if (path.contains(".")) {
+      String[] segments = path.split("\\.");
       return baseNode -> {
         JsonNode node = baseNode;
-        for (String segment : path.split("\\.")) {
+        for (String segment : segments) {
           node = node.path(segment);
           if (node.isMissingNode()) {
             return false;
@@ -183,9 +185,10 @@ public class JsonAttribute {
     @NonNull Set<String> expectedValue
   ) {
     if (path.contains(".")) {
+      String[] segments = path.split("\\.");
       return baseNode -> {
         JsonNode node = baseNode;
-        for (String segment : path.split("\\.")) {
+        for (String segment : segments) {
           node = node.path(segment);
           if (node.isMissingNode()) {
             return false;
@@ -202,8 +205,9 @@ public class JsonAttribute {
     @NonNull
     JsonPointer jsonPointer
   ) {
+    var compiledPath = CompiledJsonPath.of(jsonPointer);
     return root -> {
-      var node = at(jsonPointer).apply(root);
+      var node = compiledPath.navigate(root);
       return !node.isMissingNode() && !node.isNull();
     };
   }
@@ -366,11 +370,9 @@ public class JsonAttribute {
   }
 
   public static JsonContentMatchedValidation at(JsonPointer pointer, JsonContentMatchedValidation delegate) {
-    String ptrAsContext = renderJsonPointer(pointer);
-    return (nodeToValidate, contextPath) -> {
-      var fullContext = contextPath.isEmpty() ? ptrAsContext : contextPath + "." + ptrAsContext;
-      return delegate.validate(nodeToValidate.at(pointer), fullContext);
-    };
+    var compiledPath = CompiledJsonPath.of(pointer);
+    return (nodeToValidate, contextPath) ->
+        delegate.validate(compiledPath.navigate(nodeToValidate), compiledPath.render(contextPath));
   }
 
   public static String concatContextPath(String contextPath, String nextPathSegment) {
@@ -429,14 +431,15 @@ public class JsonAttribute {
     JsonPointer jsonPointer,
     String reason
   ) {
+    var compiledPath = CompiledJsonPath.of(jsonPointer);
     return JsonRebasableCheckImpl.of(
         jsonCheckName(jsonPointer),
         (body, contextPath) -> {
-          var node = body.at(jsonPointer);
+          var node = compiledPath.navigate(body);
           if (node.isMissingNode() || node.isNull()) {
             return ConformanceCheckResult.simple(Set.of(
                 "The value of '%s' must present and not null because %s"
-                    .formatted(renderJsonPointer(jsonPointer, contextPath), reason)));
+                    .formatted(compiledPath.render(contextPath), reason)));
           }
           return ConformanceCheckResult.simple(Set.of());
         });
@@ -454,17 +457,18 @@ public class JsonAttribute {
             expectedValue,
             "expectedValue cannot be null; Note: Use `() -> getDspSupplier().get().foo()` (or similar) when testing a value against a dynamic scenario property"
     );
+    var compiledPath = CompiledJsonPath.of(jsonPointer);
     return  JsonRebasableCheckImpl.of(
             "%s: Must equal '%s'".formatted(jsonCheckName(jsonPointer), expectedValue),
             isRelevant,
             (body, contextPath) -> {
-              var node = body.at(jsonPointer);
+              var node = compiledPath.navigate(body);
               var actualValue = node.asText(null);
               if (!Objects.equals(expectedValue, actualValue)) {
                 return ConformanceCheckResult.simple(Set.of(
                         VALUE_WARNING
                                 .formatted(
-                                        renderJsonPointer(jsonPointer, contextPath),
+                                        compiledPath.render(contextPath),
                                         renderValue(node),
                                         renderValue(expectedValue))));
               }
@@ -477,15 +481,16 @@ public class JsonAttribute {
     String title,
     JsonPointer jsonPointer,
     boolean expectedValue) {
+    var compiledPath = CompiledJsonPath.of(jsonPointer);
     return  JsonRebasableCheckImpl.of(
       title,
       (body, contextPath) -> {
-        var node = body.at(jsonPointer);
+        var node = compiledPath.navigate(body);
         if (!node.isBoolean() || node.asBoolean() != expectedValue) {
           return ConformanceCheckResult.simple(Set.of(
             VALUE_WARNING
               .formatted(
-                renderJsonPointer(jsonPointer, contextPath),
+                compiledPath.render(contextPath),
                 renderValue(node),
                 expectedValue)));
         }
@@ -531,22 +536,23 @@ public class JsonAttribute {
     if (v != null) {
       context = ": Must equal '%s'".formatted(v);
     }
+    var compiledPath = CompiledJsonPath.of(jsonPointer);
     return JsonRebasableCheckImpl.of(
             name + context,
             isRelevant,
             (body, contextPath) -> {
-              var node = body.at(jsonPointer);
+              var node = compiledPath.navigate(body);
               var actualValue = node.asText(null);
               var expectedValue = expectedValueSupplier.get();
               if (expectedValue == null) {
-                throw new IllegalStateException("The supplier of the expected value for " + renderJsonPointer(jsonPointer)
+                throw new IllegalStateException("The supplier of the expected value for " + compiledPath.render()
                         + " returned `null` and `null` is not supported for equals. Usually this indicates that the dynamic"
                         + " scenario property was not properly recorded at this stage.");
               }
               if (!Objects.equals(expectedValue, actualValue)) {
                 return ConformanceCheckResult.simple(Set.of(
                         VALUE_WARNING
-                                .formatted(renderJsonPointer(jsonPointer, contextPath), renderValue(node), renderValue(expectedValue))));
+                                .formatted(compiledPath.render(contextPath), renderValue(node), renderValue(expectedValue))));
               }
               return ConformanceCheckResult.simple(Collections.emptySet());
             }
@@ -733,15 +739,17 @@ public class JsonAttribute {
     if (ptrs.length < 2) {
       throw new IllegalStateException("At least two arguments are required");
     }
+    var compiledPaths = compileAll(ptrs);
     String name = "The following are mutually exclusive (at most one of): %s".formatted(
-      Arrays.stream(ptrs)
-        .map(JsonAttribute::renderJsonPointer)
+      compiledPaths.stream()
+        .map(CompiledJsonPath::render)
         .collect(Collectors.joining(", "))
     );
     return JsonRebasableCheckImpl.of(
         name,
         (body, contextPath) -> {
-          var present = Arrays.stream(ptrs).filter(p -> isJsonNodePresent(body.at(p))).toList();
+          var present =
+              compiledPaths.stream().filter(p -> isJsonNodePresent(p.navigate(body))).toList();
           if (present.isEmpty()) {
             return ConformanceCheckResult.withRelevance(Set.of(ConformanceError.irrelevant()));
           }
@@ -753,7 +761,7 @@ public class JsonAttribute {
                   "At most one of the following can be present: %s"
                       .formatted(
                           present.stream()
-                              .map(ptr -> JsonAttribute.renderJsonPointer(ptr, contextPath))
+                              .map(p -> p.render(contextPath))
                               .collect(Collectors.joining(", ")))));
         });
   }
@@ -764,23 +772,24 @@ public class JsonAttribute {
     if (ptrs.length < 2) {
       throw new IllegalStateException("At least two arguments are required");
     }
+    var compiledPaths = compileAll(ptrs);
     String name = "The following are conditionally required (at least one of): %s".formatted(
-      Arrays.stream(ptrs)
-        .map(JsonAttribute::renderJsonPointer)
+      compiledPaths.stream()
+        .map(CompiledJsonPath::render)
         .collect(Collectors.joining(", "))
     );
     return  JsonRebasableCheckImpl.of(
       name,
       (body, contextPath) -> {
-        var present = Arrays.stream(ptrs)
-          .anyMatch(p -> isJsonNodePresent(body.at(p)));
+        var present = compiledPaths.stream()
+          .anyMatch(p -> isJsonNodePresent(p.navigate(body)));
         if (present) {
           return ConformanceCheckResult.simple(Set.of());
         }
         return ConformanceCheckResult.simple(Set.of(
           "At least one of the following must be present: %s".formatted(
-            Arrays.stream(ptrs)
-              .map(ptr -> JsonAttribute.renderJsonPointer(ptr, contextPath))
+            compiledPaths.stream()
+              .map(p -> p.render(contextPath))
               .collect(Collectors.joining(", ")))
           ));
       });
@@ -792,23 +801,24 @@ public class JsonAttribute {
     if (ptrs.length < 2) {
       throw new IllegalStateException("At least two arguments are required");
     }
+    var compiledPaths = compileAll(ptrs);
     String name = "Either one of them can be present, but not both : %s".formatted(
-      Arrays.stream(ptrs)
-        .map(JsonAttribute::renderJsonPointer)
+      compiledPaths.stream()
+        .map(CompiledJsonPath::render)
         .collect(Collectors.joining(", "))
     );
     return JsonRebasableCheckImpl.of(
       name,
       (body, contextPath) -> {
-        var allPresent = Arrays.stream(ptrs)
-          .allMatch(p -> isJsonNodePresent(body.at(p)));
+        var allPresent = compiledPaths.stream()
+          .allMatch(p -> isJsonNodePresent(p.navigate(body)));
         if (!allPresent) {
           return ConformanceCheckResult.simple(Set.of());
         }
         return ConformanceCheckResult.simple(Set.of(
           "Either one of them can be present, but not both : %s".formatted(
-            Arrays.stream(ptrs)
-              .map(ptr -> JsonAttribute.renderJsonPointer(ptr, contextPath))
+            compiledPaths.stream()
+              .map(p -> p.render(contextPath))
               .collect(Collectors.joining(", ")))
           ));
       });
@@ -850,30 +860,34 @@ public class JsonAttribute {
     if (ptrs.length < 2) {
       throw new IllegalStateException("At least two arguments are required");
     }
+    var compiledPaths = compileAll(ptrs);
     String name = "All or none of the following are present: %s".formatted(
-      Arrays.stream(ptrs)
-        .map(JsonAttribute::renderJsonPointer)
+      compiledPaths.stream()
+        .map(CompiledJsonPath::render)
         .collect(Collectors.joining(", "))
     );
     return  JsonRebasableCheckImpl.of(
         name,
         (body, contextPath) -> {
-          var firstPtr = ptrs[0];
-          var firstNode = body.at(firstPtr);
+          var firstPath = compiledPaths.getFirst();
+          var firstNode = firstPath.navigate(body);
           Predicate<JsonNode> check;
           if (firstNode.isMissingNode() || firstNode.isNull()) {
             check = JsonAttribute::isJsonNodePresent;
           } else {
             check = JsonAttribute::isJsonNodeAbsent;
           }
-          var conflictingPtr =
-              Arrays.stream(ptrs).filter(p -> check.test(body.at(p))).findAny().orElse(null);
-          if (conflictingPtr != null) {
+          var conflictingPath =
+              compiledPaths.stream()
+                  .filter(p -> check.test(p.navigate(body)))
+                  .findAny()
+                  .orElse(null);
+          if (conflictingPath != null) {
             return ConformanceCheckResult.simple(Set.of(
                 "'%s' and '%s' must both be present or absent"
                     .formatted(
-                        renderJsonPointer(firstPtr, contextPath),
-                        renderJsonPointer(conflictingPtr, contextPath))));
+                        firstPath.render(contextPath),
+                        conflictingPath.render(contextPath))));
           }
           return ConformanceCheckResult.simple(Set.of());
         });
@@ -985,8 +999,8 @@ public class JsonAttribute {
     return JsonRebasableCheckImpl.of(description, validator::validate);
   }
 
-  private static Function<JsonNode, JsonNode> at(JsonPointer jsonPointer) {
-    return refNode -> refNode.at(jsonPointer);
+  private static List<CompiledJsonPath> compileAll(JsonPointer... jsonPointers) {
+    return Arrays.stream(jsonPointers).map(CompiledJsonPath::of).toList();
   }
 
   static String renderValue(JsonNode node) {
@@ -1008,11 +1022,7 @@ public class JsonAttribute {
   }
 
   static String renderJsonPointer(JsonPointer jsonPointer, String contextPath) {
-    var pointer = jsonPointer.toString().substring(1).replace("/", ".");
-    if (contextPath.isEmpty()) {
-      return pointer;
-    }
-    return contextPath + "." + pointer;
+    return CompiledJsonPath.of(jsonPointer).render(contextPath);
   }
 
   static String renderJsonPointer(JsonPointer jsonPointer) {
@@ -1072,11 +1082,12 @@ public class JsonAttribute {
         String description,
         JsonPointer jsonPointer,
         BiFunction<JsonNode, String, ConformanceCheckResult> validator) {
+      var compiledPath = CompiledJsonPath.of(jsonPointer);
       return of(
           description,
           (refNode, context) -> {
-            var node = refNode.at(jsonPointer);
-            var path = renderJsonPointer(jsonPointer, context);
+            var node = compiledPath.navigate(refNode);
+            var path = compiledPath.render(context);
             return validator.apply(node, path);
           });
     }
@@ -5,6 +5,7 @@ import java.util.UUID;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import org.dcsa.conformance.core.traffic.ConformanceExchange;
+import org.dcsa.conformance.core.traffic.ConformanceMessageBody;
 import org.dcsa.conformance.core.traffic.HttpMessageType;
 
 public class JsonSchemaCheck extends ActionCheck {
@@ -42,7 +43,11 @@ public class JsonSchemaCheck extends ActionCheck {
       return ConformanceCheckResult.simple(Set.of());
     }
     if (exchange.getResponse().statusCode() == 202) this.setApplicable(false);
+    ConformanceMessageBody body = exchange.getMessage(httpMessageType).body();
+    // validate the already parsed tree; only invalid JSON goes through the string parser again
     return ConformanceCheckResult.simple(
-        jsonSchemaValidator.validate(exchange.getMessage(httpMessageType).body().getStringBody()));
+        body.isCorrectJson()
+            ? jsonSchemaValidator.validate(body.getJsonBody())
+            : jsonSchemaValidator.validate(body.getStringBody()));
   }
 }
@@ -1,7 +1,6 @@
 package org.dcsa.conformance.core.check;
 
 import static org.dcsa.conformance.core.check.JsonAttribute.concatContextPath;
-import static org.dcsa.conformance.core.check.JsonAttribute.renderJsonPointer;
 
 import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -26,8 +25,9 @@ class MultiAttributeValidatorImpl implements MultiAttributeValidator {
 
   @Override
   public AttributePathBuilder at(JsonPointer pointer) {
+    var compiledPath = CompiledJsonPath.of(pointer);
     return new AttributePathBuilderImpl(
-        List.of(new Match(null, body.at(pointer), renderJsonPointer(pointer), false)));
+        List.of(new Match(null, compiledPath.navigate(body), compiledPath.render(), false)));
   }
 
   @Override
@@ -63,7 +63,9 @@ class MultiAttributeValidatorImpl implements MultiAttributeValidator {
 
     @Override
     public AttributePathBuilder at(JsonPointer pointer) {
-      return new AttributePathBuilderImpl(matchingNodes.stream().map(m -> m.at(pointer)).toList());
+      var compiledPath = CompiledJsonPath.of(pointer);
+      return new AttributePathBuilderImpl(
+          matchingNodes.stream().map(m -> m.at(compiledPath)).toList());
     }
 
     @Override
@@ -112,7 +114,11 @@ class MultiAttributeValidatorImpl implements MultiAttributeValidator {
     }
 
     public Match at(JsonPointer jsonPointer) {
-      return new Match(this, node.at(jsonPointer), renderJsonPointer(jsonPointer), false);
+      return at(CompiledJsonPath.of(jsonPointer));
+    }
+
+    Match at(CompiledJsonPath compiledPath) {
+      return new Match(this, compiledPath.navigate(node), compiledPath.render(), false);
     }
 
     public Match path(String path) {
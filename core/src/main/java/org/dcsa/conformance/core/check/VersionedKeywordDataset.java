@@ -30,11 +30,17 @@ class VersionedKeywordDataset implements KeywordDataset {
   }
 
   static <T> T withVersion(String version, Supplier<T> code) {
+    // restore rather than remove, since checks evaluated in a fork-join pool can be nested
+    String previousVersion = STANDARD_VERSION_BEING_CHECKED.get();
     try {
       STANDARD_VERSION_BEING_CHECKED.set(version);
       return code.get();
     } finally {
-      STANDARD_VERSION_BEING_CHECKED.remove();
+      if (previousVersion == null) {
+        STANDARD_VERSION_BEING_CHECKED.remove();
+      } else {
+        STANDARD_VERSION_BEING_CHECKED.set(previousVersion);
+      }
     }
   }
 
@@ -11,7 +11,6 @@ import java.net.URLEncoder;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.function.BiConsumer;
@@ -45,6 +44,9 @@ public abstract class ConformanceParty implements StatefulEntity {
 
   @Setter private BiConsumer<String, String> waitingForBiConsumer = (who, forWhat) -> {};
 
+  /** The group of the outbound requests to the orchestrator, cancelled with the sandbox's own. */
+  @Setter private String outboundRequestGroup;
+
   /**
    * Used to store full documents between steps. Unlike the state saved and loaded via
    * exportJsonState and importJsonState, which is entirely (the whole map) stored within a single
@@ -349,14 +351,12 @@ public abstract class ConformanceParty implements StatefulEntity {
                     .formatted(
                         URLEncoder.encode(partyConfiguration.getName(), StandardCharsets.UTF_8)));
     log.info("ConformanceParty.getPartyPrompt() calling: %s".formatted(uri));
-    // Allow long debugging sessions or slow business logic at customer's side
-    HttpRequest.Builder httpRequestBuilder =
-        HttpRequest.newBuilder().uri(uri).timeout(Duration.ofHours(1)).GET();
+    HttpRequest.Builder httpRequestBuilder = HttpRequest.newBuilder().uri(uri).GET();
     orchestratorAuthHeader.forEach(
         (name, values) -> values.forEach(value -> httpRequestBuilder.header(name, value)));
     String stringResponseBody =
-      IOToolkit.HTTP_CLIENT
-            .send(httpRequestBuilder.build(), HttpResponse.BodyHandlers.ofString())
+        IOToolkit.OUTBOUND_HTTP_CLIENT
+            .send(outboundRequestGroup, httpRequestBuilder, HttpResponse.BodyHandlers.ofString())
             .body();
     return new ConformanceMessageBody(stringResponseBody).getJsonBody();
   }
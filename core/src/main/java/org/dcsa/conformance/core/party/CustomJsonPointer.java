@@ -2,6 +2,8 @@ package org.dcsa.conformance.core.party;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import org.dcsa.conformance.core.check.CompiledJsonPath;
+
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -16,10 +18,13 @@ public class CustomJsonPointer {
   public static List<JsonNode> findMatchingNodes(JsonNode rootNode, String pathExpression,
                                                  BiPredicate<JsonNode,String> condition, String paramValue) {
     List<JsonNode> results = new ArrayList<>();
-    String[] pathSegments = pathExpression.split("/");
-    traverse(rootNode, pathSegments, 0, results, condition, paramValue);
+    // compiled once per path expression rather than split again on every invocation
+    CompiledJsonPath.ofWildcardPath(pathExpression)
+        .forEachMatch(
+            rootNode, node -> addNodeIfConditionMatches(node, results, condition, paramValue));
     return results;
   }
+
   /**
    * Recursive function to traverse the JSON tree.
    *
@@ -0,0 +1,309 @@
+package org.dcsa.conformance.core.query;
+
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.dcsa.conformance.core.check.CompiledJsonPath;
+
+/**
+ * An immutable collection of JSON items, indexed so that publishers can run query plans against it
+ * without scanning and re-traversing all the items on every request.
+ *
+ * <p>Items are identified by their position (ordinal) in the collection and query steps work on
+ * arrays of ordinals. For each attribute of a filter parameter, the set of matching items is
+ * computed once per parameter value: upfront for the restricted values and the values present in
+ * the items, on first use for the others (such as the bounds of a range). Filters intersect these
+ * sets with the items selected so far. For each sort field, the sort keys of the items are
+ * extracted once and the textual values are pre-ranked.
+ *
+ * <p>Apart from its lookup caches the collection never changes, so a single instance can be shared
+ * by all the parties publishing the same items.
+ */
+@Slf4j
+public final class IndexedJsonCollection {
+  private static final int MAX_CACHED_VALUES_PER_ATTRIBUTE = 1000;
+  private static final int MAX_CACHED_SORT_FIELDS = 100;
+
+  private final class AttributeIndex {
+    private final QueryAttribute attribute;
+    private final CompiledJsonPath compiledPath;
+    private final ConcurrentHashMap<String, BitSet> matchingItemsByParamValue =
+        new ConcurrentHashMap<>();
+
+    private AttributeIndex(QueryAttribute attribute) {
+      this.attribute = attribute;
+      this.compiledPath = CompiledJsonPath.ofWildcardPath(attribute.jsonPath());
+      Set<String> indexedValues = new LinkedHashSet<>(attribute.values());
+      try {
+        for (JsonNode item : items) {
+          compiledPath.forEachMatch(
+              item,
+              node -> {
+                if (node.isValueNode()) indexedValues.add(node.asText());
+              });
+        }
+      } catch (IllegalArgumentException e) {
+        // an invalid path fails the queries using it rather than all the queries
+        log.warn(
+            "Not indexing the values of attribute path '%s': %s"
+                .formatted(attribute.jsonPath(), e.getMessage()));
+        return;
+      }
+      for (String indexedValue : indexedValues) {
+        try {
+          getMatchingItems(indexedValue);
+        } catch (RuntimeException e) {
+          // a value that the condition rejects fails the queries using it
+          log.warn(
+              "Not indexing value '%s' of attribute path '%s': %s"
+                  .formatted(indexedValue, attribute.jsonPath(), e.getMessage()));
+        }
+      }
+    }
+
+    private BitSet getMatchingItems(String paramValue) {
+      BitSet matchingItems = matchingItemsByParamValue.get(paramValue);
+      if (matchingItems != null) return matchingItems;
+      matchingItems = new BitSet(items.length);
+      for (int ordinal = 0; ordinal < items.length; ++ordinal) {
+        if (_matches(items[ordinal], paramValue)) {
+          matchingItems.set(ordinal);
+        }
+      }
+      // the parameter values come from the requests
+      if (matchingItemsByParamValue.size() < MAX_CACHED_VALUES_PER_ATTRIBUTE) {
+        matchingItemsByParamValue.putIfAbsent(paramValue, matchingItems);
+      }
+      return matchingItems;
+    }
+
+    private boolean _matches(JsonNode item, String paramValue) {
+      List<JsonNode> results = new ArrayList<>();
+      compiledPath.forEachMatch(
+          item,
+          node -> {
+            if (attribute.condition().test(node, paramValue)) {
+              results.add(node);
+            }
+          });
+      return !results.isEmpty()
+          && (attribute.values().isEmpty()
+              || results.stream()
+                  .anyMatch(result -> attribute.values().contains(result.asText())));
+    }
+  }
+
+  /**
+   * The value of a sort field in one item, as compared by the publishers: the depth at which the
+   * nested field lookup stopped, and the rank of the value if it is textual or the value itself if
+   * it is a number.
+   */
+  private record SortKey(int depth, Integer textRank, Double number) {
+    int compareTo(SortKey other, QueryPlan.SortDirection direction) {
+      if (depth != other.depth) return 0;
+      int comparisonResult;
+      if (textRank != null && other.textRank != null) {
+        comparisonResult = Integer.compare(textRank, other.textRank);
+      } else if (number != null && other.number != null) {
+        comparisonResult = Double.compare(number, other.number);
+      } else {
+        return 0;
+      }
+      return direction == QueryPlan.SortDirection.ASC ? comparisonResult : -comparisonResult;
+    }
+  }
+
+  private final JsonNode[] items;
+  private final String[] itemIds;
+  // items with the same ID share the same key, so that filters return only one of them
+  private final int[] itemIdKeys;
+  private final Map<String, List<AttributeIndex>> attributeIndexesByParamName;
+  private final ConcurrentHashMap<String, SortKey[]> sortKeysByField = new ConcurrentHashMap<>();
+
+  /**
+   * Indexes the items for the attributes of each filter parameter.
+   *
+   * @param idFunction returns the ID of an item, for the filters to return only one item per ID and
+   *     for the cursors to refer to items; if null, items are identified by their ordinal and the
+   *     filters return an item once per attribute and parameter value that it matches
+   */
+  public IndexedJsonCollection(
+      List<JsonNode> items,
+      Map<String, List<QueryAttribute>> attributesByParamName,
+      Function<JsonNode, String> idFunction) {
+    this.items = items.toArray(JsonNode[]::new);
+    this.itemIds =
+        IntStream.range(0, this.items.length)
+            .mapToObj(
+                ordinal ->
+                    idFunction == null
+                        ? String.valueOf(ordinal)
+                        : idFunction.apply(this.items[ordinal]))
+            .toArray(String[]::new);
+    if (idFunction == null) {
+      this.itemIdKeys = null;
+    } else {
+      Map<String, Integer> keysByItemId = new HashMap<>();
+      this.itemIdKeys =
+          Arrays.stream(itemIds)
+              .mapToInt(itemId -> keysByItemId.computeIfAbsent(itemId, id -> keysByItemId.size()))
+              .toArray();
+    }
+    Map<String, List<AttributeIndex>> attributeIndexes = new HashMap<>();
+    attributesByParamName.forEach(
+        (paramName, attributes) ->
+            attributeIndexes.put(paramName, attributes.stream().map(AttributeIndex::new).toList()));
+    this.attributeIndexesByParamName = Map.copyOf(attributeIndexes);
+  }
+
+  public int[] all() {
+    return IntStream.range(0, items.length).toArray();
+  }
+
+  public String getItemId(int ordinal) {
+    return itemIds[ordinal];
+  }
+
+  /** Runs the filter and sort steps of the plan, returning the selected items in order. */
+  public int[] execute(QueryPlan queryPlan) {
+    return sort(filter(queryPlan), queryPlan.sortCriteria());
+  }
+
+  /** Runs only the filter steps of the plan, for publishers that don't support sorting. */
+  public int[] filter(QueryPlan queryPlan) {
+    int[] selectedItems = all();
+    for (QueryPlan.Filter filter : queryPlan.filters()) {
+      selectedItems = filter(selectedItems, filter.paramName(), filter.values());
+    }
+    return selectedItems;
+  }
+
+  /**
+   * Keeps the selected items matching any of the parameter values according to any of the
+   * attributes of the parameter, grouped by attribute and then by value, or returns the selected
+   * items unchanged if the parameter is not a filter of this collection.
+   */
+  public int[] filter(int[] selectedItems, String paramName, Collection<String> paramValues) {
+    List<AttributeIndex> attributeIndexes = attributeIndexesByParamName.get(paramName);
+    if (attributeIndexes == null) return selectedItems;
+    BitSet seenItemIdKeys = new BitSet();
+    IntStream.Builder filteredItems = IntStream.builder();
+    for (AttributeIndex attributeIndex : attributeIndexes) {
+      for (String paramValue : paramValues) {
+        BitSet matchingItems = attributeIndex.getMatchingItems(paramValue);
+        for (int ordinal : selectedItems) {
+          if (!matchingItems.get(ordinal)) continue;
+          if (itemIdKeys != null) {
+            if (seenItemIdKeys.get(itemIdKeys[ordinal])) continue;
+            seenItemIdKeys.set(itemIdKeys[ordinal]);
+          }
+          filteredItems.add(ordinal);
+        }
+      }
+    }
+    return filteredItems.build().toArray();
+  }
+
+  /** Sorts the selected items (stable) by the specified criteria. */
+  public int[] sort(int[] selectedItems, List<QueryPlan.SortCriterion> sortCriteria) {
+    if (sortCriteria.isEmpty()) return selectedItems;
+    List<SortKey[]> sortKeys =
+        sortCriteria.stream().map(criterion -> _getSortKeys(criterion.field())).toList();
+    return Arrays.stream(selectedItems)
+        .boxed()
+        .sorted(
+            (ordinal1, ordinal2) -> {
+              for (int i = 0; i < sortCriteria.size(); ++i) {
+                SortKey[] fieldSortKeys = sortKeys.get(i);
+                int comparisonResult =
+                    fieldSortKeys[ordinal1].compareTo(
+                        fieldSortKeys[ordinal2], sortCriteria.get(i).direction());
+                if (comparisonResult != 0) return comparisonResult;
+              }
+              return 0;
+            })
+        .mapToInt(Integer::intValue)
+        .toArray();
+  }
+
+  private SortKey[] _getSortKeys(String field) {
+    SortKey[] sortKeys = sortKeysByField.get(field);
+    if (sortKeys != null) return sortKeys;
+    sortKeys = _computeSortKeys(field);
+    // the sort fields come from the requests
+    if (sortKeysByField.size() < MAX_CACHED_SORT_FIELDS) {
+      sortKeysByField.putIfAbsent(field, sortKeys);
+    }
+    return sortKeys;
+  }
+
+  private SortKey[] _computeSortKeys(String field) {
+    String[] fieldParts = field.split("/");
+    JsonNode[] values = new JsonNode[items.length];
+    int[] depths = new int[items.length];
+    for (int ordinal = 0; ordinal < items.length; ++ordinal) {
+      JsonNode value = items[ordinal].path(fieldParts[0]);
+      int depth = 0;
+      while (depth + 1 < fieldParts.length && value.isObject()) {
+        value = value.path(fieldParts[++depth]);
+      }
+      values[ordinal] = value;
+      depths[ordinal] = depth;
+    }
+    List<String> sortedTexts =
+        Arrays.stream(values)
+            .filter(JsonNode::isTextual)
+            .map(JsonNode::asText)
+            .distinct()
+            .sorted()
+            .toList();
+    Map<String, Integer> textRanks = new HashMap<>();
+    for (int rank = 0; rank < sortedTexts.size(); ++rank) {
+      textRanks.put(sortedTexts.get(rank), rank);
+    }
+    SortKey[] sortKeys = new SortKey[items.length];
+    for (int ordinal = 0; ordinal < items.length; ++ordinal) {
+      JsonNode value = values[ordinal];
+      sortKeys[ordinal] =
+          new SortKey(
+              depths[ordinal],
+              value.isTextual() ? textRanks.get(value.asText()) : null,
+              value.isNumber() ? value.asDouble() : null);
+    }
+    return sortKeys;
+  }
+
+  /**
+   * Returns the position in the selected items following the cursor item, which is normally at the
+   * offset saved with the cursor and is otherwise looked up, or 0 if it is not found.
+   */
+  public int findCursorStartIndex(int[] selectedItems, String cursorItemId, int cursorOffset) {
+    if (cursorItemId == null) return 0;
+    if (cursorOffset > 0
+        && cursorOffset <= selectedItems.length
+        && itemIds[selectedItems[cursorOffset - 1]].equals(cursorItemId)) {
+      return cursorOffset;
+    }
+    for (int i = 0; i < selectedItems.length; ++i) {
+      if (itemIds[selectedItems[i]].equals(cursorItemId)) {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
+  /** Returns copies of the selected items from the start index (inclusive) to the end index. */
+  public ArrayNode toArrayNode(int[] selectedItems, int startIndex, int endIndex) {
+    ArrayNode arrayNode = OBJECT_MAPPER.createArrayNode();
+    for (int i = Math.max(startIndex, 0); i < Math.min(endIndex, selectedItems.length); ++i) {
+      arrayNode.add(items[selectedItems[i]].deepCopy());
+    }
+    return arrayNode;
+  }
+}
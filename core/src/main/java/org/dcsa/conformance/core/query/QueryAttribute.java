@@ -0,0 +1,13 @@
+package org.dcsa.conformance.core.query;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+/**
+ * An attribute that a query parameter filters on: the "/" separated path to the attribute (where
+ * "*" matches any array element or object field), the condition that the attribute must meet for a
+ * parameter value and, if not empty, the values that the attribute is restricted to.
+ */
+public record QueryAttribute(
+    String jsonPath, BiPredicate<JsonNode, String> condition, Set<String> values) {}
@@ -0,0 +1,93 @@
+package org.dcsa.conformance.core.query;
+
+import java.util.*;
+
+/**
+ * The filter, sort and page steps of a publisher query, compiled from its query parameters.
+ *
+ * <p>Every query parameter other than "sort", "limit" and "cursor" is a filter, whose values are
+ * the comma separated values of the parameter, as they are (not trimmed). Each "sort" parameter
+ * value is a field optionally followed by ":asc" or ":desc".
+ *
+ * <p>The sort and limit values are only parsed by the steps that use them, so a publisher that
+ * doesn't sort never fails on a sort value. A sort value with an unknown direction and a limit that
+ * is not a number fail with an {@link IllegalArgumentException} (a {@link NumberFormatException}
+ * for the limit), as the publishers always did.
+ */
+public record QueryPlan(
+    List<Filter> filters, List<String> sortValues, String limitValue, String cursor) {
+  public static final String SORT = "sort";
+  public static final String LIMIT = "limit";
+  public static final String CURSOR = "cursor";
+
+  public record Filter(String paramName, List<String> values) {}
+
+  public enum SortDirection {
+    ASC,
+    DESC
+  }
+
+  public record SortCriterion(String field, SortDirection direction) {}
+
+  /** Compiles the query parameters into a plan, keeping the order of the filters. */
+  public static QueryPlan compile(Map<String, ? extends Collection<String>> queryParams) {
+    List<Filter> filters = new ArrayList<>();
+    List<String> sortValues = new ArrayList<>();
+    String limitValue = null;
+    String cursor = null;
+    for (Map.Entry<String, ? extends Collection<String>> queryParam : queryParams.entrySet()) {
+      String paramName = queryParam.getKey();
+      Collection<String> paramValues = queryParam.getValue();
+      switch (paramName) {
+        case SORT -> sortValues.addAll(paramValues);
+        case LIMIT -> limitValue = _firstValue(paramValues);
+        case CURSOR -> cursor = _firstValue(paramValues);
+        default ->
+            filters.add(
+                new Filter(
+                    paramName,
+                    paramValues.stream()
+                        .flatMap(value -> Arrays.stream(value.split(",")))
+                        .toList()));
+      }
+    }
+    return new QueryPlan(List.copyOf(filters), List.copyOf(sortValues), limitValue, cursor);
+  }
+
+  private static String _firstValue(Collection<String> paramValues) {
+    return paramValues.stream().findFirst().orElse(null);
+  }
+
+  /**
+   * Returns the sort criteria in the order of the sort values.
+   *
+   * @throws IllegalArgumentException if a sort value has an unknown direction
+   */
+  public List<SortCriterion> sortCriteria() {
+    return sortValues.stream()
+        .map(
+            sortValue -> {
+              String[] parts = sortValue.split(":");
+              return new SortCriterion(
+                  parts[0],
+                  parts.length > 1
+                      ? SortDirection.valueOf(parts[1].toUpperCase())
+                      : SortDirection.ASC);
+            })
+        .toList();
+  }
+
+  /**
+   * Returns the limit of the query, or null if it has none.
+   *
+   * @throws NumberFormatException if the limit is not a number
+   */
+  public Integer limit() {
+    return limitValue == null ? null : Integer.valueOf(limitValue);
+  }
+
+  public int limitOrDefault(int defaultLimit) {
+    Integer limit = limit();
+    return limit == null ? defaultLimit : limit;
+  }
+}
@@ -34,7 +34,8 @@ public abstract class AbstractSortedPartitionsLockingMap implements SortedPartit
                 .formatted(lockedBy, partitionKey, sortKey));
         return loadedItem;
       } catch (TemporaryLockingMapException e) {
-        _sleepUpTo(loadRetryMillis);
+        _awaitRelease(
+            partitionKey, sortKey, Math.max(1L, timeoutTimestamp - System.currentTimeMillis()));
       }
     }
     throw new RuntimeException(
@@ -42,6 +43,15 @@ public abstract class AbstractSortedPartitionsLockingMap implements SortedPartit
             .formatted(loadTimeoutMillis, partitionKey, sortKey));
   }
 
+  /**
+   * Waits before retrying to load an item that was found locked. By default, sleeps for a random
+   * duration of up to loadRetryMillis; implementations that can be notified when a lock is
+   * released should instead wait for that, for up to maxWaitMillis.
+   */
+  protected void _awaitRelease(String partitionKey, String sortKey, long maxWaitMillis) {
+    _sleepUpTo(Math.min(loadRetryMillis, maxWaitMillis));
+  }
+
   private void _sleepUpTo(long millis) {
     try {
       Thread.sleep(RANDOM.nextLong(millis / 2, millis));
@@ -1,6 +1,8 @@
 package org.dcsa.conformance.core.state;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import lombok.AllArgsConstructor;
 
 @AllArgsConstructor
@@ -16,4 +18,14 @@ public class JsonNodeMap {
   public JsonNode load(String key) {
     return nonLockingMap.getItemValue(partitionKey, sortKeyPrefix + key);
   }
+
+  /** Loads the values of the existing keys among those specified, in a single batch. */
+  public LinkedHashMap<String, JsonNode> loadAll(Collection<String> keys) {
+    LinkedHashMap<String, JsonNode> valuesByKey = new LinkedHashMap<>();
+    nonLockingMap
+        .getItemValues(partitionKey, keys.stream().map(key -> sortKeyPrefix + key).toList())
+        .forEach(
+            (sortKey, value) -> valuesByKey.put(sortKey.substring(sortKeyPrefix.length()), value));
+    return valuesByKey;
+  }
 }
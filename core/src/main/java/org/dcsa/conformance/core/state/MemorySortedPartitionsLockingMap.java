@@ -3,39 +3,55 @@ package org.dcsa.conformance.core.state;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashMap;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * In-memory locking map in which each partition is guarded by its own monitor, so that loading,
+ * saving and unlocking items only contend with operations on the same partition. Callers waiting
+ * for a locked item are notified as soon as the lock is released, instead of polling.
+ */
 @Slf4j
 public class MemorySortedPartitionsLockingMap extends AbstractSortedPartitionsLockingMap {
 
   private static class MemoryMapItem {
     String lockedBy;
     long lockedUntil;
+    long version;
     JsonNode value;
   }
 
-  private final HashMap<String, TreeMap<String, MemoryMapItem>> memoryMap = new HashMap<>();
+  private static class MemoryPartition {
+    final TreeMap<String, MemoryMapItem> itemsBySortKey = new TreeMap<>();
+  }
+
+  private final ConcurrentHashMap<String, MemoryPartition> partitionsByKey =
+      new ConcurrentHashMap<>();
 
   public MemorySortedPartitionsLockingMap() {
     super(60L * 1000L, 100L, 60L * 1000L);
   }
 
-  private MemoryMapItem _getOrCreateItem(String partitionKey, String sortKey) {
-    return memoryMap
-        .computeIfAbsent(partitionKey, ignoredKey -> new TreeMap<>())
-        .computeIfAbsent(sortKey, ignoredKey -> new MemoryMapItem());
+  private MemoryPartition _getPartition(String partitionKey) {
+    return partitionsByKey.computeIfAbsent(partitionKey, ignoredKey -> new MemoryPartition());
+  }
+
+  private static MemoryMapItem _getOrCreateItem(MemoryPartition partition, String sortKey) {
+    return partition.itemsBySortKey.computeIfAbsent(sortKey, ignoredKey -> new MemoryMapItem());
   }
 
   @Override
   protected void _saveItem(String lockedBy, String partitionKey, String sortKey, JsonNode value) {
-    synchronized (memoryMap) {
-      MemoryMapItem item = _getOrCreateItem(partitionKey, sortKey);
+    MemoryPartition partition = _getPartition(partitionKey);
+    synchronized (partition) {
+      MemoryMapItem item = _getOrCreateItem(partition, sortKey);
       if (Objects.equals(lockedBy, item.lockedBy)) {
         if (item.lockedUntil > System.currentTimeMillis()) {
           item.value = value;
+          item.version++;
           item.lockedBy = null;
+          partition.notifyAll();
         } else {
           throw new RuntimeException("%s cannot save: lock has expired".formatted(lockedBy));
         }
@@ -48,8 +64,9 @@ public class MemorySortedPartitionsLockingMap extends AbstractSortedPartitionsLo
   @Override
   protected JsonNode _loadItem(String lockedBy, String partitionKey, String sortKey)
       throws TemporaryLockingMapException {
-    synchronized (memoryMap) {
-      MemoryMapItem item = _getOrCreateItem(partitionKey, sortKey);
+    MemoryPartition partition = _getPartition(partitionKey);
+    synchronized (partition) {
+      MemoryMapItem item = _getOrCreateItem(partition, sortKey);
       long currentTime = System.currentTimeMillis();
       if (item.lockedBy != null && item.lockedUntil > currentTime) {
         log.debug("%s cannot load: must wait for %s to save".formatted(lockedBy, item.lockedBy));
@@ -62,13 +79,67 @@ public class MemorySortedPartitionsLockingMap extends AbstractSortedPartitionsLo
     }
   }
 
+  @Override
+  protected void _awaitRelease(String partitionKey, String sortKey, long maxWaitMillis) {
+    MemoryPartition partition = _getPartition(partitionKey);
+    long waitUntil = System.currentTimeMillis() + maxWaitMillis;
+    synchronized (partition) {
+      MemoryMapItem item = _getOrCreateItem(partition, sortKey);
+      // checked under the same monitor that save and unlock notify, so no release can be missed
+      while (item.lockedBy != null) {
+        long currentTime = System.currentTimeMillis();
+        long waitMillis = Math.min(item.lockedUntil, waitUntil) - currentTime;
+        if (waitMillis <= 0) return;
+        try {
+          partition.wait(waitMillis);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  @Override
+  public VersionedItemValue readItem(String partitionKey, String sortKey) {
+    MemoryPartition partition = _getPartition(partitionKey);
+    synchronized (partition) {
+      MemoryMapItem item = _getOrCreateItem(partition, sortKey);
+      return new VersionedItemValue(item.value, item.version);
+    }
+  }
+
+  @Override
+  public boolean compareAndSaveItem(
+      String partitionKey, String sortKey, long expectedVersion, JsonNode value) {
+    MemoryPartition partition = _getPartition(partitionKey);
+    synchronized (partition) {
+      MemoryMapItem item = _getOrCreateItem(partition, sortKey);
+      if (item.lockedBy != null && item.lockedUntil > System.currentTimeMillis()) {
+        log.debug("Cannot compare and save: item is locked by %s".formatted(item.lockedBy));
+        return false;
+      }
+      if (item.version != expectedVersion) {
+        log.debug(
+            "Cannot compare and save: expected version %d but found %d"
+                .formatted(expectedVersion, item.version));
+        return false;
+      }
+      item.value = value;
+      item.version++;
+      return true;
+    }
+  }
+
   @Override
   protected void _unlockItem(String lockedBy, String partitionKey, String sortKey) {
-    synchronized (memoryMap) {
-      MemoryMapItem item = _getOrCreateItem(partitionKey, sortKey);
+    MemoryPartition partition = _getPartition(partitionKey);
+    synchronized (partition) {
+      MemoryMapItem item = _getOrCreateItem(partition, sortKey);
       if (Objects.equals(lockedBy, item.lockedBy)) {
         if (item.lockedUntil > System.currentTimeMillis()) {
           item.lockedBy = null;
+          partition.notifyAll();
         } else {
           log.debug("%s does not need to unlock: lock has expired".formatted(lockedBy));
         }
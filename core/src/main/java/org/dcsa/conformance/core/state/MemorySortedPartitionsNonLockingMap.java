@@ -1,66 +1,109 @@
 package org.dcsa.conformance.core.state;
 
-import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
-
 import com.fasterxml.jackson.databind.JsonNode;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
-import lombok.SneakyThrows;
+import java.util.stream.Stream;
 
+/**
+ * In-memory map that stores private snapshots of the values, so that callers can neither change
+ * the stored state through the values they set nor through the values they get.
+ *
+ * <p>Snapshots are taken with {@link JsonNode#deepCopy()}, which only copies the object and array
+ * containers and shares the immutable leaf nodes (texts, numbers, booleans), instead of
+ * serializing and re-parsing the entire value.
+ */
 public class MemorySortedPartitionsNonLockingMap implements SortedPartitionsNonLockingMap {
-  private final HashMap<String, TreeMap<String, JsonNode>> memoryMap = new HashMap<>();
-
+  private final TreeMap<String, TreeMap<String, JsonNode>> memoryMap = new TreeMap<>();
 
-  @SneakyThrows
   @Override
   public synchronized void setItemValue(String partitionKey, String sortKey, JsonNode value) {
-    JsonNode valueCopy = OBJECT_MAPPER.readTree(value.toString());
     memoryMap
         .computeIfAbsent(partitionKey, ignoredKey -> new TreeMap<>())
-        .put(sortKey, OBJECT_MAPPER.createObjectNode().set("value", valueCopy));
+        .put(sortKey, value.deepCopy());
   }
 
   @Override
-  public synchronized JsonNode getItemValue(String partitionKey, String sortKey) {
+  public synchronized JsonNode replaceItemValue(
+      String partitionKey, String sortKey, JsonNode value) {
+    // the previous snapshot is no longer stored, so it can be returned as it is
     return memoryMap
-        .getOrDefault(partitionKey, new TreeMap<>())
-        .getOrDefault(sortKey, OBJECT_MAPPER.createObjectNode())
-        .get("value");
+        .computeIfAbsent(partitionKey, ignoredKey -> new TreeMap<>())
+        .put(sortKey, value.deepCopy());
+  }
+
+  @Override
+  public synchronized JsonNode getItemValue(String partitionKey, String sortKey) {
+    return _snapshot(memoryMap.getOrDefault(partitionKey, new TreeMap<>()).get(sortKey));
+  }
+
+  @Override
+  public synchronized void setItemValues(
+      String partitionKey, Map<String, JsonNode> valuesBySortKey) {
+    valuesBySortKey.forEach((sortKey, value) -> setItemValue(partitionKey, sortKey, value));
+  }
+
+  @Override
+  public synchronized LinkedHashMap<String, JsonNode> getItemValues(
+      String partitionKey, Collection<String> sortKeys) {
+    LinkedHashMap<String, JsonNode> valuesBySortKey = new LinkedHashMap<>();
+    sortKeys.forEach(
+        sortKey -> {
+          JsonNode value = getItemValue(partitionKey, sortKey);
+          if (value != null) valuesBySortKey.put(sortKey, value);
+        });
+    return valuesBySortKey;
+  }
+
+  @Override
+  public synchronized void removeItem(String partitionKey, String sortKey) {
+    TreeMap<String, JsonNode> valuesBySortKey = memoryMap.get(partitionKey);
+    if (valuesBySortKey == null) return;
+    valuesBySortKey.remove(sortKey);
+    if (valuesBySortKey.isEmpty()) memoryMap.remove(partitionKey);
   }
 
   @Override
   public synchronized LinkedHashMap<String, JsonNode> getPartitionValuesBySortKey(
       String partitionKey, String sortKeyPrefix) {
-    return memoryMap.getOrDefault(partitionKey, new TreeMap<>()).entrySet().stream()
-        .filter(entry -> entry.getKey().startsWith(sortKeyPrefix))
+    return _getEntriesByKeyPrefix(
+            memoryMap.getOrDefault(partitionKey, new TreeMap<>()), sortKeyPrefix)
         .collect(
             Collectors.toMap(
                 Map.Entry::getKey,
-                entry -> entry.getValue().get("value"),
+                entry -> entry.getValue().deepCopy(),
                 (existing, replacement) -> existing,
                 LinkedHashMap::new));
   }
 
+  /** Returns a snapshot of the matching items, consistent across all the scanned partitions. */
   @Override
-  public TreeMap<String, TreeMap<String, JsonNode>> scan(
+  public synchronized TreeMap<String, TreeMap<String, JsonNode>> scan(
       String partitionKeyPrefix, String sortKeyPrefix) {
     TreeMap<String, TreeMap<String, JsonNode>> result = new TreeMap<>();
-    memoryMap.forEach(
-        (partitionKey, valuesBySortKey) -> {
-          if (partitionKey.startsWith(partitionKeyPrefix)) {
-            TreeMap<String, JsonNode> subResult = new TreeMap<>();
-            result.put(partitionKey, subResult);
-            valuesBySortKey.forEach(
-                (sortKey, value) -> {
-                  if (sortKey.startsWith(sortKeyPrefix)) {
-                    subResult.put(sortKey, value.get("value"));
-                  }
-                });
-          }
-        });
+    _getEntriesByKeyPrefix(memoryMap, partitionKeyPrefix)
+        .forEach(
+            partitionEntry -> {
+              TreeMap<String, JsonNode> subResult = new TreeMap<>();
+              result.put(partitionEntry.getKey(), subResult);
+              _getEntriesByKeyPrefix(partitionEntry.getValue(), sortKeyPrefix)
+                  .forEach(entry -> subResult.put(entry.getKey(), entry.getValue().deepCopy()));
+            });
     return result;
   }
+
+  private static JsonNode _snapshot(JsonNode value) {
+    return value == null ? null : value.deepCopy();
+  }
+
+  /** Only visits the range of keys starting with the prefix, instead of the entire map. */
+  private static <V> Stream<Map.Entry<String, V>> _getEntriesByKeyPrefix(
+      NavigableMap<String, V> map, String keyPrefix) {
+    return map.tailMap(keyPrefix, true).entrySet().stream()
+        .takeWhile(entry -> entry.getKey().startsWith(keyPrefix));
+  }
 }
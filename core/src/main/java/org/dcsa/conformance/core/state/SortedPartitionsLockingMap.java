@@ -8,4 +8,25 @@ public interface SortedPartitionsLockingMap {
   void saveItem(String lockedBy, String partitionKey, String sortKey, JsonNode value);
 
   void unlockItem(String lockedBy, String partitionKey, String sortKey);
+
+  /** Reads the latest saved value of the item and its version, without locking the item. */
+  VersionedItemValue readItem(String partitionKey, String sortKey);
+
+  /**
+   * Saves the value of the item, incrementing its version, but only if the item is not currently
+   * locked and its version is still the expected one.
+   *
+   * @return false if the item was locked or modified since it was read with the expected version
+   */
+  boolean compareAndSaveItem(
+      String partitionKey, String sortKey, long expectedVersion, JsonNode value);
+
+  /**
+   * Same as {@link #compareAndSaveItem(String, String, long, JsonNode)}, with the version of the
+   * item as it was read, for maps that need to know which value the save replaces.
+   */
+  default boolean compareAndSaveItem(
+      String partitionKey, String sortKey, VersionedItemValue originalItem, JsonNode value) {
+    return compareAndSaveItem(partitionKey, sortKey, originalItem.version(), value);
+  }
 }
@@ -1,7 +1,9 @@
 package org.dcsa.conformance.core.state;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.TreeMap;
 
 public interface SortedPartitionsNonLockingMap {
@@ -9,6 +11,30 @@ public interface SortedPartitionsNonLockingMap {
 
   JsonNode getItemValue(String partitionKey, String sortKey);
 
+  /**
+   * Sets the value of the item and returns the value it replaced, in a single round trip where the
+   * implementation supports it.
+   *
+   * @return the previous value of the item, or null if the item did not exist
+   */
+  default JsonNode replaceItemValue(String partitionKey, String sortKey, JsonNode value) {
+    JsonNode previousValue = getItemValue(partitionKey, sortKey);
+    setItemValue(partitionKey, sortKey, value);
+    return previousValue;
+  }
+
+  /** Sets the values of multiple items of the same partition, in as few round trips as possible. */
+  void setItemValues(String partitionKey, Map<String, JsonNode> valuesBySortKey);
+
+  /**
+   * Gets the values of multiple items of the same partition, in as few round trips as possible.
+   *
+   * @return the values of the existing items, in the order of the specified sort keys
+   */
+  LinkedHashMap<String, JsonNode> getItemValues(String partitionKey, Collection<String> sortKeys);
+
+  void removeItem(String partitionKey, String sortKey);
+
   LinkedHashMap<String, JsonNode> getPartitionValuesBySortKey(
       String partitionKey, String sortKeyPrefix);
 
@@ -1,6 +1,7 @@
 package org.dcsa.conformance.core.state;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Random;
 import java.util.UUID;
 import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
@@ -8,6 +9,10 @@ import org.dcsa.conformance.core.UserFacingException;
 
 @Slf4j
 public class StatefulExecutor {
+  private static final int MAX_OPTIMISTIC_ATTEMPTS = 4;
+  private static final long OPTIMISTIC_RETRY_BASE_MILLIS = 25L;
+  private static final Random RANDOM = new Random();
+
   private final SortedPartitionsLockingMap sortedPartitionsLockingMap;
 
   public StatefulExecutor(SortedPartitionsLockingMap sortedPartitionsLockingMap) {
@@ -44,4 +49,57 @@ public class StatefulExecutor {
       sortedPartitionsLockingMap.unlockItem(lockedBy, partitionKey, sortKey);
     }
   }
+
+  /**
+   * Same as {@link #execute}, except that the state is read without locking it and the modified
+   * state (if any) is only saved if nobody else modified or locked the state in the meantime. On
+   * conflicts, the function is applied again to the newly read state, with a randomized backoff,
+   * and after a few failed attempts the execution falls back to {@link #execute}.
+   *
+   * <p>Read-only functions (that return null) take a single read and no lock. Since the function
+   * can be applied more than once, it must not have side effects other than computing the new
+   * state.
+   */
+  public void executeOptimistically(
+      String description,
+      String partitionKey,
+      String sortKey,
+      Function<JsonNode, JsonNode> function) {
+    for (int attempt = 1; attempt <= MAX_OPTIMISTIC_ATTEMPTS; ++attempt) {
+      log.info("Executing optimistically (attempt %d): %s".formatted(attempt, description));
+      VersionedItemValue originalItem = sortedPartitionsLockingMap.readItem(partitionKey, sortKey);
+
+      JsonNode modifiedState;
+      try {
+        modifiedState = function.apply(originalItem.value());
+      } catch (Throwable t) {
+        log.warn(
+            "Optimistic execution failed (partitionKey='%s', sortKey='%s'): %s"
+                .formatted(partitionKey, sortKey, t),
+            t);
+        if (t instanceof UserFacingException) {
+          throw t;
+        }
+        throw new RuntimeException("Execution failed: " + t, t);
+      }
+
+      if (modifiedState == null
+          || sortedPartitionsLockingMap.compareAndSaveItem(
+              partitionKey, sortKey, originalItem, modifiedState)) {
+        return;
+      }
+      _backOff(attempt);
+    }
+    log.info("Optimistic execution kept conflicting, locking: %s".formatted(description));
+    execute(description, partitionKey, sortKey, function);
+  }
+
+  private static void _backOff(int attempt) {
+    long maxBackOffMillis = OPTIMISTIC_RETRY_BASE_MILLIS << attempt;
+    try {
+      Thread.sleep(RANDOM.nextLong(maxBackOffMillis / 2, maxBackOffMillis));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
 }
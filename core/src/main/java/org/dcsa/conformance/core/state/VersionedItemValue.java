@@ -0,0 +1,17 @@
+package org.dcsa.conformance.core.state;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Value of a locking map item as read without locking it, along with the version that must be
+ * passed to {@link SortedPartitionsLockingMap#compareAndSaveItem} to modify it. Items that were
+ * never saved, or that were saved before versioning was introduced, have version 0.
+ *
+ * <p>Maps that store values in another form (such as redirects to chunks) return the stored value
+ * as the internal value, so that they know what a save replaces; it is null otherwise.
+ */
+public record VersionedItemValue(JsonNode value, long version, JsonNode internalValue) {
+  public VersionedItemValue(JsonNode value, long version) {
+    this(value, version, null);
+  }
+}
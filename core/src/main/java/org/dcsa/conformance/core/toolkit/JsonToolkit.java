@@ -12,6 +12,7 @@ import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.StreamSupport;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
@@ -25,6 +26,9 @@ public class JsonToolkit {
   public static final DateTimeFormatter DEFAULT_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
   public static final DateTimeFormatter ISO_8601_DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
 
+  private static final ConcurrentHashMap<String, JsonNode> PARSED_TEMPLATES_BY_PATH =
+      new ConcurrentHashMap<>();
+
   @SneakyThrows
   public static JsonNode stringToJsonNode(String string) {
     return OBJECT_MAPPER.readTree(string);
@@ -44,11 +48,25 @@ public class JsonToolkit {
     }
   }
 
-  @SneakyThrows
+  /**
+   * Returns the JSON content of the classpath template, with its placeholders replaced and without
+   * its empty or null fields. Templates without replacements are parsed only once and returned as
+   * copies, since callers usually modify the returned node.
+   */
   public static JsonNode templateFileToJsonNode(
       String templatePath, Map<String, String> replacements) {
-    JsonNode jsonNode =
-        OBJECT_MAPPER.readTree(IOToolkit.templateFileToText(templatePath, replacements));
+    if (replacements == null || replacements.isEmpty()) {
+      return PARSED_TEMPLATES_BY_PATH
+          .computeIfAbsent(
+              templatePath, path -> _parseTemplate(IOToolkit.templateFileToText(path, null)))
+          .deepCopy();
+    }
+    return _parseTemplate(IOToolkit.templateFileToText(templatePath, replacements));
+  }
+
+  @SneakyThrows
+  private static JsonNode _parseTemplate(String templateText) {
+    JsonNode jsonNode = OBJECT_MAPPER.readTree(templateText);
     removeEmptyOrNullFields(jsonNode);
     return jsonNode;
   }
@@ -0,0 +1,198 @@
+package org.dcsa.conformance.core.toolkit;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends the outbound requests of the sandboxes and parties through a shared {@link HttpClient}.
+ *
+ * <p>Each request has a timeout (by default long enough to allow debugging sessions or slow
+ * business logic at the customer's side) and can be tagged with a group, typically the sandbox id,
+ * so that all the in-flight requests of the group can be cancelled, for example when the sandbox is
+ * reset.
+ *
+ * <p>The sandbox and party callers deliberately block in {@link #send}: they run as deferred tasks,
+ * on virtual threads in the Spring Boot application and within the invocation in the Lambda
+ * application, and they need the response (or at least its completion) before the task may end.
+ * {@link #sendAsync} is the primitive for callers that can compose on the response instead.
+ *
+ * <p>The metrics count requests and their outcomes, in total and per authority (host and port).
+ * The JDK client does not expose its connection pool, so they say nothing about connection reuse.
+ */
+@Slf4j
+public class OutboundHttpClient {
+  public record Metrics(
+      long startedRequests,
+      long completedRequests,
+      long failedRequests,
+      long timedOutRequests,
+      long cancelledRequests,
+      long inFlightRequests,
+      Map<String, Long> requestsByAuthority) {}
+
+  private final HttpClient httpClient;
+
+  @Getter @Setter private volatile Duration defaultTimeout;
+
+  private final ConcurrentHashMap<String, Set<CompletableFuture<?>>> inFlightRequestsByGroup =
+      new ConcurrentHashMap<>();
+
+  private final LongAdder startedRequests = new LongAdder();
+  private final LongAdder completedRequests = new LongAdder();
+  private final LongAdder failedRequests = new LongAdder();
+  private final LongAdder timedOutRequests = new LongAdder();
+  private final LongAdder cancelledRequests = new LongAdder();
+  private final AtomicLong inFlightRequests = new AtomicLong();
+  private final ConcurrentHashMap<String, LongAdder> requestsByAuthority =
+      new ConcurrentHashMap<>();
+
+  public OutboundHttpClient(HttpClient httpClient, Duration defaultTimeout) {
+    this.httpClient = httpClient;
+    this.defaultTimeout = defaultTimeout;
+  }
+
+  /**
+   * Sends the request asynchronously, with the default timeout unless the request has its own.
+   *
+   * @param group the group of the request (for cancellation), or null
+   */
+  public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+      String group, HttpRequest.Builder httpRequestBuilder, HttpResponse.BodyHandler<T> handler) {
+    HttpRequest httpRequest = httpRequestBuilder.build();
+    if (httpRequest.timeout().isEmpty()) {
+      httpRequest = httpRequestBuilder.timeout(defaultTimeout).build();
+    }
+    startedRequests.increment();
+    inFlightRequests.incrementAndGet();
+    requestsByAuthority
+        .computeIfAbsent(
+            String.valueOf(httpRequest.uri().getAuthority()), ignored -> new LongAdder())
+        .increment();
+
+    CompletableFuture<HttpResponse<T>> responseFuture = httpClient.sendAsync(httpRequest, handler);
+    // completed only after the bookkeeping, and cancelling it aborts the request
+    CompletableFuture<HttpResponse<T>> resultFuture =
+        new CompletableFuture<>() {
+          @Override
+          public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            responseFuture.cancel(mayInterruptIfRunning);
+            return cancelled;
+          }
+        };
+    if (group != null) {
+      inFlightRequestsByGroup
+          .computeIfAbsent(group, ignored -> ConcurrentHashMap.newKeySet())
+          .add(resultFuture);
+    }
+    String requestDescription = "%s %s".formatted(httpRequest.method(), httpRequest.uri());
+    responseFuture.whenComplete(
+        (response, throwable) -> {
+          inFlightRequests.decrementAndGet();
+          if (group != null) {
+            inFlightRequestsByGroup.computeIfPresent(
+                group,
+                (ignored, futures) -> {
+                  futures.remove(resultFuture);
+                  return futures.isEmpty() ? null : futures;
+                });
+          }
+          Throwable cause =
+              throwable instanceof CompletionException ? throwable.getCause() : throwable;
+          _recordOutcome(requestDescription, cause);
+          if (cause == null) {
+            resultFuture.complete(response);
+          } else {
+            resultFuture.completeExceptionally(cause);
+          }
+        });
+    return resultFuture;
+  }
+
+  /**
+   * Sends the request and blocks the calling thread until its response arrives, with the default
+   * timeout unless the request has its own. Interrupting the caller or cancelling the group aborts
+   * the request.
+   *
+   * @param group the group of the request (for cancellation), or null
+   */
+  public <T> HttpResponse<T> send(
+      String group, HttpRequest.Builder httpRequestBuilder, HttpResponse.BodyHandler<T> handler)
+      throws IOException, InterruptedException {
+    CompletableFuture<HttpResponse<T>> responseFuture =
+        sendAsync(group, httpRequestBuilder, handler);
+    try {
+      return responseFuture.get();
+    } catch (InterruptedException e) {
+      responseFuture.cancel(true);
+      throw e;
+    } catch (CancellationException e) {
+      throw new IOException("Request cancelled: " + httpRequestBuilder.build().uri(), e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException ioException) throw ioException;
+      if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * Cancels all the in-flight requests of the group.
+   *
+   * @return the number of cancelled requests
+   */
+  public int cancelAll(String group) {
+    Set<CompletableFuture<?>> futures = inFlightRequestsByGroup.remove(group);
+    if (futures == null) return 0;
+    int cancelledCount = (int) futures.stream().filter(future -> future.cancel(true)).count();
+    if (cancelledCount > 0) {
+      log.info("Cancelled {} in-flight outbound requests of '{}'", cancelledCount, group);
+    }
+    return cancelledCount;
+  }
+
+  public Metrics getMetrics() {
+    TreeMap<String, Long> requestCountsByAuthority = new TreeMap<>();
+    requestsByAuthority.forEach(
+        (authority, requestCount) -> requestCountsByAuthority.put(authority, requestCount.sum()));
+    return new Metrics(
+        startedRequests.sum(),
+        completedRequests.sum(),
+        failedRequests.sum(),
+        timedOutRequests.sum(),
+        cancelledRequests.sum(),
+        inFlightRequests.get(),
+        requestCountsByAuthority);
+  }
+
+  private void _recordOutcome(String requestDescription, Throwable cause) {
+    if (cause == null) {
+      completedRequests.increment();
+    } else if (cause instanceof CancellationException) {
+      cancelledRequests.increment();
+      log.debug("Outbound request cancelled: {}", requestDescription);
+    } else if (cause instanceof HttpTimeoutException) {
+      timedOutRequests.increment();
+      log.warn("Outbound request timed out: {}", requestDescription);
+    } else {
+      failedRequests.increment();
+      log.warn("Outbound request failed: {}: {}", requestDescription, cause.toString());
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package org.dcsa.conformance.core.toolkit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A text template loaded once from the classpath, in which any of the keys of the replacement map
+ * passed to {@link #render(Map)} is a placeholder.
+ *
+ * <p>The positions of the placeholders are computed the first time the template is rendered with a
+ * given set of keys, so that rendering is a single pass appending the literal fragments and the
+ * replacement values. Where placeholders overlap, the one starting first wins, and among those
+ * starting at the same position the longest one. Replacement values are inserted as they are,
+ * without looking for placeholders inside them.
+ */
+final class TextTemplate {
+  private static final ConcurrentHashMap<String, TextTemplate> TEMPLATES_BY_PATH =
+      new ConcurrentHashMap<>();
+
+  private record Slot(int start, int end, String key) {}
+
+  private record CompiledTemplate(String[] fragments, String[] slotKeys, int literalLength) {}
+
+  private final String text;
+  private final ConcurrentHashMap<Set<String>, CompiledTemplate> compiledTemplatesByKeys =
+      new ConcurrentHashMap<>();
+
+  private TextTemplate(String text) {
+    this.text = text;
+  }
+
+  static TextTemplate fromClasspath(String templatePath) {
+    TextTemplate textTemplate = TEMPLATES_BY_PATH.get(templatePath);
+    if (textTemplate == null) {
+      // not loaded inside computeIfAbsent to avoid holding the map bin lock while reading
+      textTemplate = new TextTemplate(_readClasspathResource(templatePath));
+      TextTemplate existingTemplate = TEMPLATES_BY_PATH.putIfAbsent(templatePath, textTemplate);
+      if (existingTemplate != null) textTemplate = existingTemplate;
+    }
+    return textTemplate;
+  }
+
+  static TextTemplate of(String text) {
+    return new TextTemplate(text);
+  }
+
+  private static String _readClasspathResource(String templatePath) {
+    try (InputStream inputStream = TextTemplate.class.getResourceAsStream(templatePath)) {
+      if (inputStream == null) {
+        throw new IllegalArgumentException("Could not find file: " + templatePath);
+      }
+      return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not read file: " + templatePath, e);
+    }
+  }
+
+  String render(Map<String, String> replacements) {
+    if (replacements == null || replacements.isEmpty()) return text;
+    CompiledTemplate compiledTemplate =
+        compiledTemplatesByKeys.computeIfAbsent(
+            Set.copyOf(replacements.keySet()), keys -> _compile(text, keys));
+    String[] fragments = compiledTemplate.fragments();
+    String[] slotKeys = compiledTemplate.slotKeys();
+    if (slotKeys.length == 0) return text;
+
+    String[] values = new String[slotKeys.length];
+    int length = compiledTemplate.literalLength();
+    for (int i = 0; i < slotKeys.length; ++i) {
+      values[i] = String.valueOf(replacements.get(slotKeys[i]));
+      length += values[i].length();
+    }
+    StringBuilder stringBuilder = new StringBuilder(length);
+    for (int i = 0; i < slotKeys.length; ++i) {
+      stringBuilder.append(fragments[i]).append(values[i]);
+    }
+    return stringBuilder.append(fragments[slotKeys.length]).toString();
+  }
+
+  private static CompiledTemplate _compile(String text, Set<String> keys) {
+    List<Slot> candidateSlots = new ArrayList<>();
+    keys.stream()
+        .filter(key -> !key.isEmpty())
+        .forEach(
+            key -> {
+              for (int start = text.indexOf(key);
+                  start >= 0;
+                  start = text.indexOf(key, start + key.length())) {
+                candidateSlots.add(new Slot(start, start + key.length(), key));
+              }
+            });
+    candidateSlots.sort(
+        (slotA, slotB) ->
+            slotA.start() != slotB.start()
+                ? Integer.compare(slotA.start(), slotB.start())
+                : Integer.compare(slotB.end(), slotA.end()));
+
+    List<String> fragments = new ArrayList<>();
+    List<String> slotKeys = new ArrayList<>();
+    int literalLength = 0;
+    int position = 0;
+    for (Slot slot : candidateSlots) {
+      if (slot.start() < position) continue;
+      String fragment = text.substring(position, slot.start());
+      fragments.add(fragment);
+      literalLength += fragment.length();
+      slotKeys.add(slot.key());
+      position = slot.end();
+    }
+    String lastFragment = text.substring(position);
+    fragments.add(lastFragment);
+    literalLength += lastFragment.length();
+    return new CompiledTemplate(
+        fragments.toArray(String[]::new), slotKeys.toArray(String[]::new), literalLength);
+  }
+}
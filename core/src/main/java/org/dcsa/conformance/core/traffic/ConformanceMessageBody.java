@@ -2,47 +2,86 @@ package org.dcsa.conformance.core.traffic;
 
 import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import lombok.Getter;
-import lombok.ToString;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
-@Getter
-@ToString
+/**
+ * Message body that keeps whichever representation it was created from (raw bytes, string or JSON
+ * tree) and only materializes the other representations when they are first requested, so that
+ * each body is parsed or serialized at most once no matter how many checks look at it.
+ *
+ * <p>Instances are safe to share between threads evaluating checks in parallel.
+ */
 public class ConformanceMessageBody {
-  private final boolean isCorrectJson;
-  private final String stringBody;
-  private final JsonNode jsonBody;
+  private byte[] rawBody;
+  private String stringBody;
+  private JsonNode jsonBody;
+  private Boolean isCorrectJson;
+
+  public ConformanceMessageBody(byte[] rawBody) {
+    this.rawBody = rawBody == null ? new byte[0] : rawBody;
+  }
 
   public ConformanceMessageBody(String stringBody) {
     this.stringBody = stringBody == null ? "" : stringBody;
-    boolean isCorrectJson;
-    JsonNode jsonBody;
-    try {
-      jsonBody = OBJECT_MAPPER.readTree(this.stringBody);
-      isCorrectJson = true;
-    } catch (JsonProcessingException e) {
-      jsonBody = OBJECT_MAPPER.createObjectNode();
-      isCorrectJson = false;
-    }
-    this.isCorrectJson = isCorrectJson;
-    this.jsonBody = jsonBody;
   }
 
   public ConformanceMessageBody(JsonNode jsonBody) {
     this.isCorrectJson = true;
     this.jsonBody = jsonBody;
-    this.stringBody = jsonBody.toPrettyString();
+  }
+
+  public synchronized boolean isCorrectJson() {
+    if (isCorrectJson == null) {
+      _parseJsonBody();
+    }
+    return isCorrectJson;
+  }
+
+  public synchronized JsonNode getJsonBody() {
+    if (isCorrectJson == null) {
+      _parseJsonBody();
+    }
+    return jsonBody;
+  }
+
+  public synchronized String getStringBody() {
+    if (stringBody == null) {
+      stringBody =
+          rawBody != null
+              ? new String(rawBody, StandardCharsets.UTF_8)
+              : jsonBody.toPrettyString();
+    }
+    return stringBody;
+  }
+
+  public synchronized byte[] getRawBody() {
+    if (rawBody == null) {
+      rawBody = getStringBody().getBytes(StandardCharsets.UTF_8);
+    }
+    return rawBody;
+  }
+
+  private void _parseJsonBody() {
+    try {
+      jsonBody =
+          stringBody != null ? OBJECT_MAPPER.readTree(stringBody) : OBJECT_MAPPER.readTree(rawBody);
+      isCorrectJson = true;
+    } catch (IOException e) {
+      jsonBody = OBJECT_MAPPER.createObjectNode();
+      isCorrectJson = false;
+    }
   }
 
   public ObjectNode toJson() {
     ObjectNode objectNode = OBJECT_MAPPER.createObjectNode();
-    objectNode.put("isCorrectJson", isCorrectJson);
-    if (isCorrectJson) {
-      objectNode.set("jsonBody", jsonBody);
+    objectNode.put("isCorrectJson", isCorrectJson());
+    if (isCorrectJson()) {
+      objectNode.set("jsonBody", getJsonBody());
     } else {
-      objectNode.put("stringBody", stringBody);
+      objectNode.put("stringBody", getStringBody());
     }
     return objectNode;
   }
@@ -55,4 +94,10 @@ public class ConformanceMessageBody {
       return new ConformanceMessageBody(objectNode.get("stringBody").asText());
     }
   }
+
+  @Override
+  public String toString() {
+    return "ConformanceMessageBody(isCorrectJson=%s, stringBody=%s)"
+        .formatted(isCorrectJson(), getStringBody());
+  }
 }
@@ -1,13 +1,42 @@
 package org.dcsa.conformance.core.traffic;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 import org.dcsa.conformance.core.state.SortedPartitionsNonLockingMap;
 
 import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
 
+/**
+ * Exchanges are stored with sort keys of the form
+ * {@code run#<scenarioRun>#exchange#<UTC>#<exchangeUuid>}, so that the traffic of one scenario run
+ * can be fetched in chronological order with a single prefix query instead of loading the traffic
+ * of the entire session. Each exchange also has an action index item with a sort key of the form
+ * {@code run#<scenarioRun>#action#<actionId>#<UTC>#<exchangeUuid>}, which only refers to the sort
+ * key of the exchange, so that the traffic of one action is fetched with a prefix query and a
+ * batch get.
+ *
+ * <p>The UTC part is a fixed-width microsecond timestamp from a clock that never goes backwards
+ * and never repeats within this JVM, which keeps exchanges in chronological order, while the
+ * exchange UUID makes each key unique across nodes without any read-before-write.
+ *
+ * <p>Sessions recorded before this layout was introduced stored exchanges directly under
+ * {@code <UTC>} sort keys (starting with "20"); these are still read, filtered by scenario run.
+ */
 public class TrafficRecorder {
+  private static final String LEGACY_SORT_KEY_PREFIX = "20";
+  private static final String RUN_SORT_KEY_PREFIX = "run#";
+  private static final String EXCHANGE_SORT_KEY = "exchangeSortKey";
+  private static final DateTimeFormatter SORT_KEY_TIMESTAMP_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS'Z'").withZone(ZoneOffset.UTC);
+  private static final AtomicLong LATEST_TIMESTAMP_MICROS = new AtomicLong();
+
   private final SortedPartitionsNonLockingMap nonLockingMap;
   private final String partitionKey;
 
@@ -18,7 +47,7 @@ public class TrafficRecorder {
 
   public synchronized Map<String, List<ConformanceExchange>> getTrafficByScenarioRun() {
     HashMap<String, List<ConformanceExchange>> trafficMap = new HashMap<>();
-    nonLockingMap.getPartitionValuesBySortKey(partitionKey, "20").values().stream()
+    Stream.concat(_getItemNodes(RUN_SORT_KEY_PREFIX), _getItemNodes(LEGACY_SORT_KEY_PREFIX))
         .filter(itemNode -> itemNode.has("scenarioRun"))
         .forEach(
             itemNode ->
@@ -29,21 +58,74 @@ public class TrafficRecorder {
     return trafficMap;
   }
 
-  public synchronized void recordExchange(ConformanceExchange conformanceExchange, String scenarioRun) {
-    String sortKey;
-    while (nonLockingMap.getItemValue(partitionKey, sortKey = Instant.now().toString()) != null) {
-      try {
-        this.wait(10);
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-      }
-    }
-    nonLockingMap.setItemValue(
-        partitionKey,
-        sortKey,
+  public synchronized List<ConformanceExchange> getScenarioRunTraffic(String scenarioRun) {
+    List<ConformanceExchange> exchanges =
+        _toExchanges(_getItemNodes(_getExchangeSortKeyPrefix(scenarioRun)));
+    if (!exchanges.isEmpty()) return exchanges;
+    return _toExchanges(
+        _getItemNodes(LEGACY_SORT_KEY_PREFIX)
+            .filter(itemNode -> scenarioRun.equals(itemNode.path("scenarioRun").asText())));
+  }
+
+  public synchronized List<ConformanceExchange> getActionTraffic(
+      String scenarioRun, String actionId) {
+    List<String> exchangeSortKeys =
+        _getItemNodes(_getActionSortKeyPrefix(scenarioRun, actionId))
+            .map(indexItemNode -> indexItemNode.path(EXCHANGE_SORT_KEY).asText())
+            .toList();
+    if (exchangeSortKeys.isEmpty()) return getScenarioRunTraffic(scenarioRun);
+    return _toExchanges(
+        nonLockingMap.getItemValues(partitionKey, exchangeSortKeys).values().stream());
+  }
+
+  public void recordExchange(
+      ConformanceExchange conformanceExchange, String scenarioRun, String actionId) {
+    String keySuffix =
+        "%s#%s"
+            .formatted(
+                SORT_KEY_TIMESTAMP_FORMATTER.format(
+                    Instant.EPOCH.plus(_nextTimestampMicros(), ChronoUnit.MICROS)),
+                conformanceExchange.getUuid());
+    String exchangeSortKey = _getExchangeSortKeyPrefix(scenarioRun) + keySuffix;
+    Map<String, JsonNode> valuesBySortKey = new LinkedHashMap<>();
+    valuesBySortKey.put(
+        exchangeSortKey,
         OBJECT_MAPPER
             .createObjectNode()
             .put("scenarioRun", scenarioRun)
+            .put("actionId", actionId)
             .set("exchange", conformanceExchange.toJson()));
+    valuesBySortKey.put(
+        _getActionSortKeyPrefix(scenarioRun, actionId) + keySuffix,
+        OBJECT_MAPPER.createObjectNode().put(EXCHANGE_SORT_KEY, exchangeSortKey));
+    nonLockingMap.setItemValues(partitionKey, valuesBySortKey);
+  }
+
+  private static long _nextTimestampMicros() {
+    long currentTimestampMicros = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    return LATEST_TIMESTAMP_MICROS.updateAndGet(
+        latestTimestampMicros -> Math.max(latestTimestampMicros + 1, currentTimestampMicros));
+  }
+
+  private Stream<JsonNode> _getItemNodes(String sortKeyPrefix) {
+    return nonLockingMap.getPartitionValuesBySortKey(partitionKey, sortKeyPrefix).values().stream();
+  }
+
+  private static List<ConformanceExchange> _toExchanges(Stream<JsonNode> itemNodes) {
+    return itemNodes
+        .map(itemNode -> ConformanceExchange.fromJson((ObjectNode) itemNode.get("exchange")))
+        .toList();
+  }
+
+  private static String _getRunSortKeyPrefix(String scenarioRun) {
+    return "%s%s#".formatted(RUN_SORT_KEY_PREFIX, scenarioRun);
+  }
+
+  private static String _getExchangeSortKeyPrefix(String scenarioRun) {
+    return "%sexchange#".formatted(_getRunSortKeyPrefix(scenarioRun));
+  }
+
+  private static String _getActionSortKeyPrefix(String scenarioRun, String actionId) {
+    return "%saction#%s#".formatted(_getRunSortKeyPrefix(scenarioRun), actionId);
   }
 }
@@ -0,0 +1,98 @@
+package org.dcsa.conformance.core.check;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CompiledJsonPathTest {
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private JsonNode body;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    body =
+        objectMapper.readTree(
+            """
+            {
+              "a": {"b": [{"c": "first"}, {"c": "second"}], "0": "zero", "n": null},
+              "events": [
+                {"eventType": "SHIPMENT", "eventClassifierCode": "ACT"},
+                {"eventType": "EQUIPMENT", "eventClassifierCode": "PLN"}
+              ],
+              "x~y": {"p/q": true}
+            }
+            """);
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {"", "/a", "/a/b", "/a/b/1/c", "/a/b/2/c", "/a/0", "/a/n", "/a/n/m", "/x~0y/p~1q"})
+  void navigateMatchesJsonNodeAt(String pointerExpression) {
+    JsonPointer jsonPointer = JsonPointer.compile(pointerExpression);
+    assertEquals(body.at(jsonPointer), CompiledJsonPath.of(jsonPointer).navigate(body));
+  }
+
+  @Test
+  void rendersPointersInDottedForm() {
+    CompiledJsonPath compiledPath = CompiledJsonPath.of(JsonPointer.compile("/a/b/1/c"));
+    assertEquals("a.b.1.c", compiledPath.render());
+    assertEquals("a.b.1.c", compiledPath.render(""));
+    assertEquals("root.a.b.1.c", compiledPath.render("root"));
+  }
+
+  @Test
+  void pathsAreCompiledOnce() {
+    assertSame(
+        CompiledJsonPath.of(JsonPointer.compile("/a/b")),
+        CompiledJsonPath.of(JsonPointer.compile("/a/b")));
+    assertSame(
+        CompiledJsonPath.ofWildcardPath("events/*"), CompiledJsonPath.ofWildcardPath("events/*"));
+  }
+
+  @Test
+  void wildcardPathMatchesArrayElementsAndObjectFields() {
+    List<JsonNode> eventTypes = new ArrayList<>();
+    CompiledJsonPath.ofWildcardPath("events/*/eventType").forEachMatch(body, eventTypes::add);
+    assertEquals(
+        List.of("SHIPMENT", "EQUIPMENT"), eventTypes.stream().map(JsonNode::asText).toList());
+
+    List<JsonNode> fieldValues = new ArrayList<>();
+    CompiledJsonPath.ofWildcardPath("events/*/*").forEachMatch(body, fieldValues::add);
+    assertEquals(4, fieldValues.size());
+
+    List<JsonNode> missingValues = new ArrayList<>();
+    CompiledJsonPath.ofWildcardPath("events/*/missing").forEachMatch(body, missingValues::add);
+    assertTrue(missingValues.isEmpty());
+  }
+
+  @Test
+  void wildcardOnValueNodeIsRejected() {
+    CompiledJsonPath compiledPath = CompiledJsonPath.ofWildcardPath("a/0/*");
+    assertThrows(IllegalArgumentException.class, () -> compiledPath.forEachMatch(body, node -> {}));
+    assertThrows(IllegalStateException.class, () -> compiledPath.navigate(body));
+  }
+
+  @Test
+  void pseudoPathSegmentsAreParsedOnce() {
+    CompiledJsonPath compiledPath = CompiledJsonPath.ofPseudoPath("a.b.*.c");
+    assertEquals(4, compiledPath.getSegments().size());
+    assertTrue(compiledPath.getSegments().get(2).isWildcard());
+    assertEquals("a.b.*.c", compiledPath.render());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"$.a", "*.a", "a*.b", "a.foo*.c"})
+  void invalidPseudoPathsAreRejected(String pseudoPath) {
+    assertThrows(IllegalArgumentException.class, () -> CompiledJsonPath.ofPseudoPath(pseudoPath));
+  }
+}
@@ -2,7 +2,14 @@ package org.dcsa.conformance.core.check;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.dcsa.conformance.core.traffic.ConformanceExchange;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -110,6 +117,64 @@ class ConformanceCheckTest {
     assertTrue(conformanceCheck.isRelevant()); // instance field is true by default
   }
 
+  @Test
+  void check_inForkJoinPool_shouldProduceSameResultsAsSequentialCheck() {
+    // Given
+    ConformanceCheck sequentialCheck = new NestedConformanceCheck("root", 3);
+    ConformanceCheck parallelCheck = new NestedConformanceCheck("root", 3);
+
+    // When
+    ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+    try {
+      VersionedKeywordDataset.withVersion(
+          "1.0.0",
+          () -> {
+            sequentialCheck.check(ignoredUuid -> null);
+            parallelCheck.check(ignoredUuid -> null, forkJoinPool);
+            return null;
+          });
+    } finally {
+      forkJoinPool.shutdown();
+    }
+
+    // Then
+    assertEquals(collectErrors(sequentialCheck), collectErrors(parallelCheck));
+    assertTrue(collectErrors(parallelCheck).stream().allMatch(error -> error.endsWith("@1.0.0")));
+  }
+
+  private static List<String> collectErrors(ConformanceCheck conformanceCheck) {
+    return Stream.concat(
+            conformanceCheck.resultsStream().flatMap(result -> result.getErrors().stream()),
+            conformanceCheck.subChecksStream().flatMap(subCheck -> collectErrors(subCheck).stream()))
+        .toList();
+  }
+
+  private static class NestedConformanceCheck extends ConformanceCheck {
+    private final int depth;
+
+    NestedConformanceCheck(String title, int depth) {
+      super(title);
+      this.depth = depth;
+    }
+
+    @Override
+    protected Stream<? extends ConformanceCheck> createSubChecks() {
+      if (depth == 0) return Stream.empty();
+      return IntStream.range(0, 4)
+          .mapToObj(index -> new NestedConformanceCheck(title + "." + index, depth - 1));
+    }
+
+    @Override
+    protected void doCheck(Function<UUID, ConformanceExchange> getExchangeByUuid) {
+      addResult(
+          ConformanceResult.withErrors(
+              Set.of(
+                  "%s@%s"
+                      .formatted(
+                          title, VersionedKeywordDataset.STANDARD_VERSION_BEING_CHECKED.get()))));
+    }
+  }
+
   private static class TestableConformanceCheck extends ConformanceCheck {
     public TestableConformanceCheck(String title) {
       super(title);
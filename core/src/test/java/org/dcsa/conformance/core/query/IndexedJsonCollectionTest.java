@@ -0,0 +1,138 @@
+package org.dcsa.conformance.core.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IndexedJsonCollectionTest {
+
+  private static final BiPredicate<JsonNode, String> EQUALS =
+      (node, value) -> !node.isMissingNode() && node.asText().equals(value);
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Map<String, List<QueryAttribute>> attributesByParamName =
+      Map.of(
+          "type", List.of(new QueryAttribute("type", EQUALS, Set.of("A", "B"))),
+          "code",
+          List.of(
+              new QueryAttribute("codes/*", EQUALS, Set.of()),
+              new QueryAttribute("details/code", EQUALS, Set.of())),
+          "size:gte",
+          List.of(
+              new QueryAttribute(
+                  "size",
+                  (node, value) -> node.isNumber() && node.asInt() >= Integer.parseInt(value),
+                  Set.of())));
+
+  private List<JsonNode> items;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    items = new ArrayList<>();
+    objectMapper
+        .readTree(
+            """
+            [
+              {"id": "i1", "type": "A", "size": 3, "codes": ["X", "Y"]},
+              {"id": "i2", "type": "B", "size": 1, "details": {"code": "X"}},
+              {"id": "i3", "type": "C", "size": 2, "codes": ["Z"]},
+              {"id": "i1", "type": "A", "size": 4, "details": {"code": "Y"}}
+            ]
+            """)
+        .forEach(items::add);
+  }
+
+  @Test
+  void filtersGroupMatchesByAttributeThenValue() {
+    IndexedJsonCollection collection =
+        new IndexedJsonCollection(items, attributesByParamName, null);
+    assertEquals(List.of(0, 3), ordinals(collection, "type", "A"));
+    assertEquals(List.of(), ordinals(collection, "type", "C"));
+    assertEquals(List.of(0, 2, 1), ordinals(collection, "code", "X", "Z"));
+    assertEquals(List.of(0, 0, 1, 3), ordinals(collection, "code", "X", "Y"));
+    assertEquals(List.of(0, 2, 3), ordinals(collection, "size:gte", "2"));
+    assertEquals(List.of(0, 1, 2, 3), ordinals(collection, "unknown", "value"));
+  }
+
+  @Test
+  void filtersReturnOneItemPerId() {
+    IndexedJsonCollection collection =
+        new IndexedJsonCollection(items, attributesByParamName, item -> item.path("id").asText());
+    assertEquals(List.of(0), ordinals(collection, "type", "A"));
+    assertEquals(List.of(0, 1), ordinals(collection, "code", "X", "Y"));
+    assertEquals("i1", collection.getItemId(3));
+  }
+
+  @Test
+  void executesQueryPlans() {
+    IndexedJsonCollection collection =
+        new IndexedJsonCollection(items, attributesByParamName, null);
+    Map<String, List<String>> queryParams = new LinkedHashMap<>();
+    queryParams.put("type", List.of("A,B"));
+    queryParams.put("sort", List.of("size:desc"));
+    queryParams.put("limit", List.of("2"));
+    QueryPlan queryPlan = QueryPlan.compile(queryParams);
+
+    assertArrayEquals(new int[] {0, 3, 1}, collection.filter(queryPlan));
+    int[] selectedItems = collection.execute(queryPlan);
+    assertArrayEquals(new int[] {3, 0, 1}, selectedItems);
+    ArrayNode page = collection.toArrayNode(selectedItems, 0, queryPlan.limit());
+    assertEquals(List.of("4", "3"), page.findValuesAsText("size"));
+  }
+
+  @Test
+  void sortsByFieldsAndKeepsTheOrderOfEqualItems() {
+    IndexedJsonCollection collection =
+        new IndexedJsonCollection(items, attributesByParamName, null);
+    assertArrayEquals(
+        new int[] {0, 3, 1, 2},
+        collection.sort(
+            collection.all(),
+            List.of(new QueryPlan.SortCriterion("type", QueryPlan.SortDirection.ASC))));
+    assertArrayEquals(
+        new int[] {3, 0, 1, 2},
+        collection.sort(
+            collection.all(),
+            List.of(
+                new QueryPlan.SortCriterion("type", QueryPlan.SortDirection.ASC),
+                new QueryPlan.SortCriterion("size", QueryPlan.SortDirection.DESC))));
+    assertArrayEquals(
+        new int[] {3, 1},
+        collection.sort(
+            new int[] {1, 3},
+            List.of(new QueryPlan.SortCriterion("details/code", QueryPlan.SortDirection.DESC))));
+  }
+
+  @Test
+  void cursorsResumeAfterTheCursorItem() {
+    IndexedJsonCollection collection =
+        new IndexedJsonCollection(items, attributesByParamName, item -> item.path("id").asText());
+    int[] selectedItems = {2, 1, 0};
+    assertEquals(0, collection.findCursorStartIndex(selectedItems, null, -1));
+    assertEquals(2, collection.findCursorStartIndex(selectedItems, "i2", 2));
+    assertEquals(2, collection.findCursorStartIndex(selectedItems, "i2", 1));
+    assertEquals(0, collection.findCursorStartIndex(selectedItems, "i9", 1));
+
+    JsonNode copiedItem = collection.toArrayNode(selectedItems, 2, 10).get(0);
+    assertEquals(items.get(0), copiedItem);
+    assertNotSame(items.get(0), copiedItem);
+  }
+
+  private List<Integer> ordinals(
+      IndexedJsonCollection collection, String paramName, String... paramValues) {
+    return Arrays.stream(collection.filter(collection.all(), paramName, List.of(paramValues)))
+        .boxed()
+        .toList();
+  }
+}
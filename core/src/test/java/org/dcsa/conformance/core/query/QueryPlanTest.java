@@ -0,0 +1,61 @@
+package org.dcsa.conformance.core.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class QueryPlanTest {
+
+  @Test
+  void compilesFiltersSortsAndPaging() {
+    Map<String, List<String>> queryParams = new LinkedHashMap<>();
+    queryParams.put("eventType", List.of("SHIPMENT, TRANSPORT", "EQUIPMENT"));
+    queryParams.put("sort", List.of("eventCreatedDateTime:desc", "eventID"));
+    queryParams.put("limit", List.of("10"));
+    queryParams.put("cursor", List.of("abc"));
+    queryParams.put("UNLocationCode", List.of("NLAMS,,"));
+
+    QueryPlan queryPlan = QueryPlan.compile(queryParams);
+
+    assertEquals(
+        List.of(
+            new QueryPlan.Filter("eventType", List.of("SHIPMENT", " TRANSPORT", "EQUIPMENT")),
+            new QueryPlan.Filter("UNLocationCode", List.of("NLAMS"))),
+        queryPlan.filters());
+    assertEquals(
+        List.of(
+            new QueryPlan.SortCriterion("eventCreatedDateTime", QueryPlan.SortDirection.DESC),
+            new QueryPlan.SortCriterion("eventID", QueryPlan.SortDirection.ASC)),
+        queryPlan.sortCriteria());
+    assertEquals(10, queryPlan.limitOrDefault(100));
+    assertEquals("abc", queryPlan.cursor());
+  }
+
+  @Test
+  void emptyQueryHasDefaults() {
+    QueryPlan queryPlan = QueryPlan.compile(Map.of());
+    assertTrue(queryPlan.filters().isEmpty());
+    assertTrue(queryPlan.sortCriteria().isEmpty());
+    assertNull(queryPlan.limit());
+    assertNull(queryPlan.cursor());
+    assertEquals(100, queryPlan.limitOrDefault(100));
+  }
+
+  @Test
+  void invalidLimitsAndSortDirectionsFailOnlyTheStepsUsingThem() {
+    QueryPlan queryPlan =
+        QueryPlan.compile(
+            Map.of(
+                "limit", List.of("ten"),
+                "sort", List.of("eventID:up", "eventType:desc"),
+                "eventType", List.of("SHIPMENT")));
+    assertEquals(
+        List.of(new QueryPlan.Filter("eventType", List.of("SHIPMENT"))), queryPlan.filters());
+    assertThrows(NumberFormatException.class, queryPlan::limit);
+    assertThrows(NumberFormatException.class, () -> queryPlan.limitOrDefault(100));
+    assertThrows(IllegalArgumentException.class, queryPlan::sortCriteria);
+  }
+}
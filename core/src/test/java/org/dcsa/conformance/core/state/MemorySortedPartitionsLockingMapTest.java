@@ -0,0 +1,46 @@
+package org.dcsa.conformance.core.state;
+
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MemorySortedPartitionsLockingMapTest {
+  private MemorySortedPartitionsLockingMap lockingMap;
+
+  @BeforeEach
+  void setUp() {
+    lockingMap = new MemorySortedPartitionsLockingMap();
+  }
+
+  @Test
+  void waitingLoaderIsWokenUpWhenTheItemIsSaved() throws Exception {
+    assertNull(lockingMap.loadItem("first", "testPK", "testSK"));
+    CompletableFuture<JsonNode> secondLoad =
+        CompletableFuture.supplyAsync(() -> lockingMap.loadItem("second", "testPK", "testSK"));
+    Thread.sleep(50);
+    assertFalse(secondLoad.isDone());
+
+    JsonNode savedValue = OBJECT_MAPPER.createObjectNode().put("saved", true);
+    lockingMap.saveItem("first", "testPK", "testSK", savedValue);
+
+    assertEquals(savedValue, secondLoad.get(5, TimeUnit.SECONDS));
+    lockingMap.unlockItem("second", "testPK", "testSK");
+  }
+
+  @Test
+  void lockedItemDoesNotBlockOtherPartitions() throws Exception {
+    lockingMap.loadItem("first", "testPK", "testSK");
+
+    CompletableFuture<JsonNode> otherPartitionLoad =
+        CompletableFuture.supplyAsync(() -> lockingMap.loadItem("second", "otherPK", "testSK"));
+
+    assertNull(otherPartitionLoad.get(5, TimeUnit.SECONDS));
+    lockingMap.unlockItem("first", "testPK", "testSK");
+    lockingMap.unlockItem("second", "otherPK", "testSK");
+  }
+}
@@ -0,0 +1,61 @@
+package org.dcsa.conformance.core.state;
+
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.List;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MemorySortedPartitionsNonLockingMapTest {
+  private MemorySortedPartitionsNonLockingMap nonLockingMap;
+
+  @BeforeEach
+  void setUp() {
+    nonLockingMap = new MemorySortedPartitionsNonLockingMap();
+    List.of("a", "ab#1", "ab#2", "abc", "b").forEach(sortKey -> set("pk1", sortKey));
+    set("pk2", "ab#3");
+    set("other", "ab#4");
+  }
+
+  private void set(String partitionKey, String sortKey) {
+    nonLockingMap.setItemValue(partitionKey, sortKey, OBJECT_MAPPER.valueToTree(sortKey));
+  }
+
+  @Test
+  void getPartitionValuesBySortKey_returnsOnlyKeysWithThePrefixInOrder() {
+    assertEquals(
+        List.of("ab#1", "ab#2"),
+        List.copyOf(nonLockingMap.getPartitionValuesBySortKey("pk1", "ab#").keySet()));
+    assertEquals(
+        List.of("ab#1", "ab#2", "abc"),
+        List.copyOf(nonLockingMap.getPartitionValuesBySortKey("pk1", "ab").keySet()));
+    assertEquals(5, nonLockingMap.getPartitionValuesBySortKey("pk1", "").size());
+    assertTrue(nonLockingMap.getPartitionValuesBySortKey("pk1", "c").isEmpty());
+    assertTrue(nonLockingMap.getPartitionValuesBySortKey("missing", "").isEmpty());
+  }
+
+  @Test
+  void scan_returnsOnlyMatchingPartitionsAndSortKeys() {
+    TreeMap<String, TreeMap<String, JsonNode>> result = nonLockingMap.scan("pk", "ab#");
+
+    assertEquals(List.of("pk1", "pk2"), List.copyOf(result.keySet()));
+    assertEquals(List.of("ab#1", "ab#2"), List.copyOf(result.get("pk1").keySet()));
+    assertEquals("ab#3", result.get("pk2").get("ab#3").asText());
+  }
+
+  @Test
+  void storedValuesCannotBeChangedThroughSetOrGetValues() {
+    ObjectNode writtenValue = OBJECT_MAPPER.createObjectNode().put("key", "original");
+    nonLockingMap.setItemValue("pk1", "mutable", writtenValue);
+    writtenValue.put("key", "changedAfterSet");
+    ((ObjectNode) nonLockingMap.getItemValue("pk1", "mutable")).put("key", "changedAfterGet");
+    ((ObjectNode) nonLockingMap.getPartitionValuesBySortKey("pk1", "mutable").get("mutable"))
+        .put("key", "changedAfterQuery");
+
+    assertEquals("original", nonLockingMap.getItemValue("pk1", "mutable").get("key").asText());
+  }
+}
@@ -0,0 +1,79 @@
+package org.dcsa.conformance.core.state;
+
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StatefulExecutorTest {
+  private MemorySortedPartitionsLockingMap lockingMap;
+  private StatefulExecutor statefulExecutor;
+
+  @BeforeEach
+  void setUp() {
+    lockingMap = new MemorySortedPartitionsLockingMap();
+    statefulExecutor = new StatefulExecutor(lockingMap);
+  }
+
+  @Test
+  void optimisticReadDoesNotWaitForLockedItem() {
+    statefulExecutor.execute("initial save", "testPK", "testSK", ignoredState -> counter(1));
+    lockingMap.loadItem("lockHolder", "testPK", "testSK");
+
+    AtomicReference<JsonNode> readState = new AtomicReference<>();
+    statefulExecutor.executeOptimistically(
+        "read",
+        "testPK",
+        "testSK",
+        state -> {
+          readState.set(state);
+          return null;
+        });
+
+    assertEquals(counter(1), readState.get());
+    lockingMap.unlockItem("lockHolder", "testPK", "testSK");
+  }
+
+  @Test
+  void optimisticExecutionRetriesWhenStateChangedConcurrently() {
+    statefulExecutor.execute("initial save", "testPK", "testSK", ignoredState -> counter(1));
+
+    List<JsonNode> seenStates = new ArrayList<>();
+    statefulExecutor.executeOptimistically(
+        "increment",
+        "testPK",
+        "testSK",
+        state -> {
+          seenStates.add(state);
+          if (seenStates.size() == 1) {
+            statefulExecutor.execute(
+                "concurrent increment", "testPK", "testSK", ignoredState -> counter(2));
+          }
+          return counter(state.get("counter").asInt() + 1);
+        });
+
+    assertEquals(List.of(counter(1), counter(2)), seenStates);
+    assertEquals(counter(3), lockingMap.readItem("testPK", "testSK").value());
+  }
+
+  @Test
+  void pessimisticSaveInvalidatesOptimisticRead() {
+    statefulExecutor.execute("initial save", "testPK", "testSK", ignoredState -> counter(1));
+    VersionedItemValue optimisticRead = lockingMap.readItem("testPK", "testSK");
+
+    statefulExecutor.execute("pessimistic save", "testPK", "testSK", ignoredState -> counter(2));
+
+    assertFalse(
+        lockingMap.compareAndSaveItem("testPK", "testSK", optimisticRead.version(), counter(3)));
+    assertEquals(counter(2), lockingMap.readItem("testPK", "testSK").value());
+  }
+
+  private static JsonNode counter(int value) {
+    return OBJECT_MAPPER.createObjectNode().put("counter", value);
+  }
+}
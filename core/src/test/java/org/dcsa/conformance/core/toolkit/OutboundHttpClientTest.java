@@ -0,0 +1,188 @@
+package org.dcsa.conformance.core.toolkit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OutboundHttpClientTest {
+  private final CountDownLatch hangingRequestRelease = new CountDownLatch(1);
+  private HttpServer httpServer;
+  private OutboundHttpClient outboundHttpClient;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    httpServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    httpServer.createContext("/fast", exchange -> respond(exchange, "fast"));
+    httpServer.createContext(
+        "/slow",
+        exchange -> {
+          sleepQuietly(300);
+          respond(exchange, "slow");
+        });
+    httpServer.createContext(
+        "/hanging",
+        exchange -> {
+          awaitQuietly(hangingRequestRelease);
+          respond(exchange, "hanging");
+        });
+    httpServer.start();
+    outboundHttpClient =
+        new OutboundHttpClient(HttpClient.newHttpClient(), Duration.ofSeconds(10));
+  }
+
+  @AfterEach
+  void tearDown() {
+    hangingRequestRelease.countDown();
+    httpServer.stop(0);
+  }
+
+  @Test
+  void sendsRequestsAndCountsThemByAuthority() throws Exception {
+    for (int i = 0; i < 3; ++i) {
+      HttpResponse<String> response =
+          outboundHttpClient.send(
+              "sandbox1", requestBuilder("/fast"), HttpResponse.BodyHandlers.ofString());
+      assertEquals(200, response.statusCode());
+      assertEquals("fast", response.body());
+    }
+
+    OutboundHttpClient.Metrics metrics = outboundHttpClient.getMetrics();
+    assertEquals(3, metrics.startedRequests());
+    assertEquals(3, metrics.completedRequests());
+    assertEquals(0, metrics.inFlightRequests());
+    assertEquals(1, metrics.requestsByAuthority().size());
+    assertEquals(3L, metrics.requestsByAuthority().values().iterator().next());
+  }
+
+  @Test
+  void slowCounterpartTimesOut() {
+    assertThrows(
+        HttpTimeoutException.class,
+        () ->
+            outboundHttpClient.send(
+                "sandbox1",
+                requestBuilder("/slow").timeout(Duration.ofMillis(50)),
+                HttpResponse.BodyHandlers.ofString()));
+    assertEquals(1, outboundHttpClient.getMetrics().timedOutRequests());
+  }
+
+  @Test
+  void defaultTimeoutAppliesToRequestsWithoutTimeout() {
+    outboundHttpClient.setDefaultTimeout(Duration.ofMillis(50));
+    assertThrows(
+        HttpTimeoutException.class,
+        () ->
+            outboundHttpClient.send(
+                "sandbox1", requestBuilder("/slow"), HttpResponse.BodyHandlers.ofString()));
+  }
+
+  @Test
+  void hangingRequestsAreCancelledByGroup() throws Exception {
+    CompletableFuture<HttpResponse<String>> hangingResponseFuture =
+        outboundHttpClient.sendAsync(
+            "sandbox1", requestBuilder("/hanging"), HttpResponse.BodyHandlers.ofString());
+    HttpResponse<String> otherSandboxResponse =
+        outboundHttpClient.send(
+            "sandbox2", requestBuilder("/fast"), HttpResponse.BodyHandlers.ofString());
+
+    assertEquals(0, outboundHttpClient.cancelAll("sandbox2"));
+    assertEquals(1, outboundHttpClient.cancelAll("sandbox1"));
+
+    assertEquals("fast", otherSandboxResponse.body());
+    assertThrows(
+        CancellationException.class, () -> hangingResponseFuture.get(5, TimeUnit.SECONDS));
+    OutboundHttpClient.Metrics metrics = outboundHttpClient.getMetrics();
+    assertEquals(1, metrics.cancelledRequests());
+    assertEquals(0, metrics.inFlightRequests());
+  }
+
+  @Test
+  void blockingSendIsAbortedWhenItsGroupIsCancelled() throws Exception {
+    CompletableFuture<Exception> sendFailureFuture = new CompletableFuture<>();
+    Thread.ofVirtual()
+        .start(
+            () -> {
+              try {
+                outboundHttpClient.send(
+                    "sandbox1", requestBuilder("/hanging"), HttpResponse.BodyHandlers.ofString());
+                sendFailureFuture.complete(null);
+              } catch (Exception e) {
+                sendFailureFuture.complete(e);
+              }
+            });
+
+    int cancelledCount = 0;
+    for (int attempt = 0; cancelledCount == 0 && attempt < 500; ++attempt) {
+      Thread.sleep(10);
+      cancelledCount = outboundHttpClient.cancelAll("sandbox1");
+    }
+
+    assertEquals(1, cancelledCount);
+    assertInstanceOf(IOException.class, sendFailureFuture.get(5, TimeUnit.SECONDS));
+    assertEquals(1, outboundHttpClient.getMetrics().cancelledRequests());
+  }
+
+  @Test
+  void failedRequestsAreCounted() {
+    httpServer.stop(0);
+    ExecutionException executionException =
+        assertThrows(
+            ExecutionException.class,
+            () ->
+                outboundHttpClient
+                    .sendAsync(
+                        null, requestBuilder("/fast"), HttpResponse.BodyHandlers.ofString())
+                    .get(5, TimeUnit.SECONDS));
+    assertInstanceOf(IOException.class, executionException.getCause());
+    assertEquals(1, outboundHttpClient.getMetrics().failedRequests());
+  }
+
+  private HttpRequest.Builder requestBuilder(String path) {
+    return HttpRequest.newBuilder()
+        .uri(URI.create("http://localhost:%d%s".formatted(httpServer.getAddress().getPort(), path)))
+        .GET();
+  }
+
+  private static void respond(HttpExchange exchange, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(200, bytes.length);
+    exchange.getResponseBody().write(bytes);
+    exchange.close();
+  }
+
+  private static void awaitQuietly(CountDownLatch countDownLatch) {
+    try {
+      countDownLatch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleepQuietly(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package org.dcsa.conformance.core.toolkit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TextTemplateTest {
+
+  @Test
+  void replacesAllOccurrencesOfAllKeys() {
+    TextTemplate textTemplate = TextTemplate.of("A_PLACEHOLDER and B_PLACEHOLDER, A_PLACEHOLDER.");
+    assertEquals(
+        "a and b, a.", textTemplate.render(Map.of("A_PLACEHOLDER", "a", "B_PLACEHOLDER", "b")));
+    assertEquals("x and B_PLACEHOLDER, x.", textTemplate.render(Map.of("A_PLACEHOLDER", "x")));
+  }
+
+  @Test
+  void longestOverlappingKeyWins() {
+    TextTemplate textTemplate =
+        TextTemplate.of("{\"from\": \"DEPARTURE_DATE\", \"on\": \"DATE\"}");
+    assertEquals(
+        "{\"from\": \"2024-01-02\", \"on\": \"2024-01-01\"}",
+        textTemplate.render(Map.of("DATE", "2024-01-01", "DEPARTURE_DATE", "2024-01-02")));
+  }
+
+  @Test
+  void replacementValuesAreNotRendered() {
+    TextTemplate textTemplate = TextTemplate.of("MESSAGE_PLACEHOLDER");
+    assertEquals(
+        "see REFERENCE_PLACEHOLDER",
+        textTemplate.render(
+            Map.of(
+                "MESSAGE_PLACEHOLDER", "see REFERENCE_PLACEHOLDER",
+                "REFERENCE_PLACEHOLDER", "ref")));
+  }
+
+  @Test
+  void templateWithoutReplacementsIsReturnedAsIs() {
+    TextTemplate textTemplate = TextTemplate.of("no placeholders");
+    assertEquals("no placeholders", textTemplate.render(null));
+    assertEquals("no placeholders", textTemplate.render(Map.of()));
+    assertEquals("no placeholders", textTemplate.render(Map.of("MISSING", "value")));
+  }
+
+  @Test
+  void classpathTemplatesAreLoadedOnce() {
+    assertSame(
+        TextTemplate.fromClasspath("/examples/booking-request.json"),
+        TextTemplate.fromClasspath("/examples/booking-request.json"));
+    assertThrows(
+        IllegalArgumentException.class, () -> TextTemplate.fromClasspath("/missing-template.json"));
+  }
+
+  @Test
+  void parsedJsonTemplatesAreReturnedAsCopies() {
+    JsonNode firstJsonNode =
+        JsonToolkit.templateFileToJsonNode("/examples/booking-request.json", Map.of());
+    ((ObjectNode) firstJsonNode).put("modified", true);
+    JsonNode secondJsonNode =
+        JsonToolkit.templateFileToJsonNode("/examples/booking-request.json", Map.of());
+    assertNotSame(firstJsonNode, secondJsonNode);
+    assertFalse(secondJsonNode.has("modified"));
+  }
+}
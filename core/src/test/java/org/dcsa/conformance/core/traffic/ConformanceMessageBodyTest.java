@@ -0,0 +1,51 @@
+package org.dcsa.conformance.core.traffic;
+
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class ConformanceMessageBodyTest {
+
+  @Test
+  void stringBody_isParsedOnlyOnce() {
+    ConformanceMessageBody body = new ConformanceMessageBody("{\"a\": 1}");
+
+    assertTrue(body.isCorrectJson());
+    assertEquals(1, body.getJsonBody().get("a").asInt());
+    assertSame(body.getJsonBody(), body.getJsonBody());
+    assertEquals("{\"a\": 1}", body.getStringBody());
+  }
+
+  @Test
+  void rawBody_isDecodedAndParsedOnDemand() {
+    ConformanceMessageBody body =
+        new ConformanceMessageBody("[\"ä\"]".getBytes(StandardCharsets.UTF_8));
+
+    assertEquals("ä", body.getJsonBody().get(0).asText());
+    assertEquals("[\"ä\"]", body.getStringBody());
+  }
+
+  @Test
+  void jsonBody_isSerializedOnDemand() {
+    JsonNode jsonNode = OBJECT_MAPPER.createObjectNode().put("a", 1);
+    ConformanceMessageBody body = new ConformanceMessageBody(jsonNode);
+
+    assertSame(jsonNode, body.getJsonBody());
+    assertEquals(jsonNode.toPrettyString(), body.getStringBody());
+    assertArrayEquals(
+        jsonNode.toPrettyString().getBytes(StandardCharsets.UTF_8), body.getRawBody());
+  }
+
+  @Test
+  void invalidJson_isKeptAsString() {
+    ConformanceMessageBody body = new ConformanceMessageBody("not json");
+
+    assertFalse(body.isCorrectJson());
+    assertTrue(body.getJsonBody().isEmpty());
+    assertEquals("not json", body.toJson().get("stringBody").asText());
+    assertEquals("not json", ConformanceMessageBody.fromJson(body.toJson()).getStringBody());
+  }
+}
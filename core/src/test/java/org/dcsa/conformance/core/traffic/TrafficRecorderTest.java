@@ -0,0 +1,114 @@
+package org.dcsa.conformance.core.traffic;
+
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.dcsa.conformance.core.state.MemorySortedPartitionsNonLockingMap;
+import org.dcsa.conformance.core.state.SortedPartitionsNonLockingMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TrafficRecorderTest {
+  private static final String PARTITION_KEY = "session#test";
+
+  private SortedPartitionsNonLockingMap nonLockingMap;
+  private TrafficRecorder trafficRecorder;
+
+  @BeforeEach
+  void setUp() {
+    nonLockingMap = new MemorySortedPartitionsNonLockingMap();
+    trafficRecorder = new TrafficRecorder(nonLockingMap, PARTITION_KEY);
+  }
+
+  @Test
+  void fetchesTrafficByScenarioRunAndAction() {
+    String firstActionId = UUID.randomUUID().toString();
+    String secondActionId = UUID.randomUUID().toString();
+    String otherRunActionId = UUID.randomUUID().toString();
+    ConformanceExchange firstExchange = createExchange();
+    ConformanceExchange secondExchange = createExchange();
+    ConformanceExchange thirdExchange = createExchange();
+    ConformanceExchange otherRunExchange = createExchange();
+    trafficRecorder.recordExchange(firstExchange, "run1", firstActionId);
+    trafficRecorder.recordExchange(secondExchange, "run1", secondActionId);
+    trafficRecorder.recordExchange(thirdExchange, "run1", firstActionId);
+    trafficRecorder.recordExchange(otherRunExchange, "run2", otherRunActionId);
+
+    assertEquals(
+        List.of(firstExchange.getUuid(), secondExchange.getUuid(), thirdExchange.getUuid()),
+        uuids(trafficRecorder.getScenarioRunTraffic("run1")));
+    assertEquals(
+        List.of(firstExchange.getUuid(), thirdExchange.getUuid()),
+        uuids(trafficRecorder.getActionTraffic("run1", firstActionId)));
+    assertEquals(
+        List.of(secondExchange.getUuid()),
+        uuids(trafficRecorder.getActionTraffic("run1", secondActionId)));
+    assertEquals(
+        List.of(otherRunExchange.getUuid()),
+        uuids(trafficRecorder.getActionTraffic("run2", otherRunActionId)));
+
+    Map<String, List<ConformanceExchange>> trafficByScenarioRun =
+        trafficRecorder.getTrafficByScenarioRun();
+    assertEquals(
+        List.of(firstExchange.getUuid(), secondExchange.getUuid(), thirdExchange.getUuid()),
+        uuids(trafficByScenarioRun.get("run1")));
+    assertEquals(1, trafficByScenarioRun.get("run2").size());
+  }
+
+  @Test
+  void keepsRapidlyRecordedExchangesDistinctAndInOrder() {
+    List<ConformanceExchange> recordedExchanges =
+        IntStream.range(0, 500).mapToObj(ignoredIndex -> createExchange()).toList();
+    recordedExchanges.forEach(
+        exchange -> trafficRecorder.recordExchange(exchange, "run1", "action1"));
+
+    assertEquals(
+        uuids(recordedExchanges), uuids(trafficRecorder.getActionTraffic("run1", "action1")));
+  }
+
+  @Test
+  void readsLegacyTrafficItems() {
+    ConformanceExchange legacyExchange = createExchange();
+    nonLockingMap.setItemValue(
+        PARTITION_KEY,
+        "2024-01-01T00:00:00Z",
+        OBJECT_MAPPER
+            .createObjectNode()
+            .put("scenarioRun", "legacyRun")
+            .set("exchange", legacyExchange.toJson()));
+
+    assertEquals(
+        List.of(legacyExchange.getUuid()),
+        uuids(trafficRecorder.getScenarioRunTraffic("legacyRun")));
+    assertEquals(
+        List.of(legacyExchange.getUuid()),
+        uuids(trafficRecorder.getActionTraffic("legacyRun", "anyAction")));
+    assertEquals(1, trafficRecorder.getTrafficByScenarioRun().get("legacyRun").size());
+  }
+
+  private static List<UUID> uuids(List<ConformanceExchange> exchanges) {
+    return exchanges.stream().map(ConformanceExchange::getUuid).toList();
+  }
+
+  private static ConformanceExchange createExchange() {
+    ConformanceRequest request =
+        new ConformanceRequest(
+            "GET",
+            "http://localhost/test",
+            Map.of(),
+            new ConformanceMessage(
+                "sourceParty",
+                "sourceRole",
+                "targetParty",
+                "targetRole",
+                Map.of(),
+                new ConformanceMessageBody("{}"),
+                System.currentTimeMillis()));
+    return new ConformanceExchange(
+        request, request.createResponse(200, Map.of(), new ConformanceMessageBody("{}")));
+  }
+}
@@ -11,6 +11,10 @@ import org.dcsa.conformance.sandbox.ConformanceSandbox;
 @Slf4j
 public class AdminLambda implements RequestStreamHandler {
 
+  static {
+    LambdaToolkit.primeIfEnabled();
+  }
+
   public void handleRequest(InputStream inputStream, OutputStream outputStream, Context context) {
     JsonNode jsonInput = JsonToolkit.inputStreamToJsonNode(inputStream);
     log.info("jsonInput = {}", jsonInput.toPrettyString());
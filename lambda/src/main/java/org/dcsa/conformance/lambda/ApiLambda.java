@@ -21,6 +21,10 @@ import org.dcsa.conformance.sandbox.state.ConformancePersistenceProvider;
 public class ApiLambda
     implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
+  static {
+    LambdaToolkit.primeIfEnabled();
+  }
+
   public APIGatewayProxyResponseEvent handleRequest(
       final APIGatewayProxyRequestEvent event, final Context context) {
     try {
@@ -31,7 +35,23 @@ public class ApiLambda
       ConformancePersistenceProvider persistenceProvider =
           LambdaToolkit.createPersistenceProvider();
 
-      ConformanceWebResponse conformanceWebResponse =
+      DeferredSandboxTaskBatcher deferredSandboxTaskBatcher =
+          LambdaToolkit.createDeferredSandboxTaskConsumer(persistenceProvider);
+      return handleRequest(persistenceProvider, deferredSandboxTaskBatcher, event);
+    } catch (RuntimeException | Error e) {
+      log.error("Unhandled exception: {}", e, e);
+      throw e;
+    }
+  }
+
+  /** Handles the event, dispatching the deferred tasks that it creates before returning. */
+  static APIGatewayProxyResponseEvent handleRequest(
+      ConformancePersistenceProvider persistenceProvider,
+      DeferredSandboxTaskBatcher deferredSandboxTaskBatcher,
+      APIGatewayProxyRequestEvent event) {
+    ConformanceWebResponse conformanceWebResponse;
+    try {
+      conformanceWebResponse =
           ConformanceSandbox.handleRequest(
               persistenceProvider,
               new ConformanceWebRequest(
@@ -42,18 +62,17 @@ public class ApiLambda
                       event.getMultiValueQueryStringParameters(), Collections.emptyMap()),
                   event.getMultiValueHeaders(),
                   event.getBody()),
-              LambdaToolkit.createDeferredSandboxTaskConsumer(persistenceProvider));
-
-      Map<String, List<String>> responseHeaders = conformanceWebResponse.getValueListHeaders();
-      responseHeaders.put("Content-Type", List.of(conformanceWebResponse.contentType()));
-      return new APIGatewayProxyResponseEvent()
-          .withMultiValueHeaders(responseHeaders)
-          .withStatusCode(conformanceWebResponse.statusCode())
-          .withBody(conformanceWebResponse.body());
-    } catch (RuntimeException | Error e) {
-      log.error("Unhandled exception: {}", e, e);
-      throw e;
+              deferredSandboxTaskBatcher);
+    } finally {
+      deferredSandboxTaskBatcher.flush();
     }
+
+    Map<String, List<String>> responseHeaders = conformanceWebResponse.getValueListHeaders();
+    responseHeaders.put("Content-Type", List.of(conformanceWebResponse.contentType()));
+    return new APIGatewayProxyResponseEvent()
+        .withMultiValueHeaders(responseHeaders)
+        .withStatusCode(conformanceWebResponse.statusCode())
+        .withBody(conformanceWebResponse.body());
   }
 
   public static void main(String[] args) {} // unused
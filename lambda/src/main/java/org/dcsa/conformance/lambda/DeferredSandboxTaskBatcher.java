@@ -0,0 +1,169 @@
+package org.dcsa.conformance.lambda;
+
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.dcsa.conformance.core.state.SortedPartitionsNonLockingMap;
+import org.dcsa.conformance.sandbox.ConformanceSandbox;
+import org.dcsa.conformance.sandbox.state.ConformancePersistenceProvider;
+
+/**
+ * Collects the deferred sandbox tasks created while handling one lambda invocation and, once the
+ * invocation is handled, dispatches them in batches per sandbox (tasks in creation order), so that
+ * a burst of tasks becomes a few SandboxTaskLambda invocations per sandbox instead of one
+ * invocation per task.
+ *
+ * <p>Batches are split when their payload would exceed what an asynchronous invocation accepts or
+ * when they would have too many tasks. Outbound conformance requests, which wait for the response
+ * of the counterpart, are always dispatched alone, so that a slow counterpart cannot make a batch
+ * exceed the lambda timeout.
+ *
+ * <p>A batch of several tasks records how many of its tasks completed, so that when the invocation
+ * is retried after a failure, the tasks that already sent their request are skipped.
+ */
+@Slf4j
+public class DeferredSandboxTaskBatcher implements Consumer<JsonNode> {
+  private static final String DEFERRED_TASKS = "deferredTasks";
+  private static final String BATCH_ID = "batchId";
+  private static final String BLOCKING_TASK_HANDLER = "_syncHandleOutboundRequest";
+  private static final int MAX_BATCH_PAYLOAD_LENGTH = 200 * 1024;
+  private static final int MAX_BATCH_TASK_COUNT = 10;
+
+  private final Consumer<JsonNode> batchDispatcher;
+  private final LinkedHashMap<String, List<JsonNode>> deferredTasksBySandboxId =
+      new LinkedHashMap<>();
+
+  /**
+   * @param batchDispatcher sends each batch to the SandboxTaskLambda (or, for local testing,
+   *     passes it to {@link #executeBatch} in-process)
+   */
+  public DeferredSandboxTaskBatcher(Consumer<JsonNode> batchDispatcher) {
+    this.batchDispatcher = batchDispatcher;
+  }
+
+  /**
+   * Creates a batcher that executes its batches in the current process, for example to run the
+   * deferred tasks of a local test against DynamoDB Local without deploying any lambda.
+   */
+  public static DeferredSandboxTaskBatcher createInProcess(
+      ConformancePersistenceProvider persistenceProvider) {
+    return new DeferredSandboxTaskBatcher(
+        batch -> {
+          DeferredSandboxTaskBatcher nextBatcher = createInProcess(persistenceProvider);
+          executeBatch(persistenceProvider, nextBatcher, batch);
+          nextBatcher.flush();
+        });
+  }
+
+  @Override
+  public synchronized void accept(JsonNode deferredTask) {
+    log.debug("Batching deferred task: {}", deferredTask);
+    deferredTasksBySandboxId
+        .computeIfAbsent(deferredTask.path("sandboxId").asText(), ignored -> new ArrayList<>())
+        .add(deferredTask);
+  }
+
+  /** Dispatches all the deferred tasks collected so far. */
+  public void flush() {
+    LinkedHashMap<String, List<JsonNode>> flushedTasksBySandboxId;
+    synchronized (this) {
+      flushedTasksBySandboxId = new LinkedHashMap<>(deferredTasksBySandboxId);
+      deferredTasksBySandboxId.clear();
+    }
+    flushedTasksBySandboxId.forEach(
+        (sandboxId, deferredTasks) -> {
+          ArrayNode batchTasks = OBJECT_MAPPER.createArrayNode();
+          int batchPayloadLength = 0;
+          for (JsonNode deferredTask : deferredTasks) {
+            int taskPayloadLength = deferredTask.toString().length();
+            boolean isBlockingTask = _isBlockingTask(deferredTask);
+            if (!batchTasks.isEmpty()
+                && (isBlockingTask
+                    || batchTasks.size() >= MAX_BATCH_TASK_COUNT
+                    || batchPayloadLength + taskPayloadLength > MAX_BATCH_PAYLOAD_LENGTH)) {
+              _dispatch(sandboxId, batchTasks);
+              batchTasks = OBJECT_MAPPER.createArrayNode();
+              batchPayloadLength = 0;
+            }
+            batchTasks.add(deferredTask);
+            batchPayloadLength += taskPayloadLength;
+            if (isBlockingTask) {
+              _dispatch(sandboxId, batchTasks);
+              batchTasks = OBJECT_MAPPER.createArrayNode();
+              batchPayloadLength = 0;
+            }
+          }
+          if (!batchTasks.isEmpty()) {
+            _dispatch(sandboxId, batchTasks);
+          }
+        });
+  }
+
+  private static boolean _isBlockingTask(JsonNode deferredTask) {
+    return BLOCKING_TASK_HANDLER.equals(deferredTask.path("handler").asText());
+  }
+
+  private void _dispatch(String sandboxId, ArrayNode batchTasks) {
+    log.info("Dispatching {} deferred tasks of sandbox '{}'", batchTasks.size(), sandboxId);
+    if (batchTasks.size() == 1) {
+      // a single task is sent as it is, and re-executed as it is if the invocation is retried
+      batchDispatcher.accept(batchTasks.get(0));
+      return;
+    }
+    ObjectNode batch =
+        OBJECT_MAPPER
+            .createObjectNode()
+            .put("sandboxId", sandboxId)
+            .put(BATCH_ID, UUID.randomUUID().toString());
+    batch.set(DEFERRED_TASKS, batchTasks);
+    batchDispatcher.accept(batch);
+  }
+
+  /**
+   * Executes in order the tasks of a batch (or a single task sent without batching), deferring the
+   * tasks that they create to the specified batcher. The tasks of a batch that already completed in
+   * a previous execution of the same batch are skipped.
+   */
+  public static void executeBatch(
+      ConformancePersistenceProvider persistenceProvider,
+      DeferredSandboxTaskBatcher deferredSandboxTaskBatcher,
+      JsonNode batchOrTask) {
+    if (!batchOrTask.has(DEFERRED_TASKS)) {
+      ConformanceSandbox.executeDeferredTask(
+          persistenceProvider, deferredSandboxTaskBatcher, batchOrTask);
+      return;
+    }
+    JsonNode batchTasks = batchOrTask.get(DEFERRED_TASKS);
+    String progressPartitionKey = "deferredTaskBatch#" + batchOrTask.path(BATCH_ID).asText();
+    SortedPartitionsNonLockingMap nonLockingMap = persistenceProvider.getNonLockingMap();
+    JsonNode progress = nonLockingMap.getItemValue(progressPartitionKey, "progress");
+    int completedTaskCount = progress == null ? 0 : progress.path("completedTaskCount").asInt();
+    if (completedTaskCount > 0) {
+      log.info(
+          "Skipping {} deferred tasks completed by a previous execution of batch '{}'",
+          completedTaskCount,
+          progressPartitionKey);
+    }
+    for (int taskIndex = completedTaskCount; taskIndex < batchTasks.size(); ++taskIndex) {
+      ConformanceSandbox.executeDeferredTask(
+          persistenceProvider, deferredSandboxTaskBatcher, batchTasks.get(taskIndex));
+      if (taskIndex + 1 < batchTasks.size()) {
+        nonLockingMap.setItemValue(
+            progressPartitionKey,
+            "progress",
+            OBJECT_MAPPER.createObjectNode().put("completedTaskCount", taskIndex + 1));
+      }
+    }
+    if (batchTasks.size() > 1) {
+      nonLockingMap.removeItem(progressPartitionKey, "progress");
+    }
+  }
+}
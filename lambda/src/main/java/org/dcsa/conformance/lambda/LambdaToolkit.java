@@ -1,9 +1,16 @@
 package org.dcsa.conformance.lambda;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import java.util.function.Consumer;
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.dcsa.conformance.core.AbstractComponentFactory;
+import org.dcsa.conformance.sandbox.ConformanceSandbox;
+import org.dcsa.conformance.sandbox.configuration.SandboxConfiguration;
 import org.dcsa.conformance.sandbox.state.ConformancePersistenceProvider;
 import org.dcsa.conformance.sandbox.state.DynamoDbSortedPartitionsLockingMap;
 import org.dcsa.conformance.sandbox.state.DynamoDbSortedPartitionsNonLockingMap;
@@ -17,21 +24,56 @@ import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
 import software.amazon.awssdk.services.lambda.model.InvocationType;
 import software.amazon.awssdk.services.lambda.model.InvokeRequest;
 
+/**
+ * Runtime support shared by the lambda handlers.
+ *
+ * <p>The AWS clients and the persistence provider are created once per execution environment and
+ * reused by all the invocations it handles, and the configuration items are cached for a short
+ * time. When the PRIME_ON_INIT environment variable is "true", the handlers also call {@link
+ * #prime()} while their class is initialized, which with SnapStart happens before the snapshot.
+ */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class LambdaToolkit {
   private static final Logger logger = LoggerFactory.getLogger(LambdaToolkit.class);
 
+  private static final Duration CONFIG_VALUE_TTL = Duration.ofMinutes(1);
+
+  private record CachedConfigValue(String value, long expirationMillis) {}
+
+  private static final ConcurrentHashMap<String, CachedConfigValue> CONFIG_VALUES_BY_KEY =
+      new ConcurrentHashMap<>();
+
+  // created on first use, since the environment is only checked when a handler needs it, and
+  // outside of a static initializer, so that a missing TABLE_NAME fails each call with a clear
+  // IllegalStateException instead of leaving the class unusable
+  private static volatile ConformancePersistenceProvider persistenceProvider;
+
+  private static final class LambdaAsyncClientHolder {
+    private static final LambdaAsyncClient INSTANCE = LambdaAsyncClient.create();
+  }
+
   public static ConformancePersistenceProvider createPersistenceProvider() {
-    DynamoDbClient dynamoDbClient =
-        DynamoDbClient.builder()
-            .region(Region.EU_NORTH_1)
-            .credentialsProvider(EnvironmentVariableCredentialsProvider.create())
-            .build();
+    ConformancePersistenceProvider existingPersistenceProvider = persistenceProvider;
+    if (existingPersistenceProvider != null) return existingPersistenceProvider;
+    synchronized (LambdaToolkit.class) {
+      if (persistenceProvider == null) {
+        persistenceProvider = _createPersistenceProvider();
+      }
+      return persistenceProvider;
+    }
+  }
+
+  private static ConformancePersistenceProvider _createPersistenceProvider() {
     String tableName = System.getenv("TABLE_NAME");
     if (tableName == null || tableName.isEmpty()) {
       logger.error("Environment variable TABLE_NAME is not set");
       throw new IllegalStateException("Environment variable TABLE_NAME is not set");
     }
+    DynamoDbClient dynamoDbClient =
+        DynamoDbClient.builder()
+            .region(Region.EU_NORTH_1)
+            .credentialsProvider(EnvironmentVariableCredentialsProvider.create())
+            .build();
     return new ConformancePersistenceProvider(
         new DynamoDbSortedPartitionsNonLockingMap(dynamoDbClient, tableName),
         new DynamoDbSortedPartitionsLockingMap(dynamoDbClient, tableName));
@@ -39,23 +81,99 @@ public class LambdaToolkit {
 
   public static String getDbConfigValue(
       ConformancePersistenceProvider persistenceProvider, String key) {
-    return persistenceProvider.getNonLockingMap().getItemValue("configuration", key).asText();
+    long currentMillis = System.currentTimeMillis();
+    CachedConfigValue cachedConfigValue = CONFIG_VALUES_BY_KEY.get(key);
+    if (cachedConfigValue != null && cachedConfigValue.expirationMillis() > currentMillis) {
+      return cachedConfigValue.value();
+    }
+    String value =
+        persistenceProvider.getNonLockingMap().getItemValue("configuration", key).asText();
+    CONFIG_VALUES_BY_KEY.put(
+        key, new CachedConfigValue(value, currentMillis + CONFIG_VALUE_TTL.toMillis()));
+    return value;
   }
 
-  public static Consumer<JsonNode> createDeferredSandboxTaskConsumer(
+  /**
+   * Creates the consumer of the deferred tasks of one invocation, which the handler must flush
+   * before returning.
+   */
+  public static DeferredSandboxTaskBatcher createDeferredSandboxTaskConsumer(
       ConformancePersistenceProvider persistenceProvider) {
-    return jsonNode -> {
-      try (LambdaAsyncClient client = LambdaAsyncClient.create()) {
-        InvokeRequest invokeRequest =
-            InvokeRequest.builder()
-                .invocationType(InvocationType.EVENT)
-                .functionName(getDbConfigValue(persistenceProvider, "sandboxTaskLambdaArn"))
-                .payload(SdkBytes.fromUtf8String(jsonNode.toPrettyString()))
-                .build();
-        client.invoke(invokeRequest).join();
-      } catch (Exception e) {
-        logger.error("Failed to invoke Lambda function", e);
+    return new DeferredSandboxTaskBatcher(
+        jsonNode -> {
+          try {
+            InvokeRequest invokeRequest =
+                InvokeRequest.builder()
+                    .invocationType(InvocationType.EVENT)
+                    .functionName(getDbConfigValue(persistenceProvider, "sandboxTaskLambdaArn"))
+                    .payload(SdkBytes.fromUtf8String(jsonNode.toString()))
+                    .build();
+            // send before the handler returns and the execution environment is frozen
+            LambdaAsyncClientHolder.INSTANCE.invoke(invokeRequest).join();
+          } catch (Exception e) {
+            logger.error("Failed to invoke Lambda function", e);
+          }
+        });
+  }
+
+  static void primeIfEnabled() {
+    if ("true".equalsIgnoreCase(System.getenv("PRIME_ON_INIT"))) {
+      try {
+        prime();
+      } catch (RuntimeException | LinkageError e) {
+        // priming runs in the static initializers of the handlers, which must not fail
+        logger.warn("Failed to prime", e);
       }
-    };
+    }
+  }
+
+  /**
+   * Warms up what the first invocations would otherwise initialize: Jackson, the AWS clients, and
+   * the component factories of all the supported standards, together with the schema validators
+   * of their scenarios. Failures are logged and otherwise ignored.
+   */
+  public static void prime() {
+    long startMillis = System.currentTimeMillis();
+    try {
+      OBJECT_MAPPER.readTree(
+          OBJECT_MAPPER.writeValueAsString(OBJECT_MAPPER.createObjectNode().put("prime", true)));
+      createPersistenceProvider();
+      LambdaAsyncClientHolder.INSTANCE.serviceName();
+    } catch (Exception e) {
+      logger.warn("Failed to prime the lambda clients", e);
+    }
+    Arrays.stream(ConformanceSandbox.SUPPORTED_STANDARDS)
+        .forEach(
+            standard ->
+                standard
+                    .getScenarioSuitesByStandardVersion()
+                    .forEach(
+                        (standardVersion, scenarioSuites) ->
+                            scenarioSuites.forEach(
+                                scenarioSuite -> {
+                                  try {
+                                    _primeComponentFactory(
+                                        standard.createComponentFactory(
+                                            standardVersion, scenarioSuite));
+                                  } catch (Exception e) {
+                                    logger.warn(
+                                        "Failed to prime %s %s %s"
+                                            .formatted(
+                                                standard.getName(), standardVersion, scenarioSuite),
+                                        e);
+                                  }
+                                })));
+    logger.info("Primed in {} milliseconds", System.currentTimeMillis() - startMillis);
+  }
+
+  private static void _primeComponentFactory(AbstractComponentFactory componentFactory) {
+    SandboxConfiguration sandboxConfiguration =
+        SandboxConfiguration.fromJsonNode(
+            componentFactory.getJsonSandboxConfigurationTemplate(null, false, false));
+    componentFactory.generateConformanceScenarios(
+        new LinkedHashMap<>(),
+        sandboxConfiguration.getParties(),
+        sandboxConfiguration.getCounterparts(),
+        false);
   }
 }
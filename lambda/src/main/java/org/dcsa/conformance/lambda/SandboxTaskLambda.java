@@ -10,31 +10,32 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import lombok.extern.slf4j.Slf4j;
 import org.dcsa.conformance.core.toolkit.JsonToolkit;
-import org.dcsa.conformance.sandbox.ConformanceSandbox;
 import org.dcsa.conformance.sandbox.state.ConformancePersistenceProvider;
 
 
 @Slf4j
 public class SandboxTaskLambda implements RequestStreamHandler {
 
+  static {
+    LambdaToolkit.primeIfEnabled();
+  }
+
   public void handleRequest(InputStream inputStream, OutputStream outputStream, Context context) {
     try {
       JsonNode jsonInput = JsonToolkit.inputStreamToJsonNode(inputStream);
       log.info("jsonInput = {}", jsonInput.toPrettyString());
 
-      try {
-        Thread.sleep(100); // for consistency with the local app
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-      }
-
       ConformancePersistenceProvider persistenceProvider =
           LambdaToolkit.createPersistenceProvider();
 
-      ConformanceSandbox.executeDeferredTask(
-          persistenceProvider,
-          LambdaToolkit.createDeferredSandboxTaskConsumer(persistenceProvider),
-          jsonInput);
+      DeferredSandboxTaskBatcher deferredSandboxTaskBatcher =
+          LambdaToolkit.createDeferredSandboxTaskConsumer(persistenceProvider);
+      try {
+        DeferredSandboxTaskBatcher.executeBatch(
+            persistenceProvider, deferredSandboxTaskBatcher, jsonInput);
+      } finally {
+        deferredSandboxTaskBatcher.flush();
+      }
 
       ObjectNode jsonOutput = OBJECT_MAPPER.createObjectNode();
       log.info("jsonOutput {}", jsonOutput.toPrettyString());
@@ -18,6 +18,10 @@ import org.dcsa.conformance.sandbox.state.ConformancePersistenceProvider;
 public class WebuiLambda
     implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
+  static {
+    LambdaToolkit.primeIfEnabled();
+  }
+
   public APIGatewayProxyResponseEvent handleRequest(
       final APIGatewayProxyRequestEvent event, final Context context) {
     try {
@@ -40,12 +44,14 @@ public class WebuiLambda
       ConformancePersistenceProvider persistenceProvider =
           LambdaToolkit.createPersistenceProvider();
 
+      DeferredSandboxTaskBatcher deferredSandboxTaskBatcher =
+          LambdaToolkit.createDeferredSandboxTaskConsumer(persistenceProvider);
       ConformanceWebuiHandler webuiHandler =
           new ConformanceWebuiHandler(
               new WebuiAccessChecker(persistenceProvider),
               LambdaToolkit.getDbConfigValue(persistenceProvider, "environmentBaseUrl"),
               persistenceProvider,
-              LambdaToolkit.createDeferredSandboxTaskConsumer(persistenceProvider));
+              deferredSandboxTaskBatcher);
 
       String responseBody;
       try {
@@ -59,6 +65,8 @@ public class WebuiLambda
             .withMultiValueHeaders(Map.of("Content-Type", List.of(JsonToolkit.JSON_UTF_8)))
             .withStatusCode(403)
             .withBody("Access denied");
+      } finally {
+        deferredSandboxTaskBatcher.flush();
       }
 
       return new APIGatewayProxyResponseEvent()
@@ -0,0 +1,169 @@
+package org.dcsa.conformance.lambda;
+
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.dcsa.conformance.core.AbstractStandard;
+import org.dcsa.conformance.core.state.MemorySortedPartitionsLockingMap;
+import org.dcsa.conformance.core.state.MemorySortedPartitionsNonLockingMap;
+import org.dcsa.conformance.sandbox.ConformanceSandbox;
+import org.dcsa.conformance.sandbox.ConformanceWebRequest;
+import org.dcsa.conformance.sandbox.configuration.SandboxConfiguration;
+import org.dcsa.conformance.sandbox.state.ConformancePersistenceProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DeferredSandboxTaskBatcherTest {
+  private final List<String> receivedPaths = Collections.synchronizedList(new ArrayList<>());
+  private HttpServer httpServer;
+  private String baseUrl;
+  private ConformancePersistenceProvider persistenceProvider;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    httpServer.createContext(
+        "/",
+        exchange -> {
+          receivedPaths.add(exchange.getRequestURI().getPath());
+          exchange.sendResponseHeaders(200, -1);
+          exchange.close();
+        });
+    httpServer.start();
+    baseUrl = "http://localhost:%d".formatted(httpServer.getAddress().getPort());
+    persistenceProvider = createPersistenceProvider();
+  }
+
+  /** The persistence of the batches and sandboxes, in memory unless overridden. */
+  ConformancePersistenceProvider createPersistenceProvider() {
+    return new ConformancePersistenceProvider(
+        new MemorySortedPartitionsNonLockingMap(), new MemorySortedPartitionsLockingMap());
+  }
+
+  @AfterEach
+  void tearDown() {
+    httpServer.stop(0);
+  }
+
+  @Test
+  void apiRequestExecutesItsDeferredTasksInProcess() {
+    AbstractStandard standard = ConformanceSandbox.SUPPORTED_STANDARDS[0];
+    String standardVersion = standard.getScenarioSuitesByStandardVersion().lastKey();
+    String scenarioSuite =
+        standard.getScenarioSuitesByStandardVersion().get(standardVersion).first();
+    ObjectNode configurationNode =
+        (ObjectNode)
+            standard
+                .createComponentFactory(standardVersion, scenarioSuite)
+                .getJsonSandboxConfigurationTemplate(null, false, false);
+    configurationNode
+        .get("counterparts")
+        .forEach(
+            counterpart ->
+                ((ObjectNode) counterpart)
+                    .put(
+                        "url",
+                        "%s/party/%s/api".formatted(baseUrl, counterpart.get("name").asText())));
+    SandboxConfiguration sandboxConfiguration =
+        SandboxConfiguration.fromJsonNode(configurationNode);
+    persistenceProvider
+        .getNonLockingMap()
+        .setItemValue(
+            "configuration", "environmentBaseUrl", TextNode.valueOf("http://localhost:8080"));
+    ConformanceSandbox.create(
+        persistenceProvider,
+        DeferredSandboxTaskBatcher.createInProcess(persistenceProvider),
+        "environment1",
+        sandboxConfiguration);
+
+    APIGatewayProxyResponseEvent response =
+        ApiLambda.handleRequest(
+            persistenceProvider,
+            DeferredSandboxTaskBatcher.createInProcess(persistenceProvider),
+            new APIGatewayProxyRequestEvent()
+                .withHttpMethod("GET")
+                .withPath("/conformance/sandbox/%s/reset".formatted(sandboxConfiguration.getId()))
+                .withMultiValueHeaders(
+                    Map.of(
+                        sandboxConfiguration.getAuthHeaderName(),
+                        List.of(sandboxConfiguration.getAuthHeaderValue()))));
+
+    assertEquals(200, response.getStatusCode());
+    assertEquals(1, receivedPaths.size());
+    assertTrue(receivedPaths.getFirst().endsWith("/api/conformance/notification"));
+  }
+
+  @Test
+  void blockingTasksAreDispatchedAloneAndBatchesAreBounded() {
+    List<JsonNode> dispatchedBatches = new ArrayList<>();
+    DeferredSandboxTaskBatcher batcher = new DeferredSandboxTaskBatcher(dispatchedBatches::add);
+    batcher.accept(webRequestTask("/a"));
+    batcher.accept(webRequestTask("/b"));
+    batcher.accept(
+        OBJECT_MAPPER
+            .createObjectNode()
+            .put("handler", "_syncHandleOutboundRequest")
+            .put("sandboxId", "sandbox1"));
+    for (int i = 0; i < 12; ++i) {
+      batcher.accept(webRequestTask("/c" + i));
+    }
+    batcher.flush();
+
+    assertEquals(4, dispatchedBatches.size());
+    assertEquals(2, dispatchedBatches.get(0).get("deferredTasks").size());
+    assertEquals(
+        "_syncHandleOutboundRequest", dispatchedBatches.get(1).path("handler").asText());
+    assertEquals(10, dispatchedBatches.get(2).get("deferredTasks").size());
+    assertEquals(2, dispatchedBatches.get(3).get("deferredTasks").size());
+  }
+
+  @Test
+  void reExecutedBatchesSkipTheTasksThatAlreadyCompleted() {
+    List<JsonNode> dispatchedBatches = new ArrayList<>();
+    DeferredSandboxTaskBatcher batcher = new DeferredSandboxTaskBatcher(dispatchedBatches::add);
+    batcher.accept(webRequestTask("/a"));
+    batcher.accept(webRequestTask("/b"));
+    batcher.accept(webRequestTask("/c"));
+    batcher.flush();
+    JsonNode batch = dispatchedBatches.getFirst();
+    String progressPartitionKey = "deferredTaskBatch#" + batch.get("batchId").asText();
+    persistenceProvider
+        .getNonLockingMap()
+        .setItemValue(
+            progressPartitionKey,
+            "progress",
+            OBJECT_MAPPER.createObjectNode().put("completedTaskCount", 1));
+
+    DeferredSandboxTaskBatcher.executeBatch(
+        persistenceProvider,
+        DeferredSandboxTaskBatcher.createInProcess(persistenceProvider),
+        batch);
+
+    assertEquals(List.of("/b", "/c"), receivedPaths);
+    assertNull(
+        persistenceProvider.getNonLockingMap().getItemValue(progressPartitionKey, "progress"));
+  }
+
+  private JsonNode webRequestTask(String path) {
+    return OBJECT_MAPPER
+        .createObjectNode()
+        .put("handler", "_syncSendOutboundWebRequest")
+        .put("sandboxId", "sandbox1")
+        .set(
+            "conformanceWebRequest",
+            new ConformanceWebRequest("GET", baseUrl + path, Map.of(), Map.of(), "").toJson());
+  }
+}
@@ -0,0 +1,76 @@
+package org.dcsa.conformance.lambda;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.UUID;
+import org.dcsa.conformance.sandbox.state.ConformancePersistenceProvider;
+import org.dcsa.conformance.sandbox.state.DynamoDbSortedPartitionsLockingMap;
+import org.dcsa.conformance.sandbox.state.DynamoDbSortedPartitionsNonLockingMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
+import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
+
+/**
+ * Runs the deferred task batching tests against DynamoDB Local, so that the batch progress and the
+ * sandbox state go through the same table as in the deployed lambdas:
+ *
+ * <p>{@code docker run -p 127.0.0.1:8000:8000 amazon/dynamodb-local}
+ *
+ * <p>The endpoint can be overridden with the DYNAMODB_LOCAL_URL environment variable.
+ */
+@Tag("Integration")
+class DynamoDbLocalDeferredSandboxTaskBatcherTest extends DeferredSandboxTaskBatcherTest {
+  private final String tableName = "conformance-test-" + UUID.randomUUID();
+  private DynamoDbClient dynamoDbClient;
+
+  @Override
+  ConformancePersistenceProvider createPersistenceProvider() {
+    dynamoDbClient =
+        DynamoDbClient.builder()
+            .endpointOverride(
+                URI.create(
+                    Objects.requireNonNullElse(
+                        System.getenv("DYNAMODB_LOCAL_URL"), "http://localhost:8000")))
+            .region(Region.EU_NORTH_1)
+            .credentialsProvider(
+                StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create("DummyKey", "DummySecret")))
+            .build();
+    dynamoDbClient.createTable(
+        CreateTableRequest.builder()
+            .tableName(tableName)
+            .keySchema(
+                KeySchemaElement.builder().attributeName("PK").keyType(KeyType.HASH).build(),
+                KeySchemaElement.builder().attributeName("SK").keyType(KeyType.RANGE).build())
+            .attributeDefinitions(
+                AttributeDefinition.builder()
+                    .attributeName("PK")
+                    .attributeType(ScalarAttributeType.S)
+                    .build(),
+                AttributeDefinition.builder()
+                    .attributeName("SK")
+                    .attributeType(ScalarAttributeType.S)
+                    .build())
+            .billingMode(BillingMode.PAY_PER_REQUEST)
+            .build());
+    return new ConformancePersistenceProvider(
+        new DynamoDbSortedPartitionsNonLockingMap(dynamoDbClient, tableName),
+        new DynamoDbSortedPartitionsLockingMap(dynamoDbClient, tableName));
+  }
+
+  @AfterEach
+  void deleteTable() {
+    dynamoDbClient.deleteTable(DeleteTableRequest.builder().tableName(tableName).build());
+    dynamoDbClient.close();
+  }
+}
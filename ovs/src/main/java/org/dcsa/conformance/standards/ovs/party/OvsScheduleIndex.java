@@ -0,0 +1,54 @@
+package org.dcsa.conformance.standards.ovs.party;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.dcsa.conformance.core.query.IndexedJsonCollection;
+import org.dcsa.conformance.core.query.QueryAttribute;
+import org.dcsa.conformance.core.toolkit.JsonToolkit;
+
+/**
+ * The service schedules returned by the OVS publisher for one API version, loaded once from the
+ * response template and indexed for the query parameters of the attribute mappings. Service
+ * schedules are identified by their position in the template, so a service schedule matching
+ * several values of a query parameter is returned several times, as it always was.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class OvsScheduleIndex {
+  private static final ConcurrentHashMap<String, IndexedJsonCollection> INDEXES_BY_API_VERSION =
+      new ConcurrentHashMap<>();
+
+  static IndexedJsonCollection forApiVersion(String apiVersion) {
+    return INDEXES_BY_API_VERSION.computeIfAbsent(
+        apiVersion,
+        ignored ->
+            of(
+                JsonToolkit.templateFileToJsonNode(
+                    "/standards/ovs/messages/ovs-%s-response.json"
+                        .formatted(apiVersion.toLowerCase().replaceAll("[.-]", "")),
+                    Map.ofEntries())));
+  }
+
+  static IndexedJsonCollection of(JsonNode responseBody) {
+    List<JsonNode> serviceSchedules = new ArrayList<>();
+    responseBody.forEach(serviceSchedules::add);
+    Map<String, List<QueryAttribute>> attributesByParamName = new HashMap<>();
+    OvsAttributeMapping.initializeAttributeMappings()
+        .forEach(
+            (paramName, mappings) ->
+                attributesByParamName.put(
+                    paramName,
+                    mappings.stream()
+                        .map(
+                            mapping ->
+                                new QueryAttribute(
+                                    mapping.jsonPath(), mapping.condition(), mapping.values()))
+                        .toList()));
+    return new IndexedJsonCollection(serviceSchedules, attributesByParamName, null);
+  }
+}
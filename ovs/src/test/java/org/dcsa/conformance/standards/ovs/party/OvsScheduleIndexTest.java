@@ -0,0 +1,90 @@
+package org.dcsa.conformance.standards.ovs.party;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.util.ArrayList;
+import java.util.List;
+import org.dcsa.conformance.core.query.IndexedJsonCollection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OvsScheduleIndexTest {
+
+  private IndexedJsonCollection scheduleIndex;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    JsonNode responseBody =
+        new ObjectMapper()
+            .readTree(
+                """
+                [
+                  {"carrierServiceCode": "FE1", "vesselSchedules": [
+                    {"vesselIMONumber": "9321483", "transportCalls": [
+                      {"carrierExportVoyageNumber": "2103S",
+                       "location": {"UNLocationCode": "NLAMS"},
+                       "timestamps": [{"eventDateTime": "2024-01-14T09:21:00+01:00"}]}
+                    ]}
+                  ]},
+                  {"carrierServiceCode": "FE2", "vesselSchedules": [
+                    {"vesselIMONumber": "9321484", "transportCalls": [
+                      {"carrierImportVoyageNumber": "2103S",
+                       "location": {"UNLocationCode": "DEHAM"},
+                       "timestamps": [{"eventDateTime": "2024-02-14T09:21:00+01:00"}]}
+                    ]}
+                  ]}
+                ]
+                """);
+    scheduleIndex = OvsScheduleIndex.of(responseBody);
+  }
+
+  @Test
+  void filtersByIndexedAttributes() {
+    assertEquals(List.of("FE2"), serviceCodes(filter("carrierServiceCode", "FE2")));
+    assertEquals(List.of("FE1"), serviceCodes(filter("vesselIMONumber", "9321483")));
+    assertEquals(List.of("FE2"), serviceCodes(filter("UNLocationCode", "DEHAM")));
+    assertEquals(List.of("FE1", "FE2"), serviceCodes(filter("carrierVoyageNumber", "2103S")));
+    assertEquals(List.of(), serviceCodes(filter("carrierServiceCode", "FE3")));
+  }
+
+  @Test
+  void filtersByDateRange() {
+    assertEquals(List.of("FE2"), serviceCodes(filter("startDate", "2024-02-01")));
+    assertEquals(List.of("FE1"), serviceCodes(filter("endDate", "2024-02-01")));
+  }
+
+  @Test
+  void chainsFiltersAndLimits() {
+    int[] selectedSchedules =
+        scheduleIndex.filter(scheduleIndex.all(), "carrierServiceCode", List.of("FE1", "FE2"));
+    selectedSchedules = scheduleIndex.filter(selectedSchedules, "UNLocationCode", List.of("NLAMS"));
+    assertEquals(List.of("FE1"), serviceCodes(selectedSchedules));
+    assertArrayEquals(
+        selectedSchedules, scheduleIndex.filter(selectedSchedules, "limit", List.of("1")));
+
+    ArrayNode limitedArray = scheduleIndex.toArrayNode(scheduleIndex.all(), 0, 1);
+    assertEquals(1, limitedArray.size());
+  }
+
+  @Test
+  void loadsTheResponseTemplateOncePerApiVersion() {
+    assertSame(OvsScheduleIndex.forApiVersion("3.0.0"), OvsScheduleIndex.forApiVersion("3.0.0"));
+  }
+
+  private int[] filter(String paramName, String paramValue) {
+    return scheduleIndex.filter(scheduleIndex.all(), paramName, List.of(paramValue));
+  }
+
+  private List<String> serviceCodes(int[] selectedSchedules) {
+    List<String> serviceCodes = new ArrayList<>();
+    scheduleIndex
+        .toArrayNode(selectedSchedules, 0, Integer.MAX_VALUE)
+        .forEach(
+            serviceSchedule ->
+                serviceCodes.add(serviceSchedule.path("carrierServiceCode").asText()));
+    return serviceCodes;
+  }
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -20,6 +21,7 @@ import org.dcsa.conformance.core.check.ConformanceCheck;
 import org.dcsa.conformance.core.check.ScenarioCheck;
 import org.dcsa.conformance.core.party.CounterpartConfiguration;
 import org.dcsa.conformance.core.report.ConformanceReport;
+import org.dcsa.conformance.core.report.ConformanceStatus;
 import org.dcsa.conformance.core.scenario.ConformanceAction;
 import org.dcsa.conformance.core.scenario.ConformanceScenario;
 import org.dcsa.conformance.core.state.JsonNodeMap;
@@ -32,25 +34,33 @@ public class ConformanceOrchestrator implements StatefulEntity {
   private final SandboxConfiguration sandboxConfiguration;
   private final TrafficRecorder trafficRecorder;
   private final JsonNodeMap persistentMap;
-  private final Consumer<ConformanceWebRequest> asyncWebClient;
+  @Setter private Consumer<ConformanceWebRequest> asyncWebClient;
   private final LinkedHashMap<String, List<ConformanceScenario>> scenariosByModuleName =
       new LinkedHashMap<>();
   private final LinkedHashMap<UUID, ConformanceScenario> _scenariosById = new LinkedHashMap<>();
   private final Map<UUID, UUID> latestRunIdsByScenarioId = new HashMap<>();
+  // up-to-date statuses of the latest scenario runs; removed whenever a run changes
+  private final Map<UUID, ConformanceStatus> conformanceStatusesByScenarioId = new HashMap<>();
+  // incremented whenever the latest run of a scenario changes, so older sub-reports are not reused;
+  // ints, because persisted states are parsed back with int nodes and compared with exported ones
+  private final Map<UUID, Integer> statusRevisionsByScenarioId = new HashMap<>();
+  // sub-reports computed by this instance, which is reused by later queries if the state matches
+  private final Map<UUID, JsonNode> savedSubReportsByScenarioId = new HashMap<>();
   private UUID currentScenarioId;
 
+  // set for queries on state snapshots, which must not persist anything
+  @Setter private boolean readOnly;
+
   @Setter private BiConsumer<String, String> waitingForBiConsumer = (forWhom, toDoWhat) -> {};
 
   public ConformanceOrchestrator(
       SandboxConfiguration sandboxConfiguration,
       AbstractComponentFactory componentFactory,
       TrafficRecorder trafficRecorder,
-      JsonNodeMap persistentMap,
-      Consumer<ConformanceWebRequest> asyncWebClient) {
+      JsonNodeMap persistentMap) {
     this.sandboxConfiguration = sandboxConfiguration;
     this.trafficRecorder = trafficRecorder;
     this.persistentMap = persistentMap;
-    this.asyncWebClient = asyncWebClient;
 
     CounterpartConfiguration externalPartyCounterpartConfiguration =
         sandboxConfiguration.getExternalPartyCounterpartConfiguration();
@@ -79,6 +89,22 @@ public class ConformanceOrchestrator implements StatefulEntity {
                 .put("scenarioId", key.toString())
                 .put("latestRunId", value.toString()));
 
+    ArrayNode statusesArrayNode = jsonState.putArray("conformanceStatusesByScenarioId");
+    conformanceStatusesByScenarioId.forEach(
+        (key, value) ->
+            statusesArrayNode
+                .addObject()
+                .put("scenarioId", key.toString())
+                .put("conformanceStatus", value.name()));
+
+    ArrayNode revisionsArrayNode = jsonState.putArray("statusRevisionsByScenarioId");
+    statusRevisionsByScenarioId.forEach(
+        (key, value) ->
+            revisionsArrayNode
+                .addObject()
+                .put("scenarioId", key.toString())
+                .put("statusRevision", value));
+
     if (currentScenarioId != null) {
       jsonState.put("currentScenarioId", currentScenarioId.toString());
       jsonState.set("currentScenario", _getCurrentScenario().exportJsonState());
@@ -95,6 +121,22 @@ public class ConformanceOrchestrator implements StatefulEntity {
                     UUID.fromString(pairNode.get("scenarioId").asText()),
                     UUID.fromString(pairNode.get("latestRunId").asText())));
 
+    jsonState
+        .path("conformanceStatusesByScenarioId")
+        .forEach(
+            pairNode ->
+                conformanceStatusesByScenarioId.put(
+                    UUID.fromString(pairNode.get("scenarioId").asText()),
+                    ConformanceStatus.valueOf(pairNode.get("conformanceStatus").asText())));
+
+    jsonState
+        .path("statusRevisionsByScenarioId")
+        .forEach(
+            pairNode ->
+                statusRevisionsByScenarioId.put(
+                    UUID.fromString(pairNode.get("scenarioId").asText()),
+                    pairNode.get("statusRevision").asInt()));
+
     if (jsonState.has("currentScenarioId")) {
       currentScenarioId = UUID.fromString(jsonState.get("currentScenarioId").asText());
       _getCurrentScenario().importJsonState(jsonState.get("currentScenario"));
@@ -116,9 +158,23 @@ public class ConformanceOrchestrator implements StatefulEntity {
   }
 
   private void _loadAllInactiveScenarios() {
-    _scenariosById.values().stream()
-        .filter(scenario -> !scenario.getId().equals(currentScenarioId))
-        .forEach(this::_loadInactiveScenario);
+    List<ConformanceScenario> inactiveScenarios =
+        _scenariosById.values().stream()
+            .filter(scenario -> !scenario.getId().equals(currentScenarioId))
+            .toList();
+    Map<String, JsonNode> scenarioStatesByKey =
+        persistentMap.loadAll(
+            inactiveScenarios.stream()
+                .map(scenario -> "scenario#%s".formatted(scenario.getId()))
+                .toList());
+    inactiveScenarios.forEach(
+        scenario -> {
+          JsonNode scenarioState =
+              scenarioStatesByKey.get("scenario#%s".formatted(scenario.getId()));
+          if (scenarioState != null) {
+            scenario.importJsonState(scenarioState);
+          }
+        });
   }
 
   private Stream<ConformanceScenario> _allScenariosStream() {
@@ -158,7 +214,7 @@ public class ConformanceOrchestrator implements StatefulEntity {
     if (currentScenarioId == null) {
       if (autoAdvance) {
         currentScenarioId = _allScenarioIdsStream().findFirst().orElseThrow();
-        latestRunIdsByScenarioId.put(currentScenarioId, UUID.randomUUID());
+        _startNewScenarioRun(currentScenarioId);
       } else {
         log.info("Skipping party notification: no current scenario");
         return;
@@ -176,7 +232,7 @@ public class ConformanceOrchestrator implements StatefulEntity {
                 .findFirst()
                 .orElse(null);
         if (currentScenarioId != null) {
-          latestRunIdsByScenarioId.put(currentScenarioId, UUID.randomUUID());
+          _startNewScenarioRun(currentScenarioId);
           nextAction = _getCurrentScenario().peekNextAction();
         } else {
           log.info("Skipping party notification: no more scenarios to run");
@@ -255,6 +311,7 @@ public class ConformanceOrchestrator implements StatefulEntity {
 
     waitingForBiConsumer.accept(nextAction.getSourcePartyName(), null);
 
+    _invalidateConformanceStatus(currentScenarioId);
     currentScenario.popNextAction();
     try {
       nextAction.handlePartyInput(partyInput);
@@ -270,11 +327,14 @@ public class ConformanceOrchestrator implements StatefulEntity {
     log.info(
         "ConformanceOrchestrator.handlePartyTrafficExchange(%s)".formatted(exchange.getUuid()));
 
+    ConformanceAction currentAction =
+        currentScenarioId == null ? null : _getCurrentScenario().peekNextAction();
     trafficRecorder.recordExchange(
         exchange,
         currentScenarioId == null
             ? "unknown"
-            : latestRunIdsByScenarioId.get(currentScenarioId).toString());
+            : latestRunIdsByScenarioId.get(currentScenarioId).toString(),
+        currentAction == null ? "unknown" : currentAction.getId().toString());
 
     if (currentScenarioId == null) {
       log.info(
@@ -282,6 +342,7 @@ public class ConformanceOrchestrator implements StatefulEntity {
               .formatted(exchange));
       return;
     }
+    _invalidateConformanceStatus(currentScenarioId);
 
     ConformanceScenario currentScenario = _getCurrentScenario();
     ConformanceAction nextAction = currentScenario.peekNextAction();
@@ -339,6 +400,7 @@ public class ConformanceOrchestrator implements StatefulEntity {
                   sandboxConfiguration.getExternalPartyCounterpartConfiguration().getRole()));
     }
 
+    _invalidateConformanceStatus(currentScenarioId);
     currentScenario.popNextAction();
     if (skipAction
         && currentScenario.hasNextAction()
@@ -362,10 +424,6 @@ public class ConformanceOrchestrator implements StatefulEntity {
     ArrayNode allModulesNode = OBJECT_MAPPER.createArrayNode();
     if (!sandboxConfiguration.getOrchestrator().isActive()) return allModulesNode;
 
-    _loadAllInactiveScenarios();
-
-    new ConformanceReport(_createScenarioConformanceCheck(), _getManualCounterpart().getRole());
-
     scenariosByModuleName.forEach(
       (moduleName, scenarios) -> {
         ObjectNode moduleNode = allModulesNode.addObject();
@@ -377,7 +435,7 @@ public class ConformanceOrchestrator implements StatefulEntity {
             scenarioNode.put("id", scenario.getId().toString());
             scenarioNode.put("name", scenario.getTitle());
             scenarioNode.put("isRunning", scenario.getId().equals(currentScenarioId));
-            scenarioNode.put("conformanceStatus", scenario.getLatestComputedStatus().name());
+            scenarioNode.put("conformanceStatus", _getConformanceStatus(scenario.getId()).name());
           });
       });
     return allModulesNode;
@@ -417,7 +475,7 @@ public class ConformanceOrchestrator implements StatefulEntity {
         .filter(latestRunId -> trafficByScenarioRun.containsKey(latestRunId.toString()))
         .flatMap(latestRunId -> trafficByScenarioRun.get(latestRunId.toString()).stream())
         .collect(Collectors.toMap(ConformanceExchange::getUuid, Function.identity()));
-    conformanceCheck.check(exchangesByUuid::get);
+    conformanceCheck.check(exchangesByUuid::get, ForkJoinPool.commonPool());
 
     return conformanceCheck;
   }
@@ -465,17 +523,7 @@ public class ConformanceOrchestrator implements StatefulEntity {
       scenarioNode.put("inputRequired", nextAction.isInputRequired());
     }
 
-    ConformanceCheck conformanceCheck = _createScenarioConformanceCheck();
-
-    ConformanceReport fullReport =
-        new ConformanceReport(conformanceCheck, _getManualCounterpart().getRole());
-    ConformanceReport scenarioSubReport =
-        fullReport.getSubReports().stream()
-            .flatMap(subReport -> subReport.getSubReports().stream())
-            .filter(subSubReport -> subSubReport.getTitle().equals(scenario.getTitle()))
-            .findFirst()
-            .orElseThrow();
-    scenarioNode.set("conformanceSubReport", scenarioSubReport.toJsonReport());
+    scenarioNode.set("conformanceSubReport", _getScenarioSubReport(scenario));
 
     CounterpartConfiguration counterpartConfiguration =
         sandboxConfiguration.getExternalPartyCounterpartConfiguration();
@@ -493,6 +541,96 @@ public class ConformanceOrchestrator implements StatefulEntity {
     return scenarioNode;
   }
 
+  private void _startNewScenarioRun(UUID scenarioId) {
+    latestRunIdsByScenarioId.put(scenarioId, UUID.randomUUID());
+    _invalidateConformanceStatus(scenarioId);
+  }
+
+  private void _invalidateConformanceStatus(UUID scenarioId) {
+    conformanceStatusesByScenarioId.remove(scenarioId);
+    statusRevisionsByScenarioId.merge(scenarioId, 1, Integer::sum);
+  }
+
+  private ConformanceStatus _getConformanceStatus(UUID scenarioId) {
+    if (!latestRunIdsByScenarioId.containsKey(scenarioId)) return ConformanceStatus.NO_TRAFFIC;
+    ConformanceStatus conformanceStatus = conformanceStatusesByScenarioId.get(scenarioId);
+    if (conformanceStatus != null) return conformanceStatus;
+    JsonNode savedSubReport = _loadSavedSubReport(scenarioId);
+    if (savedSubReport == null) {
+      savedSubReport = _computeScenarioSubReport(_getScenario(scenarioId));
+    }
+    return ConformanceStatus.valueOf(savedSubReport.get("conformanceStatus").asText());
+  }
+
+  private JsonNode _getScenarioSubReport(ConformanceScenario scenario) {
+    JsonNode savedSubReport = _loadSavedSubReport(scenario.getId());
+    if (savedSubReport == null) {
+      savedSubReport = _computeScenarioSubReport(scenario);
+    }
+    return savedSubReport.get("subReport");
+  }
+
+  /**
+   * Returns the sub-report saved for the latest run of the scenario, computed by this instance or
+   * persisted by another one, or null if there is none or if the scenario run changed since then.
+   */
+  private JsonNode _loadSavedSubReport(UUID scenarioId) {
+    JsonNode savedSubReport = savedSubReportsByScenarioId.get(scenarioId);
+    if (!_isUpToDate(scenarioId, savedSubReport)) {
+      savedSubReport = persistentMap.load("report#%s".formatted(scenarioId));
+      if (!_isUpToDate(scenarioId, savedSubReport)) return null;
+      savedSubReportsByScenarioId.put(scenarioId, savedSubReport);
+    }
+    if (!readOnly) {
+      conformanceStatusesByScenarioId.put(
+          scenarioId, ConformanceStatus.valueOf(savedSubReport.get("conformanceStatus").asText()));
+    }
+    return savedSubReport;
+  }
+
+  private boolean _isUpToDate(UUID scenarioId, JsonNode savedSubReport) {
+    return savedSubReport != null
+        && savedSubReport.path("statusRevision").isInt()
+        && savedSubReport.get("statusRevision").asInt()
+            == statusRevisionsByScenarioId.getOrDefault(scenarioId, 0)
+        && savedSubReport
+            .path("runId")
+            .asText()
+            .equals(latestRunIdsByScenarioId.get(scenarioId).toString());
+  }
+
+  /**
+   * Checks only the traffic of the latest run of one scenario, which yields the same sub-report as
+   * the corresponding branch of the full scenario conformance check, then saves the sub-report and
+   * its status until the next change in the scenario run. Read-only queries only keep them in this
+   * instance.
+   */
+  private JsonNode _computeScenarioSubReport(ConformanceScenario scenario) {
+    UUID runId = latestRunIdsByScenarioId.get(scenario.getId());
+    ScenarioCheck scenarioCheck =
+        new ScenarioCheck(scenario, sandboxConfiguration.getStandard().getVersion());
+    Map<UUID, ConformanceExchange> exchangesByUuid =
+        trafficRecorder.getScenarioRunTraffic(runId.toString()).stream()
+            .collect(Collectors.toMap(ConformanceExchange::getUuid, Function.identity()));
+    scenarioCheck.check(exchangesByUuid::get, ForkJoinPool.commonPool());
+
+    ConformanceReport scenarioReport =
+        new ConformanceReport(scenarioCheck, _getManualCounterpart().getRole());
+    ObjectNode savedSubReport =
+        OBJECT_MAPPER
+            .createObjectNode()
+            .put("runId", runId.toString())
+            .put("statusRevision", statusRevisionsByScenarioId.getOrDefault(scenario.getId(), 0))
+            .put("conformanceStatus", scenarioReport.getConformanceStatus().name());
+    savedSubReport.set("subReport", scenarioReport.toJsonReport());
+    savedSubReportsByScenarioId.put(scenario.getId(), savedSubReport);
+    if (!readOnly) {
+      persistentMap.save("report#%s".formatted(scenario.getId()), savedSubReport);
+      conformanceStatusesByScenarioId.put(scenario.getId(), scenarioReport.getConformanceStatus());
+    }
+    return savedSubReport;
+  }
+
   public void startOrStopScenario(String scenarioId) {
     UUID scenarioUuid = UUID.fromString(scenarioId);
     if (currentScenarioId != null) {
@@ -515,7 +653,7 @@ public class ConformanceOrchestrator implements StatefulEntity {
         _saveInactiveScenario(inactiveScenario);
       }
       currentScenarioId = inactiveScenario.getId();
-      latestRunIdsByScenarioId.put(inactiveScenario.getId(), UUID.randomUUID());
+      _startNewScenarioRun(currentScenarioId);
       notifyNextActionParty();
     }
   }
@@ -544,10 +682,18 @@ public class ConformanceOrchestrator implements StatefulEntity {
     UUID matchedExchangeUuid = nextAction.getMatchedExchangeUuid();
     UUID matchedNotificationExchangeUuid = nextAction.getMatchedNotificationExchangeUuid();
     if (matchedExchangeUuid != null || matchedNotificationExchangeUuid != null) {
+      String runId = latestRunIdsByScenarioId.get(scenario.getId()).toString();
+      List<ConformanceExchange> actionExchanges =
+          this.trafficRecorder.getActionTraffic(runId, nextAction.getId().toString());
       List<ConformanceExchange> conformanceExchanges =
-          this.trafficRecorder
-              .getTrafficByScenarioRun()
-              .get(latestRunIdsByScenarioId.get(scenario.getId()).toString());
+          Stream.of(matchedExchangeUuid, matchedNotificationExchangeUuid)
+                  .filter(Objects::nonNull)
+                  .allMatch(
+                      uuid ->
+                          actionExchanges.stream()
+                              .anyMatch(exchange -> exchange.getUuid().equals(uuid)))
+              ? actionExchanges
+              : this.trafficRecorder.getScenarioRunTraffic(runId);
       if (matchedExchangeUuid != null) {
         exchangesNode.set(
             "primaryExchange",
@@ -10,7 +10,6 @@ import java.net.URLDecoder;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
@@ -69,6 +68,8 @@ public class ConformanceSandbox {
     VgmStandard.INSTANCE,
   };
 
+  private static final OrchestratorCache ORCHESTRATOR_CACHE = new OrchestratorCache();
+
   private record OrchestratorTask(
       ConformancePersistenceProvider persistenceProvider,
       Consumer<ConformanceWebRequest> asyncWebClient,
@@ -87,35 +88,116 @@ public class ConformanceSandbox {
               SESSION + currentSessionId,
               "state#orchestrator",
               originalOrchestratorState -> {
-                SandboxConfiguration sandboxConfiguration =
-                    loadSandboxConfiguration(persistenceProvider, sandboxId);
-                AbstractComponentFactory componentFactory =
-                    _createComponentFactory(
-                        sandboxConfiguration.getStandard(),
-                        sandboxConfiguration.getScenarioSuite());
+                JsonNode sandboxConfigurationNode =
+                    _loadSandboxConfigurationNode(persistenceProvider, sandboxId);
                 ConformanceOrchestrator orchestrator =
-                    new ConformanceOrchestrator(
-                        sandboxConfiguration,
-                        componentFactory,
-                        new TrafficRecorder(
-                            persistenceProvider.getNonLockingMap(), SESSION + currentSessionId),
-                        new JsonNodeMap(
-                            persistenceProvider.getNonLockingMap(),
-                            SESSION + currentSessionId,
-                            "map#orchestrator#"),
-                        asyncWebClient);
-                if (originalOrchestratorState != null && !originalOrchestratorState.isEmpty()) {
-                  orchestrator.importJsonState(originalOrchestratorState);
+                    ORCHESTRATOR_CACHE.checkOut(
+                        persistenceProvider,
+                        sandboxId,
+                        currentSessionId,
+                        sandboxConfigurationNode,
+                        originalOrchestratorState);
+                if (orchestrator == null) {
+                  orchestrator =
+                      _createOrchestrator(
+                          persistenceProvider,
+                          currentSessionId,
+                          sandboxConfigurationNode,
+                          originalOrchestratorState);
                 }
+                orchestrator.setReadOnly(false);
+                orchestrator.setAsyncWebClient(asyncWebClient);
                 orchestrator.setWaitingForBiConsumer(
                     (forWhom, toDoWhat) ->
                         _setWaitingFor(persistenceProvider, sandboxId, "Orchestrator", forWhom, toDoWhat));
                 orchestratorConsumer.accept(orchestrator);
-                return orchestrator.exportJsonState();
+                JsonNode modifiedOrchestratorState = orchestrator.exportJsonState();
+                ORCHESTRATOR_CACHE.checkIn(
+                    persistenceProvider,
+                    sandboxId,
+                    currentSessionId,
+                    sandboxConfigurationNode,
+                    modifiedOrchestratorState,
+                    orchestrator);
+                return modifiedOrchestratorState;
               });
     }
   }
 
+  /**
+   * Lock-free variant of {@link OrchestratorTask} for operations that never modify the orchestrator
+   * state, such as the status queries polled by the webui: the orchestrator is built from a
+   * snapshot of its persisted state, which is never saved back, so these queries cannot block or
+   * slow down the parties and the orchestrator tasks that are processing traffic. The cached
+   * orchestrator is reused if it was last exported with the same state as the snapshot.
+   */
+  private record OrchestratorSnapshotTask(
+      ConformancePersistenceProvider persistenceProvider,
+      String sandboxId,
+      String description,
+      Consumer<ConformanceOrchestrator> orchestratorConsumer)
+      implements Runnable {
+    @Override
+    public void run() {
+      log.info("Executing on state snapshot: " + description);
+      String currentSessionId =
+          _loadSandboxState(persistenceProvider, sandboxId).get("currentSessionId").asText();
+      JsonNode sandboxConfigurationNode =
+          _loadSandboxConfigurationNode(persistenceProvider, sandboxId);
+      JsonNode orchestratorState =
+          persistenceProvider.readStateSnapshot(SESSION + currentSessionId, "state#orchestrator");
+      ConformanceOrchestrator orchestrator =
+          ORCHESTRATOR_CACHE.checkOut(
+              persistenceProvider,
+              sandboxId,
+              currentSessionId,
+              sandboxConfigurationNode,
+              orchestratorState);
+      if (orchestrator == null) {
+        orchestrator =
+            _createOrchestrator(
+                persistenceProvider,
+                currentSessionId,
+                sandboxConfigurationNode,
+                orchestratorState);
+      }
+      orchestrator.setReadOnly(true);
+      orchestratorConsumer.accept(orchestrator);
+      ORCHESTRATOR_CACHE.checkIn(
+          persistenceProvider,
+          sandboxId,
+          currentSessionId,
+          sandboxConfigurationNode,
+          orchestrator.exportJsonState(),
+          orchestrator);
+    }
+  }
+
+  private static ConformanceOrchestrator _createOrchestrator(
+      ConformancePersistenceProvider persistenceProvider,
+      String currentSessionId,
+      JsonNode sandboxConfigurationNode,
+      JsonNode orchestratorState) {
+    SandboxConfiguration sandboxConfiguration =
+        SandboxConfiguration.fromJsonNode(sandboxConfigurationNode);
+    AbstractComponentFactory componentFactory =
+        _createComponentFactory(
+            sandboxConfiguration.getStandard(), sandboxConfiguration.getScenarioSuite());
+    ConformanceOrchestrator orchestrator =
+        new ConformanceOrchestrator(
+            sandboxConfiguration,
+            componentFactory,
+            new TrafficRecorder(persistenceProvider.getNonLockingMap(), SESSION + currentSessionId),
+            new JsonNodeMap(
+                persistenceProvider.getNonLockingMap(),
+                SESSION + currentSessionId,
+                "map#orchestrator#"));
+    if (orchestratorState != null && !orchestratorState.isEmpty()) {
+      orchestrator.importJsonState(orchestratorState);
+    }
+    return orchestrator;
+  }
+
   private record PartyTask(
       ConformancePersistenceProvider persistenceProvider,
       Consumer<JsonNode> deferredSandboxTaskConsumer,
@@ -210,6 +292,7 @@ public class ConformanceSandbox {
                 party.setWaitingForBiConsumer(
                     (forWhom, toDoWhat) ->
                         _setWaitingFor(persistenceProvider, sandboxId, partyName, forWhom, toDoWhat));
+                party.setOutboundRequestGroup(sandboxId);
                 partyConsumer.accept(party);
                 return party.exportJsonState();
               });
@@ -218,18 +301,7 @@ public class ConformanceSandbox {
 
   private static JsonNode _loadSandboxState(
       ConformancePersistenceProvider persistenceProvider, String sandboxId) {
-    AtomicReference<JsonNode> sandboxStateNodeReference = new AtomicReference<>();
-    persistenceProvider
-        .getStatefulExecutor()
-        .execute(
-            "loading state of sandbox " + sandboxId,
-            SANDBOX + sandboxId,
-            "state",
-            originalSandboxState -> {
-              sandboxStateNodeReference.set(originalSandboxState);
-              return null;
-            });
-    return sandboxStateNodeReference.get();
+    return persistenceProvider.readStateSnapshot(SANDBOX + sandboxId, "state");
   }
 
   public static void create(
@@ -341,9 +413,8 @@ public class ConformanceSandbox {
   public static ArrayNode getScenarioDigests(
       ConformancePersistenceProvider persistenceProvider, String sandboxId) {
     AtomicReference<ArrayNode> arrayNodeReference = new AtomicReference<>();
-    new OrchestratorTask(
+    new OrchestratorSnapshotTask(
             persistenceProvider,
-            null,
             sandboxId,
             "getting scenario digests for sandbox " + sandboxId,
             orchestrator -> arrayNodeReference.set(orchestrator.getScenarioDigests()))
@@ -543,9 +614,8 @@ public class ConformanceSandbox {
   public static ObjectNode getScenarioStatus(
       ConformancePersistenceProvider persistenceProvider, String sandboxId, String scenarioId) {
     AtomicReference<ObjectNode> resultReference = new AtomicReference<>();
-    new OrchestratorTask(
+    new OrchestratorSnapshotTask(
             persistenceProvider,
-            null,
             sandboxId,
             "getting from sandbox %s the status of scenario %s".formatted(sandboxId, scenarioId),
             orchestrator -> resultReference.set(orchestrator.getScenarioStatus(scenarioId)))
@@ -567,7 +637,7 @@ public class ConformanceSandbox {
             persistenceProvider,
             conformanceWebRequest ->
                 ConformanceSandbox._asyncSendOutboundWebRequest(
-                    deferredSandboxTaskConsumer, conformanceWebRequest),
+                    deferredSandboxTaskConsumer, sandboxId, conformanceWebRequest),
             sandboxId,
             "handling in sandbox %s the input for action %s".formatted(sandboxId, actionId),
             orchestrator -> orchestrator.handlePartyInput(partyInput))
@@ -585,7 +655,7 @@ public class ConformanceSandbox {
             persistenceProvider,
             conformanceWebRequest ->
                 ConformanceSandbox._asyncSendOutboundWebRequest(
-                    deferredSandboxTaskConsumer, conformanceWebRequest),
+                    deferredSandboxTaskConsumer, sandboxId, conformanceWebRequest),
             sandboxId,
             "starting or stopping in sandbox %s scenario %s".formatted(sandboxId, scenarioId),
             orchestrator -> orchestrator.startOrStopScenario(scenarioId))
@@ -601,7 +671,7 @@ public class ConformanceSandbox {
             persistenceProvider,
             conformanceWebRequest ->
                 ConformanceSandbox._asyncSendOutboundWebRequest(
-                    deferredSandboxTaskConsumer, conformanceWebRequest),
+                    deferredSandboxTaskConsumer, sandboxId, conformanceWebRequest),
             sandboxId,
             skipAction
                 ? "skipping current action in sandbox %s".formatted(sandboxId)
@@ -614,9 +684,8 @@ public class ConformanceSandbox {
   public static ObjectNode getCurrentActionExchanges(
       ConformancePersistenceProvider persistenceProvider, String sandboxId, String scenarioId) {
     AtomicReference<ObjectNode> resultReference = new AtomicReference<>();
-    new OrchestratorTask(
+    new OrchestratorSnapshotTask(
             persistenceProvider,
-            null,
             sandboxId,
             "getting from sandbox %s and scenario %s the current action exchanges"
                 .formatted(sandboxId, scenarioId),
@@ -681,7 +750,7 @@ public class ConformanceSandbox {
               persistenceProvider,
               conformanceWebRequest ->
                   ConformanceSandbox._asyncSendOutboundWebRequest(
-                      deferredSandboxTaskConsumer, conformanceWebRequest),
+                      deferredSandboxTaskConsumer, sandboxId, conformanceWebRequest),
               sandboxId,
               "handling inbound conformance request",
               orchestrator ->
@@ -712,11 +781,14 @@ public class ConformanceSandbox {
   }
 
   private static void _asyncSendOutboundWebRequest(
-      Consumer<JsonNode> deferredSandboxTaskConsumer, ConformanceWebRequest conformanceWebRequest) {
+      Consumer<JsonNode> deferredSandboxTaskConsumer,
+      String sandboxId,
+      ConformanceWebRequest conformanceWebRequest) {
     JsonNode deferredTask =
         OBJECT_MAPPER
             .createObjectNode()
             .put("handler", "_syncSendOutboundWebRequest")
+            .put("sandboxId", sandboxId)
             .set("conformanceWebRequest", conformanceWebRequest.toJson());
     log.debug("Deferring task: {}", deferredTask.toPrettyString());
     deferredSandboxTaskConsumer.accept(deferredTask);
@@ -738,6 +810,7 @@ public class ConformanceSandbox {
           return;
         case "_syncSendOutboundWebRequest":
           _syncSendOutboundWebRequest(
+              jsonNode.path("sandboxId").asText(null),
               ConformanceWebRequest.fromJson((ObjectNode) jsonNode.get("conformanceWebRequest")));
           return;
         default:
@@ -752,7 +825,8 @@ public class ConformanceSandbox {
   }
 
   @SneakyThrows
-  private static ConformanceResponse _syncHttpRequest(ConformanceRequest conformanceRequest) {
+  private static ConformanceResponse _syncHttpRequest(
+      String sandboxId, ConformanceRequest conformanceRequest) {
     URI uri = conformanceRequest.toURI();
     log.info(
         "ConformanceSandbox.syncHttpRequest({}) request: {}",
@@ -769,17 +843,14 @@ public class ConformanceSandbox {
                     HttpRequest.BodyPublishers.ofString(
                         conformanceRequest.message().body().getStringBody()));
 
-    // Allow long debugging sessions or slow business logic at customer's side
-    httpRequestBuilder.timeout(Duration.ofHours(1));
-
     conformanceRequest
         .message()
         .headers()
         .forEach((name, values) -> values.forEach(value -> httpRequestBuilder.header(name, value)));
 
-    HttpResponse<String> httpResponse =
-        IOToolkit.HTTP_CLIENT.send(
-            httpRequestBuilder.build(), HttpResponse.BodyHandlers.ofString());
+    HttpResponse<byte[]> httpResponse =
+        IOToolkit.OUTBOUND_HTTP_CLIENT.send(
+            sandboxId, httpRequestBuilder, HttpResponse.BodyHandlers.ofByteArray());
     ConformanceResponse conformanceResponse =
         conformanceRequest.createResponse(
             httpResponse.statusCode(),
@@ -796,7 +867,7 @@ public class ConformanceSandbox {
       Consumer<JsonNode> deferredSandboxTaskConsumer,
       String sandboxId,
       ConformanceRequest conformanceRequest) {
-    ConformanceResponse conformanceResponse = _syncHttpRequest(conformanceRequest);
+    ConformanceResponse conformanceResponse = _syncHttpRequest(sandboxId, conformanceRequest);
     SandboxConfiguration sandboxConfiguration =
         loadSandboxConfiguration(persistenceProvider, sandboxId);
     if (!conformanceRequest.message().targetPartyRole().equals("orchestrator")
@@ -811,7 +882,7 @@ public class ConformanceSandbox {
               persistenceProvider,
               conformanceWebRequest ->
                   ConformanceSandbox._asyncSendOutboundWebRequest(
-                      deferredSandboxTaskConsumer, conformanceWebRequest),
+                      deferredSandboxTaskConsumer, sandboxId, conformanceWebRequest),
               sandboxId,
               "handling outbound conformance request",
               orchestrator ->
@@ -823,19 +894,17 @@ public class ConformanceSandbox {
     return conformanceResponse;
   }
 
-  private static void _syncSendOutboundWebRequest(ConformanceWebRequest conformanceWebRequest) {
+  private static void _syncSendOutboundWebRequest(
+      String sandboxId, ConformanceWebRequest conformanceWebRequest) {
     try {
-      // Allow long debugging sessions or slow business logic at customer's side
       HttpRequest.Builder httpRequestBuilder =
-          HttpRequest.newBuilder()
-              .uri(URI.create(conformanceWebRequest.url()))
-              .timeout(Duration.ofHours(1))
-              .GET();
+          HttpRequest.newBuilder().uri(URI.create(conformanceWebRequest.url())).GET();
       conformanceWebRequest
           .headers()
           .forEach(
               (name, values) -> values.forEach(value -> httpRequestBuilder.header(name, value)));
-      IOToolkit.HTTP_CLIENT.send(httpRequestBuilder.build(), HttpResponse.BodyHandlers.ofString());
+      IOToolkit.OUTBOUND_HTTP_CLIENT.send(
+          sandboxId, httpRequestBuilder, HttpResponse.BodyHandlers.ofString());
     } catch (Exception e) {
       if (e instanceof InterruptedException) {
         Thread.currentThread().interrupt();
@@ -857,7 +926,7 @@ public class ConformanceSandbox {
             persistenceProvider,
             conformanceWebRequest ->
                 ConformanceSandbox._asyncSendOutboundWebRequest(
-                    deferredSandboxTaskConsumer, conformanceWebRequest),
+                    deferredSandboxTaskConsumer, sandboxId, conformanceWebRequest),
             sandboxId,
             "get prompt for party " + partyName,
             orchestrator -> partyPromptReference.set(orchestrator.handleGetPartyPrompt(partyName)))
@@ -882,7 +951,7 @@ public class ConformanceSandbox {
             persistenceProvider,
             conformanceWebRequest ->
                 ConformanceSandbox._asyncSendOutboundWebRequest(
-                    deferredSandboxTaskConsumer, conformanceWebRequest),
+                    deferredSandboxTaskConsumer, sandboxId, conformanceWebRequest),
             sandboxId,
             "get status",
             orchestrator -> statusReference.set(orchestrator.getStatus()))
@@ -901,7 +970,7 @@ public class ConformanceSandbox {
             persistenceProvider,
             conformanceWebRequest ->
                 ConformanceSandbox._asyncSendOutboundWebRequest(
-                    deferredSandboxTaskConsumer, conformanceWebRequest),
+                    deferredSandboxTaskConsumer, sandboxId, conformanceWebRequest),
             sandboxId,
             "handling input from party " + partyName,
             orchestrator ->
@@ -928,7 +997,7 @@ public class ConformanceSandbox {
             persistenceProvider,
             conformanceWebRequest ->
                 ConformanceSandbox._asyncSendOutboundWebRequest(
-                    deferredSandboxTaskConsumer, conformanceWebRequest),
+                    deferredSandboxTaskConsumer, sandboxId, conformanceWebRequest),
             sandboxId,
             "generating report for roles: " + reportRoleNames,
             orchestrator ->
@@ -942,10 +1011,12 @@ public class ConformanceSandbox {
       ConformancePersistenceProvider persistenceProvider,
       Consumer<JsonNode> deferredSandboxTaskConsumer,
       String sandboxId) {
+    ORCHESTRATOR_CACHE.evict(sandboxId);
+    IOToolkit.OUTBOUND_HTTP_CLIENT.cancelAll(sandboxId);
     String newSessionId = UUID.randomUUID().toString();
     persistenceProvider
         .getStatefulExecutor()
-        .execute(
+        .executeOptimistically(
             "update sandbox currentSessionId",
             SANDBOX + sandboxId,
             "state",
@@ -965,7 +1036,7 @@ public class ConformanceSandbox {
               persistenceProvider,
               conformanceWebRequest ->
                   ConformanceSandbox._asyncSendOutboundWebRequest(
-                      deferredSandboxTaskConsumer, conformanceWebRequest),
+                      deferredSandboxTaskConsumer, sandboxId, conformanceWebRequest),
               sandboxId,
               "starting session",
               ConformanceOrchestrator::notifyNextActionParty)
@@ -978,7 +1049,12 @@ public class ConformanceSandbox {
   public static SandboxConfiguration loadSandboxConfiguration(
       ConformancePersistenceProvider persistenceProvider, String sandboxId) {
     return SandboxConfiguration.fromJsonNode(
-        persistenceProvider.getNonLockingMap().getItemValue(SANDBOX + sandboxId, "config"));
+        _loadSandboxConfigurationNode(persistenceProvider, sandboxId));
+  }
+
+  private static JsonNode _loadSandboxConfigurationNode(
+      ConformancePersistenceProvider persistenceProvider, String sandboxId) {
+    return persistenceProvider.getNonLockingMap().getItemValue(SANDBOX + sandboxId, "config");
   }
 
   public static void saveSandboxConfiguration(
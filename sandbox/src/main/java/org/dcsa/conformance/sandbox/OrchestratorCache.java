@@ -0,0 +1,119 @@
+package org.dcsa.conformance.sandbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.dcsa.conformance.sandbox.state.ConformancePersistenceProvider;
+
+/**
+ * In-process cache of fully built orchestrators, keyed by sandbox id.
+ *
+ * <p>Each entry is only reused when the sandbox configuration (its "version"), the session and the
+ * persisted orchestrator state are all exactly those that the cached orchestrator was built for
+ * and last exported. Any mismatch (another node or process modified the state, the sandbox was
+ * reset or reconfigured, the previous task failed) causes the caller to rebuild the orchestrator
+ * from scratch, as if there was no cache.
+ *
+ * <p>Orchestrators are checked out of the cache while in use and only returned after a task
+ * completes successfully, so an instance is never shared between concurrent tasks.
+ */
+@Slf4j
+class OrchestratorCache {
+  private static final int DEFAULT_MAX_ENTRIES = 64;
+
+  // persisted states are parsed back with the smallest fitting number nodes (an exported long
+  // becomes an int node), so numbers are compared by value
+  private static final Comparator<JsonNode> NUMERIC_VALUE_COMPARATOR =
+      (node1, node2) ->
+          node1.equals(node2)
+                  || node1.isNumber()
+                      && node2.isNumber()
+                      && node1.decimalValue().compareTo(node2.decimalValue()) == 0
+              ? 0
+              : 1;
+
+  private record Entry(
+      ConformancePersistenceProvider persistenceProvider,
+      String sessionId,
+      JsonNode sandboxConfigurationVersion,
+      JsonNode exportedOrchestratorState,
+      ConformanceOrchestrator orchestrator) {}
+
+  private final LinkedHashMap<String, Entry> entriesBySandboxId;
+
+  OrchestratorCache() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  OrchestratorCache(int maxEntries) {
+    this.entriesBySandboxId =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+          }
+        };
+  }
+
+  /**
+   * Checks out the cached orchestrator of the sandbox, if it can be reused as-is for the current
+   * configuration, session and persisted orchestrator state.
+   *
+   * @return the cached orchestrator or null if the caller needs to build a new one
+   */
+  ConformanceOrchestrator checkOut(
+      ConformancePersistenceProvider persistenceProvider,
+      String sandboxId,
+      String sessionId,
+      JsonNode sandboxConfigurationVersion,
+      JsonNode persistedOrchestratorState) {
+    Entry entry;
+    synchronized (entriesBySandboxId) {
+      entry = entriesBySandboxId.remove(sandboxId);
+    }
+    if (entry == null) return null;
+    if (entry.persistenceProvider != persistenceProvider
+        || !Objects.equals(entry.sessionId, sessionId)
+        || !Objects.equals(entry.sandboxConfigurationVersion, sandboxConfigurationVersion)
+        || !_equalStates(entry.exportedOrchestratorState, persistedOrchestratorState)) {
+      log.debug("Discarding stale cached orchestrator of sandbox {}", sandboxId);
+      return null;
+    }
+    return entry.orchestrator;
+  }
+
+  private static boolean _equalStates(JsonNode exportedState, JsonNode persistedState) {
+    return exportedState == null || persistedState == null
+        ? exportedState == persistedState
+        : exportedState.equals(NUMERIC_VALUE_COMPARATOR, persistedState);
+  }
+
+  /** Returns to the cache an orchestrator whose latest state was just exported. */
+  void checkIn(
+      ConformancePersistenceProvider persistenceProvider,
+      String sandboxId,
+      String sessionId,
+      JsonNode sandboxConfigurationVersion,
+      JsonNode exportedOrchestratorState,
+      ConformanceOrchestrator orchestrator) {
+    synchronized (entriesBySandboxId) {
+      entriesBySandboxId.put(
+          sandboxId,
+          new Entry(
+              persistenceProvider,
+              sessionId,
+              sandboxConfigurationVersion,
+              exportedOrchestratorState,
+              orchestrator));
+    }
+  }
+
+  void evict(String sandboxId) {
+    synchronized (entriesBySandboxId) {
+      entriesBySandboxId.remove(sandboxId);
+    }
+  }
+}
@@ -11,7 +11,9 @@ package org.dcsa.conformance.sandbox.state;
 //
 // PK=session#UUID      SK=state#orchestrator  value={...}                          lock=...
 // PK=session#UUID      SK=state#party#NAME    value={...}                          lock=...
-// PK=session#UUID      SK=exchange#UTC#UUID   value={...}
+// PK=session#UUID      SK=run#UUID#exchange#UTC#UUID  value={scenarioRun: UUID, actionId: UUID, exchange: {...}}
+// PK=session#UUID      SK=run#UUID#action#UUID#UTC#UUID  value={exchangeSortKey: run#UUID#exchange#UTC#UUID}
+// PK=session#UUID      SK=UTC                 value={scenarioRun: UUID, exchange: {...}}  (legacy)
 //
 // PK=environment#UUID      SK=report#digest#<sandboxUUID>#<reportUTC> value={...title...standard...}
 // PK=environment#UUID      SK=report#content#<sandboxUUID>#<reportUTC> value={...}
@@ -19,17 +21,21 @@ package org.dcsa.conformance.sandbox.state;
 import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.UUID;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 import org.dcsa.conformance.core.state.SortedPartitionsLockingMap;
 import org.dcsa.conformance.core.state.SortedPartitionsNonLockingMap;
 import org.dcsa.conformance.core.state.StatefulExecutor;
+import org.dcsa.conformance.core.state.VersionedItemValue;
 import org.dcsa.conformance.core.toolkit.JsonToolkit;
 
+@Slf4j
 @Getter
 public class ConformancePersistenceProvider {
   /*
@@ -37,59 +43,130 @@ public class ConformancePersistenceProvider {
    *  PK=itemPK / SK=itemSK / value=largeItemValue
    *
    * Internally, items are transformed into:
-   *  PK=itemPK / SK=itemSK / value="DCSA_CONFORMANCE_CHUNKED_VALUE#<CHUNK_UUID>"
+   *  PK=itemPK / SK=itemSK / value="DCSA_CONFORMANCE_CHUNKED_VALUE#<CHUNK_UUID>#<CHUNK_COUNT>"
    *  PK=itemPK / SK=chunk#itemSK#<CHUNK_UUID>#00000000 / value=largeItemValue.substring(0 * MAX_VALUE_LENGTH, 1 * MAX_VALUE_LENGTH)
    *  PK=itemPK / SK=chunk#itemSK#<CHUNK_UUID>#00000001 / value=largeItemValue.substring(1 * MAX_VALUE_LENGTH, 2 * MAX_VALUE_LENGTH)
    *  ...
    *
-   * When chunked values are modified, a new chunk UUID is used; old chunks are neither overwritten nor cleaned up.
+   * When chunked values are modified, a new chunk UUID is used and the new chunks are written
+   * before the redirect, so that readers never see a partially written value. The chunks of the
+   * previous version are removed (first chunk first) once the new redirect is in place:
+   *  - by the non-locking map, when a chunked value is overwritten by setItemValue()
+   *  - by the stateful executor, when a chunked state it loaded (or read optimistically) is saved
+   * Readers only reassemble a value if they find as many chunks as the redirect records (older
+   * redirects have no count), with contiguous indexes, and otherwise read the item again or fail
+   * with an IncompleteChunkedValueException, which is worth retrying.
+   * Chunks orphaned in any other way (older versions of this class, failed writes, chunked
+   * non-locking values overwritten by small values in a setItemValues() batch) are reclaimed by
+   * deleteOrphanedChunks().
+   *
+   * Before any chunking, values are encoded by the PersistedValueCodec (by default, larger values
+   * are stored as gzip-compressed JSON), so that most values fit into a single item. Values are
+   * decoded after the chunks are reassembled; values stored without encoding are read as-is.
    */
 
   private static final int DEFAULT_MAX_VALUE_LENGTH = 64 * 1024;
   private static final String DCSA_CONFORMANCE_CHUNKED_VALUE = "DCSA_CONFORMANCE_CHUNKED_VALUE";
+  private static final String CHUNK_SORT_KEY_PREFIX = "chunk#";
+  private static final String FIRST_CHUNK_INDEX = "%08d".formatted(0);
+  private static final int CHUNK_SORT_KEY_SUFFIX_LENGTH = 1 + 36 + 1 + FIRST_CHUNK_INDEX.length();
+  private static final int MAX_UNLOCKED_READ_ATTEMPTS = 3;
+
   private final int maxValueLength;
+  private final PersistedValueCodec valueCodec;
   private final SortedPartitionsNonLockingMap nonLockingMap;
   private final StatefulExecutor statefulExecutor;
 
+  @Getter(AccessLevel.NONE)
+  private final SortedPartitionsNonLockingMap internalNonLockingMap;
+
+  @Getter(AccessLevel.NONE)
+  private final SortedPartitionsLockingMap internalLockingMap;
+
   public ConformancePersistenceProvider(
       SortedPartitionsNonLockingMap internalNonLockingMap,
       SortedPartitionsLockingMap internalLockingMap) {
-    this(internalNonLockingMap, internalLockingMap, DEFAULT_MAX_VALUE_LENGTH);
+    this(internalNonLockingMap, internalLockingMap, new GzipPersistedValueCodec());
+  }
+
+  public ConformancePersistenceProvider(
+      SortedPartitionsNonLockingMap internalNonLockingMap,
+      SortedPartitionsLockingMap internalLockingMap,
+      PersistedValueCodec valueCodec) {
+    this(internalNonLockingMap, internalLockingMap, DEFAULT_MAX_VALUE_LENGTH, valueCodec);
   }
 
   ConformancePersistenceProvider(
       SortedPartitionsNonLockingMap internalNonLockingMap,
       SortedPartitionsLockingMap internalLockingMap,
-      int maxValueLength) {
+      int maxValueLength,
+      PersistedValueCodec valueCodec) {
     this.maxValueLength = maxValueLength;
+    this.valueCodec = valueCodec;
+    this.internalNonLockingMap = internalNonLockingMap;
+    this.internalLockingMap = internalLockingMap;
     this.nonLockingMap =
         new SortedPartitionsNonLockingMap() {
           @Override
           public void setItemValue(String partitionKey, String sortKey, JsonNode value) {
-            String stringValue = value.toString();
-            if (stringValue.length() <= maxValueLength) {
-              internalNonLockingMap.setItemValue(partitionKey, sortKey, value);
-              return;
+            JsonNode encodedValue = valueCodec.encode(value);
+            String stringValue = encodedValue.toString();
+            JsonNode internalValue = encodedValue;
+            if (stringValue.length() > maxValueLength) {
+              String chunkUuid = UUID.randomUUID().toString();
+              LinkedHashMap<String, JsonNode> chunksBySortKey =
+                  valueToChunks(getChunkSortKeyPrefix(sortKey, chunkUuid), stringValue);
+              internalNonLockingMap.setItemValues(partitionKey, chunksBySortKey);
+              internalValue = getChunkValueRedirect(chunkUuid, chunksBySortKey.size());
             }
-            String chunkUuid = UUID.randomUUID().toString();
-            valueToChunks(getChunkSortKeyPrefix(sortKey, chunkUuid), stringValue)
-                .forEach(
-                    (chunkSortKey, chunkValue) ->
-                        internalNonLockingMap.setItemValue(partitionKey, chunkSortKey, chunkValue));
-            internalNonLockingMap.setItemValue(
-                partitionKey, sortKey, getChunkValueRedirect(chunkUuid));
+            removeChunks(
+                partitionKey,
+                sortKey,
+                internalNonLockingMap.replaceItemValue(partitionKey, sortKey, internalValue));
           }
 
           @Override
           public JsonNode getItemValue(String partitionKey, String sortKey) {
+            return toExternalValue(
+                partitionKey,
+                sortKey,
+                internalNonLockingMap.getItemValue(partitionKey, sortKey));
+          }
+
+          @Override
+          public void setItemValues(String partitionKey, Map<String, JsonNode> valuesBySortKey) {
+            // values that need chunking are written one by one, to manage their chunk lifecycle
+            LinkedHashMap<String, JsonNode> encodedValuesBySortKey = new LinkedHashMap<>();
+            valuesBySortKey.forEach(
+                (sortKey, value) -> {
+                  JsonNode encodedValue = valueCodec.encode(value);
+                  if (encodedValue.toString().length() <= maxValueLength) {
+                    encodedValuesBySortKey.put(sortKey, encodedValue);
+                  } else {
+                    setItemValue(partitionKey, sortKey, value);
+                  }
+                });
+            internalNonLockingMap.setItemValues(partitionKey, encodedValuesBySortKey);
+          }
+
+          @Override
+          public LinkedHashMap<String, JsonNode> getItemValues(
+              String partitionKey, Collection<String> sortKeys) {
+            LinkedHashMap<String, JsonNode> valuesBySortKey = new LinkedHashMap<>();
+            internalNonLockingMap
+                .getItemValues(partitionKey, sortKeys)
+                .forEach(
+                    (sortKey, internalValue) ->
+                        valuesBySortKey.put(
+                            sortKey, toExternalValue(partitionKey, sortKey, internalValue)));
+            return valuesBySortKey;
+          }
+
+          @Override
+          public void removeItem(String partitionKey, String sortKey) {
             JsonNode internalItemValue = internalNonLockingMap.getItemValue(partitionKey, sortKey);
-            if (isNotChunkedValueRedirect(internalItemValue)) {
-              return internalItemValue;
-            }
-            return chunksToValue(
-                internalNonLockingMap.getPartitionValuesBySortKey(
-                    partitionKey,
-                    getChunkSortKeyPrefix(sortKey, getChunksUuid(internalItemValue))));
+            internalNonLockingMap.removeItem(partitionKey, sortKey);
+            removeChunks(partitionKey, sortKey, internalItemValue);
           }
 
           @Override
@@ -100,18 +177,10 @@ public class ConformancePersistenceProvider {
                 .entrySet()
                 .stream()
                 .map(
-                    entry -> {
-                      if (isNotChunkedValueRedirect(entry.getValue())) {
-                        return entry;
-                      }
-                      return Map.entry(
-                          entry.getKey(),
-                          chunksToValue(
-                              internalNonLockingMap.getPartitionValuesBySortKey(
-                                  partitionKey,
-                                  getChunkSortKeyPrefix(
-                                      entry.getKey(), getChunksUuid(entry.getValue())))));
-                    })
+                    entry ->
+                        Map.entry(
+                            entry.getKey(),
+                            toExternalValue(partitionKey, entry.getKey(), entry.getValue())))
                 .collect(
                     Collectors.toMap(
                         Map.Entry::getKey,
@@ -134,13 +203,7 @@ public class ConformancePersistenceProvider {
                                     .computeIfAbsent(partitionKey, ignoredPK -> new TreeMap<>())
                                     .put(
                                         sortKey,
-                                        isNotChunkedValueRedirect(internalValue)
-                                            ? internalValue
-                                            : chunksToValue(
-                                                internalNonLockingMap.getPartitionValuesBySortKey(
-                                                    partitionKey,
-                                                    getChunkSortKeyPrefix(
-                                                        sortKey, getChunksUuid(internalValue)))))));
+                                        toExternalValue(partitionKey, sortKey, internalValue))));
             return externalResult;
           }
         };
@@ -148,22 +211,31 @@ public class ConformancePersistenceProvider {
     this.statefulExecutor =
         new StatefulExecutor(
             new SortedPartitionsLockingMap() {
+              // chunk redirects of the locked items, as loaded by their current lock holders
+              private final ConcurrentHashMap<String, JsonNode> loadedRedirectsByLock =
+                  new ConcurrentHashMap<>();
+
               @Override
               public void saveItem(
                   String lockedBy, String partitionKey, String sortKey, JsonNode value) {
-                String stringValue = value.toString();
+                JsonNode loadedRedirect =
+                    loadedRedirectsByLock.remove(getLockKey(lockedBy, partitionKey, sortKey));
+                JsonNode encodedValue = valueCodec.encode(value);
+                String stringValue = encodedValue.toString();
                 if (stringValue.length() <= maxValueLength) {
-                  internalLockingMap.saveItem(lockedBy, partitionKey, sortKey, value);
-                  return;
+                  internalLockingMap.saveItem(lockedBy, partitionKey, sortKey, encodedValue);
+                } else {
+                  String chunkUuid = UUID.randomUUID().toString();
+                  LinkedHashMap<String, JsonNode> chunksBySortKey =
+                      valueToChunks(getChunkSortKeyPrefix(sortKey, chunkUuid), stringValue);
+                  internalNonLockingMap.setItemValues(partitionKey, chunksBySortKey);
+                  internalLockingMap.saveItem(
+                      lockedBy,
+                      partitionKey,
+                      sortKey,
+                      getChunkValueRedirect(chunkUuid, chunksBySortKey.size()));
                 }
-                String chunkUuid = UUID.randomUUID().toString();
-                valueToChunks(getChunkSortKeyPrefix(sortKey, chunkUuid), stringValue)
-                    .forEach(
-                        (chunkSorKey, chunkValue) ->
-                            internalNonLockingMap.setItemValue(
-                                partitionKey, chunkSorKey, chunkValue));
-                internalLockingMap.saveItem(
-                    lockedBy, partitionKey, sortKey, getChunkValueRedirect(chunkUuid));
+                removeChunks(partitionKey, sortKey, loadedRedirect);
               }
 
               @Override
@@ -171,21 +243,246 @@ public class ConformancePersistenceProvider {
                 JsonNode internalItemValue =
                     internalLockingMap.loadItem(lockedBy, partitionKey, sortKey);
                 if (isNotChunkedValueRedirect(internalItemValue)) {
-                  return internalItemValue;
+                  return valueCodec.decode(internalItemValue);
                 }
-                return chunksToValue(
-                    internalNonLockingMap.getPartitionValuesBySortKey(
-                        partitionKey,
-                        getChunkSortKeyPrefix(sortKey, getChunksUuid(internalItemValue))));
+                LinkedHashMap<String, JsonNode> chunksBySortKey =
+                    loadChunks(partitionKey, sortKey, internalItemValue);
+                if (!isComplete(chunksBySortKey, internalItemValue)) {
+                  internalLockingMap.unlockItem(lockedBy, partitionKey, sortKey);
+                  throw new IncompleteChunkedValueException(partitionKey, sortKey);
+                }
+                loadedRedirectsByLock.put(
+                    getLockKey(lockedBy, partitionKey, sortKey), internalItemValue);
+                return valueCodec.decode(chunksToValue(chunksBySortKey));
               }
 
               @Override
               public void unlockItem(String lockedBy, String partitionKey, String sortKey) {
+                loadedRedirectsByLock.remove(getLockKey(lockedBy, partitionKey, sortKey));
                 internalLockingMap.unlockItem(lockedBy, partitionKey, sortKey);
               }
+
+              @Override
+              public VersionedItemValue readItem(String partitionKey, String sortKey) {
+                return readUnlocked(partitionKey, sortKey);
+              }
+
+              @Override
+              public boolean compareAndSaveItem(
+                  String partitionKey, String sortKey, long expectedVersion, JsonNode value) {
+                // the replaced value is unknown: its chunks (if any) are left to the sweep
+                return compareAndSaveItem(
+                    partitionKey, sortKey, new VersionedItemValue(null, expectedVersion), value);
+              }
+
+              @Override
+              public boolean compareAndSaveItem(
+                  String partitionKey,
+                  String sortKey,
+                  VersionedItemValue originalItem,
+                  JsonNode value) {
+                JsonNode encodedValue = valueCodec.encode(value);
+                String stringValue = encodedValue.toString();
+                JsonNode internalValue = encodedValue;
+                if (stringValue.length() > maxValueLength) {
+                  String chunkUuid = UUID.randomUUID().toString();
+                  LinkedHashMap<String, JsonNode> chunksBySortKey =
+                      valueToChunks(getChunkSortKeyPrefix(sortKey, chunkUuid), stringValue);
+                  internalNonLockingMap.setItemValues(partitionKey, chunksBySortKey);
+                  internalValue = getChunkValueRedirect(chunkUuid, chunksBySortKey.size());
+                }
+                if (!internalLockingMap.compareAndSaveItem(
+                    partitionKey, sortKey, originalItem.version(), internalValue)) {
+                  removeChunks(partitionKey, sortKey, internalValue);
+                  return false;
+                }
+                // the save replaced exactly the value read with this version
+                removeChunks(partitionKey, sortKey, originalItem.internalValue());
+                return true;
+              }
+
+              private String getLockKey(String lockedBy, String partitionKey, String sortKey) {
+                return "%s#%s#%s".formatted(lockedBy, partitionKey, sortKey);
+              }
             });
   }
 
+  /**
+   * Reads the current value of a state item managed by the stateful executor, without locking it
+   * and without waiting for its current lock holder (if any) to release it.
+   *
+   * <p>The value is the one most recently saved, so it is a consistent snapshot, but it can be
+   * outdated by the time it is returned. Only meant for operations that never modify the state.
+   *
+   * @return the state value, or an empty object node if the item does not exist
+   */
+  public JsonNode readStateSnapshot(String partitionKey, String sortKey) {
+    JsonNode value = readUnlocked(partitionKey, sortKey).value();
+    return value == null ? OBJECT_MAPPER.createObjectNode() : value;
+  }
+
+  /**
+   * Removes the chunks that are no longer referenced by the item they were created for, in all
+   * the partitions whose key starts with the specified prefix.
+   *
+   * <p>The item of each chunk is looked up in the internal non-locking map and, if it is not found
+   * there, in the internal locking map, where the states of the stateful executor can be stored.
+   *
+   * <p>Meant to be run offline, but safe to run concurrently with normal traffic: orphan candidates
+   * are only removed if their item still does not reference them after the grace period, which
+   * leaves in-flight writes enough time to store their redirect.
+   *
+   * @return the number of chunk items removed
+   */
+  @SneakyThrows
+  public int deleteOrphanedChunks(String partitionKeyPrefix, Duration gracePeriod) {
+    Map<String, Map<String, List<String>>> candidateChunkSortKeysByPrefixByPartition =
+        new TreeMap<>();
+    internalNonLockingMap
+        .scan(partitionKeyPrefix, CHUNK_SORT_KEY_PREFIX)
+        .forEach(
+            (partitionKey, valuesBySortKey) ->
+                valuesBySortKey.keySet().stream()
+                    .filter(
+                        chunkSortKey ->
+                            chunkSortKey.length()
+                                > CHUNK_SORT_KEY_PREFIX.length() + CHUNK_SORT_KEY_SUFFIX_LENGTH)
+                    .forEach(
+                        chunkSortKey ->
+                            candidateChunkSortKeysByPrefixByPartition
+                                .computeIfAbsent(partitionKey, ignoredKey -> new TreeMap<>())
+                                .computeIfAbsent(
+                                    chunkSortKey.substring(
+                                        0, chunkSortKey.length() - FIRST_CHUNK_INDEX.length()),
+                                    ignoredKey -> new ArrayList<>())
+                                .add(chunkSortKey)));
+    _retainOrphanedChunks(candidateChunkSortKeysByPrefixByPartition);
+    if (candidateChunkSortKeysByPrefixByPartition.isEmpty()) return 0;
+
+    Thread.sleep(gracePeriod.toMillis());
+    _retainOrphanedChunks(candidateChunkSortKeysByPrefixByPartition);
+    int removedChunkCount = 0;
+    for (Map.Entry<String, Map<String, List<String>>> partitionEntry :
+        candidateChunkSortKeysByPrefixByPartition.entrySet()) {
+      String partitionKey = partitionEntry.getKey();
+      for (List<String> chunkSortKeys : partitionEntry.getValue().values()) {
+        chunkSortKeys.forEach(
+            chunkSortKey -> internalNonLockingMap.removeItem(partitionKey, chunkSortKey));
+        removedChunkCount += chunkSortKeys.size();
+      }
+    }
+    log.info(
+        "Removed %d orphaned chunks from partitions starting with '%s'"
+            .formatted(removedChunkCount, partitionKeyPrefix));
+    return removedChunkCount;
+  }
+
+  private void _retainOrphanedChunks(
+      Map<String, Map<String, List<String>>> chunkSortKeysByPrefixByPartition) {
+    chunkSortKeysByPrefixByPartition
+        .entrySet()
+        .removeIf(
+            partitionEntry -> {
+              partitionEntry
+                  .getValue()
+                  .keySet()
+                  .removeIf(
+                      chunkSortKeyPrefix ->
+                          !_isOrphanedChunkSortKeyPrefix(
+                              partitionEntry.getKey(), chunkSortKeyPrefix));
+              return partitionEntry.getValue().isEmpty();
+            });
+  }
+
+  private boolean _isOrphanedChunkSortKeyPrefix(String partitionKey, String chunkSortKeyPrefix) {
+    // chunk#<itemSK>#<CHUNK_UUID>#
+    String itemSortKeyAndUuid =
+        chunkSortKeyPrefix.substring(
+            CHUNK_SORT_KEY_PREFIX.length(), chunkSortKeyPrefix.length() - 1);
+    int uuidSeparatorIndex = itemSortKeyAndUuid.length() - 37;
+    String itemSortKey = itemSortKeyAndUuid.substring(0, uuidSeparatorIndex);
+    JsonNode itemValue = internalNonLockingMap.getItemValue(partitionKey, itemSortKey);
+    if (itemValue == null) {
+      itemValue = internalLockingMap.readItem(partitionKey, itemSortKey).value();
+    }
+    return isNotChunkedValueRedirect(itemValue)
+        || !getChunksUuid(itemValue).equals(itemSortKeyAndUuid.substring(uuidSeparatorIndex + 1));
+  }
+
+  private VersionedItemValue readUnlocked(String partitionKey, String sortKey) {
+    for (int attempt = 1; ; ++attempt) {
+      VersionedItemValue internalItem = internalLockingMap.readItem(partitionKey, sortKey);
+      if (isNotChunkedValueRedirect(internalItem.value())) {
+        return new VersionedItemValue(
+            valueCodec.decode(internalItem.value()), internalItem.version(), internalItem.value());
+      }
+      LinkedHashMap<String, JsonNode> chunksBySortKey =
+          loadChunks(partitionKey, sortKey, internalItem.value());
+      if (!isComplete(chunksBySortKey, internalItem.value())) {
+        // without a lock, the chunks can be removed by a concurrent save: read again
+        if (attempt < MAX_UNLOCKED_READ_ATTEMPTS) continue;
+        throw new IncompleteChunkedValueException(partitionKey, sortKey);
+      }
+      return new VersionedItemValue(
+          valueCodec.decode(chunksToValue(chunksBySortKey)),
+          internalItem.version(),
+          internalItem.value());
+    }
+  }
+
+  private JsonNode toExternalValue(String partitionKey, String sortKey, JsonNode internalValue) {
+    return valueCodec.decode(
+        isNotChunkedValueRedirect(internalValue)
+            ? internalValue
+            : loadChunkedValue(partitionKey, sortKey, internalValue));
+  }
+
+  private JsonNode loadChunkedValue(String partitionKey, String sortKey, JsonNode redirect) {
+    LinkedHashMap<String, JsonNode> chunksBySortKey = loadChunks(partitionKey, sortKey, redirect);
+    if (!isComplete(chunksBySortKey, redirect)) {
+      // the value was overwritten and its chunks removed after the redirect was read
+      JsonNode currentValue = internalNonLockingMap.getItemValue(partitionKey, sortKey);
+      if (isNotChunkedValueRedirect(currentValue)) {
+        return currentValue;
+      }
+      chunksBySortKey = loadChunks(partitionKey, sortKey, currentValue);
+      if (!isComplete(chunksBySortKey, currentValue)) {
+        throw new IncompleteChunkedValueException(partitionKey, sortKey);
+      }
+    }
+    return chunksToValue(chunksBySortKey);
+  }
+
+  private LinkedHashMap<String, JsonNode> loadChunks(
+      String partitionKey, String sortKey, JsonNode redirect) {
+    return internalNonLockingMap.getPartitionValuesBySortKey(
+        partitionKey, getChunkSortKeyPrefix(sortKey, getChunksUuid(redirect)));
+  }
+
+  private static boolean isComplete(
+      LinkedHashMap<String, JsonNode> chunksBySortKey, JsonNode redirect) {
+    String[] redirectParts = redirect.asText().split("#");
+    // redirects written by older versions of this class don't record their chunk count
+    if (redirectParts.length > 2 && chunksBySortKey.size() != Integer.parseInt(redirectParts[2])) {
+      return false;
+    }
+    int chunkIndex = 0;
+    for (String chunkSortKey : chunksBySortKey.keySet()) {
+      if (!chunkSortKey.endsWith("%08d".formatted(chunkIndex++))) return false;
+    }
+    return chunkIndex > 0;
+  }
+
+  private void removeChunks(String partitionKey, String sortKey, JsonNode previousRedirect) {
+    if (isNotChunkedValueRedirect(previousRedirect)) return;
+    // concurrent readers notice the missing chunks by their count and indexes
+    internalNonLockingMap
+        .getPartitionValuesBySortKey(
+            partitionKey, getChunkSortKeyPrefix(sortKey, getChunksUuid(previousRedirect)))
+        .keySet()
+        .forEach(chunkSortKey -> internalNonLockingMap.removeItem(partitionKey, chunkSortKey));
+  }
+
   private LinkedHashMap<String, JsonNode> valueToChunks(String chunkSortKeyPrefix, String value) {
     LinkedHashMap<String, JsonNode> chunksBySortKey = new LinkedHashMap<>();
     for (int chunkIndex = 0; chunkIndex * maxValueLength < value.length(); ++chunkIndex) {
@@ -209,8 +506,9 @@ public class ConformancePersistenceProvider {
         || !internalItemValue.asText().startsWith(DCSA_CONFORMANCE_CHUNKED_VALUE);
   }
 
-  private JsonNode getChunkValueRedirect(String chunkUuid) {
-    return OBJECT_MAPPER.valueToTree("%s#%s".formatted(DCSA_CONFORMANCE_CHUNKED_VALUE, chunkUuid));
+  private JsonNode getChunkValueRedirect(String chunkUuid, int chunkCount) {
+    return OBJECT_MAPPER.valueToTree(
+        "%s#%s#%d".formatted(DCSA_CONFORMANCE_CHUNKED_VALUE, chunkUuid, chunkCount));
   }
 
   private String getChunksUuid(JsonNode chunkValueRedirect) {
@@ -218,6 +516,6 @@ public class ConformancePersistenceProvider {
   }
 
   private String getChunkSortKeyPrefix(String sortKey, String chunkUuid) {
-    return "chunk#%s#%s#".formatted(sortKey, chunkUuid);
+    return "%s%s#%s#".formatted(CHUNK_SORT_KEY_PREFIX, sortKey, chunkUuid);
   }
 }
@@ -8,6 +8,7 @@ import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.dcsa.conformance.core.state.AbstractSortedPartitionsLockingMap;
 import org.dcsa.conformance.core.state.TemporaryLockingMapException;
+import org.dcsa.conformance.core.state.VersionedItemValue;
 import org.dcsa.conformance.core.toolkit.JsonToolkit;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.*;
@@ -53,18 +54,21 @@ public class DynamoDbSortedPartitionsLockingMap extends AbstractSortedPartitions
                                       + "AND lockedBy = :lb "
                                       + "AND lockedUntil > :olu"
                                       + ")")
-                              .updateExpression("SET #v = :v, #lb = :lb, #lu = :nlu")
+                              .updateExpression(
+                                  "SET #v = :v, #lb = :lb, #lu = :nlu ADD #ver :one")
                               .expressionAttributeNames(
                                   Map.ofEntries(
                                       Map.entry("#v", "value"),
                                       Map.entry("#lb", "lockedBy"),
-                                      Map.entry("#lu", "lockedUntil")))
+                                      Map.entry("#lu", "lockedUntil"),
+                                      Map.entry("#ver", "version")))
                               .expressionAttributeValues(
                                   Map.ofEntries(
                                       Map.entry(":v", AttributeValue.fromS(value.toString())),
                                       Map.entry(":lb", AttributeValue.fromS(lockedBy)),
                                       Map.entry(":olu", AttributeValue.fromS(oldLockedUntil)),
-                                      Map.entry(":nlu", AttributeValue.fromS(newLockedUntil))))
+                                      Map.entry(":nlu", AttributeValue.fromS(newLockedUntil)),
+                                      Map.entry(":one", AttributeValue.fromN("1"))))
                               .build())
                       .build())
               .build());
@@ -302,6 +306,75 @@ public class DynamoDbSortedPartitionsLockingMap extends AbstractSortedPartitions
         "END _unlockItem(LB=%s, PK=%s, SK=%s, ...)".formatted(lockedBy, partitionKey, sortKey));
   }
 
+  @Override
+  public VersionedItemValue readItem(String partitionKey, String sortKey) {
+    Map<String, AttributeValue> item =
+        dynamoDbClient
+            .getItem(
+                GetItemRequest.builder()
+                    .tableName(tableName)
+                    .key(
+                        Map.ofEntries(
+                            Map.entry("PK", AttributeValue.fromS(partitionKey)),
+                            Map.entry("SK", AttributeValue.fromS(sortKey))))
+                    .consistentRead(true)
+                    .build())
+            .item();
+    return new VersionedItemValue(
+        JsonToolkit.stringToJsonNode(
+            Objects.requireNonNullElse(item.get("value"), AttributeValue.fromS("{}")).s()),
+        item.containsKey("version") ? Long.parseLong(item.get("version").n()) : 0L);
+  }
+
+  @Override
+  public boolean compareAndSaveItem(
+      String partitionKey, String sortKey, long expectedVersion, JsonNode value) {
+    log.info(
+        "START compareAndSaveItem(PK=%s, SK=%s, V=%d, ...)"
+            .formatted(partitionKey, sortKey, expectedVersion));
+    try {
+      dynamoDbClient.updateItem(
+          UpdateItemRequest.builder()
+              .tableName(tableName)
+              .key(
+                  Map.ofEntries(
+                      Map.entry("PK", AttributeValue.fromS(partitionKey)),
+                      Map.entry("SK", AttributeValue.fromS(sortKey))))
+              .conditionExpression(
+                  "(attribute_not_exists(#lu) OR #lu < :now) AND "
+                      + (expectedVersion == 0 ? "attribute_not_exists(#ver)" : "#ver = :ev"))
+              .updateExpression("SET #v = :v, #ver = :nv")
+              .expressionAttributeNames(
+                  Map.ofEntries(
+                      Map.entry("#v", "value"),
+                      Map.entry("#lu", "lockedUntil"),
+                      Map.entry("#ver", "version")))
+              .expressionAttributeValues(
+                  expectedVersion == 0
+                      ? Map.ofEntries(
+                          Map.entry(":v", AttributeValue.fromS(value.toString())),
+                          Map.entry(":now", AttributeValue.fromS(Instant.now().toString())),
+                          Map.entry(":nv", AttributeValue.fromN("1")))
+                      : Map.ofEntries(
+                          Map.entry(":v", AttributeValue.fromS(value.toString())),
+                          Map.entry(":now", AttributeValue.fromS(Instant.now().toString())),
+                          Map.entry(":ev", AttributeValue.fromN(Long.toString(expectedVersion))),
+                          Map.entry(
+                              ":nv", AttributeValue.fromN(Long.toString(expectedVersion + 1)))))
+              .build());
+    } catch (ConditionalCheckFailedException | TransactionConflictException exception) {
+      log.info(
+          "%s compareAndSaveItem(PK=%s, SK=%s, V=%d, ...)"
+              .formatted(
+                  exception.getClass().getSimpleName(), partitionKey, sortKey, expectedVersion));
+      return false;
+    }
+    log.info(
+        "END compareAndSaveItem(PK=%s, SK=%s, V=%d, ...)"
+            .formatted(partitionKey, sortKey, expectedVersion));
+    return true;
+  }
+
   private TransactGetItemsResponse retryTransactGetItems(
       TransactGetItemsRequest transactGetItemsRequest) {
     TransactionCanceledException latestTransactionCanceledException = null;
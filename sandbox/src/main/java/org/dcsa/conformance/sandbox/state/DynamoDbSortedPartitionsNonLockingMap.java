@@ -2,18 +2,29 @@ package org.dcsa.conformance.sandbox.state;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
 import org.dcsa.conformance.core.state.SortedPartitionsNonLockingMap;
 import org.dcsa.conformance.core.toolkit.JsonToolkit;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.*;
 
+@Slf4j
 public class DynamoDbSortedPartitionsNonLockingMap implements SortedPartitionsNonLockingMap {
+  private static final int MAX_BATCH_GET_ITEM_COUNT = 100;
+  private static final int MAX_BATCH_WRITE_ITEM_COUNT = 25;
+  private static final int MAX_BATCH_RETRY_COUNT = 8;
+  private static final long BATCH_RETRY_BASE_MILLIS = 50L;
+  private static final Random RANDOM = new Random();
+
   private final DynamoDbClient dynamoDbClient;
   private final String tableName;
 
@@ -35,6 +46,27 @@ public class DynamoDbSortedPartitionsNonLockingMap implements SortedPartitionsNo
             .build());
   }
 
+  @Override
+  public JsonNode replaceItemValue(String partitionKey, String sortKey, JsonNode value) {
+    AttributeValue previousAttributeValue =
+        dynamoDbClient
+            .putItem(
+                PutItemRequest.builder()
+                    .tableName(tableName)
+                    .item(
+                        Map.ofEntries(
+                            Map.entry("PK", AttributeValue.fromS(partitionKey)),
+                            Map.entry("SK", AttributeValue.fromS(sortKey)),
+                            Map.entry("value", AttributeValue.fromS(value.toString()))))
+                    .returnValues(ReturnValue.ALL_OLD)
+                    .build())
+            .attributes()
+            .get("value");
+    return previousAttributeValue == null
+        ? null
+        : JsonToolkit.stringToJsonNode(previousAttributeValue.s());
+  }
+
   @Override
   public JsonNode getItemValue(String partitionKey, String sortKey) {
     AttributeValue attributeValue =
@@ -53,6 +85,115 @@ public class DynamoDbSortedPartitionsNonLockingMap implements SortedPartitionsNo
     return attributeValue == null ? null : JsonToolkit.stringToJsonNode(attributeValue.s());
   }
 
+  @Override
+  public void setItemValues(String partitionKey, Map<String, JsonNode> valuesBySortKey) {
+    List<WriteRequest> writeRequests =
+        valuesBySortKey.entrySet().stream()
+            .map(
+                entry ->
+                    WriteRequest.builder()
+                        .putRequest(
+                            PutRequest.builder()
+                                .item(
+                                    Map.ofEntries(
+                                        Map.entry("PK", AttributeValue.fromS(partitionKey)),
+                                        Map.entry("SK", AttributeValue.fromS(entry.getKey())),
+                                        Map.entry(
+                                            "value",
+                                            AttributeValue.fromS(entry.getValue().toString()))))
+                                .build())
+                        .build())
+            .toList();
+    for (int start = 0; start < writeRequests.size(); start += MAX_BATCH_WRITE_ITEM_COUNT) {
+      Map<String, List<WriteRequest>> requestItems =
+          Map.of(
+              tableName,
+              writeRequests.subList(
+                  start, Math.min(start + MAX_BATCH_WRITE_ITEM_COUNT, writeRequests.size())));
+      for (int retryCount = 0; !requestItems.isEmpty(); ++retryCount) {
+        _backOffBeforeBatchRetry("BatchWriteItem", retryCount);
+        requestItems =
+            dynamoDbClient
+                .batchWriteItem(BatchWriteItemRequest.builder().requestItems(requestItems).build())
+                .unprocessedItems();
+      }
+    }
+  }
+
+  @Override
+  public LinkedHashMap<String, JsonNode> getItemValues(
+      String partitionKey, Collection<String> sortKeys) {
+    List<String> distinctSortKeys = sortKeys.stream().distinct().toList();
+    HashMap<String, JsonNode> valuesBySortKey = new HashMap<>();
+    for (int start = 0; start < distinctSortKeys.size(); start += MAX_BATCH_GET_ITEM_COUNT) {
+      Map<String, KeysAndAttributes> requestItems =
+          Map.of(
+              tableName,
+              KeysAndAttributes.builder()
+                  .keys(
+                      distinctSortKeys
+                          .subList(
+                              start,
+                              Math.min(start + MAX_BATCH_GET_ITEM_COUNT, distinctSortKeys.size()))
+                          .stream()
+                          .map(
+                              sortKey ->
+                                  Map.ofEntries(
+                                      Map.entry("PK", AttributeValue.fromS(partitionKey)),
+                                      Map.entry("SK", AttributeValue.fromS(sortKey))))
+                          .toList())
+                  .consistentRead(true)
+                  .build());
+      for (int retryCount = 0; !requestItems.isEmpty(); ++retryCount) {
+        _backOffBeforeBatchRetry("BatchGetItem", retryCount);
+        BatchGetItemResponse batchGetItemResponse =
+            dynamoDbClient.batchGetItem(
+                BatchGetItemRequest.builder().requestItems(requestItems).build());
+        batchGetItemResponse.responses().getOrDefault(tableName, List.of()).stream()
+            .filter(item -> item.containsKey("value"))
+            .forEach(
+                item ->
+                    valuesBySortKey.put(
+                        item.get("SK").s(), JsonToolkit.stringToJsonNode(item.get("value").s())));
+        requestItems = batchGetItemResponse.unprocessedKeys();
+      }
+    }
+    LinkedHashMap<String, JsonNode> orderedValuesBySortKey = new LinkedHashMap<>();
+    distinctSortKeys.stream()
+        .filter(valuesBySortKey::containsKey)
+        .forEach(sortKey -> orderedValuesBySortKey.put(sortKey, valuesBySortKey.get(sortKey)));
+    return orderedValuesBySortKey;
+  }
+
+  private static void _backOffBeforeBatchRetry(String operationName, int retryCount) {
+    if (retryCount == 0) return;
+    if (retryCount > MAX_BATCH_RETRY_COUNT) {
+      throw new RuntimeException(
+          "%s left unprocessed items after %d retries"
+              .formatted(operationName, MAX_BATCH_RETRY_COUNT));
+    }
+    log.info("%s retry %d for unprocessed items".formatted(operationName, retryCount));
+    long maxBackOffMillis = BATCH_RETRY_BASE_MILLIS << Math.min(retryCount, 6);
+    try {
+      Thread.sleep(RANDOM.nextLong(maxBackOffMillis / 2, maxBackOffMillis));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while retrying " + operationName, e);
+    }
+  }
+
+  @Override
+  public void removeItem(String partitionKey, String sortKey) {
+    dynamoDbClient.deleteItem(
+        DeleteItemRequest.builder()
+            .tableName(tableName)
+            .key(
+                Map.ofEntries(
+                    Map.entry("PK", AttributeValue.fromS(partitionKey)),
+                    Map.entry("SK", AttributeValue.fromS(sortKey))))
+            .build());
+  }
+
   @Override
   public LinkedHashMap<String, JsonNode> getPartitionValuesBySortKey(
       String partitionKey, String sortKeyPrefix) {
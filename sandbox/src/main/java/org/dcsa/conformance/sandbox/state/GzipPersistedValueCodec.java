@@ -0,0 +1,67 @@
+package org.dcsa.conformance.sandbox.state;
+
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.SneakyThrows;
+
+/**
+ * Stores values whose JSON serialization exceeds a minimum length as gzip-compressed JSON, in a
+ * text value of the form {@code DCSA_CONFORMANCE_GZIP_VALUE#<base64>}. Smaller values are stored
+ * as-is, since compressing them would not save anything worth the CPU time.
+ */
+public class GzipPersistedValueCodec implements PersistedValueCodec {
+  private static final int DEFAULT_MIN_VALUE_LENGTH = 1024;
+  private static final String DCSA_CONFORMANCE_GZIP_VALUE = "DCSA_CONFORMANCE_GZIP_VALUE#";
+
+  private final int minValueLength;
+
+  public GzipPersistedValueCodec() {
+    this(DEFAULT_MIN_VALUE_LENGTH);
+  }
+
+  public GzipPersistedValueCodec(int minValueLength) {
+    this.minValueLength = minValueLength;
+  }
+
+  @Override
+  @SneakyThrows
+  public JsonNode encode(JsonNode value) {
+    byte[] jsonBytes = OBJECT_MAPPER.writeValueAsBytes(value);
+    if (jsonBytes.length < minValueLength) {
+      return value;
+    }
+    ByteArrayOutputStream compressedBytes = new ByteArrayOutputStream(jsonBytes.length / 4);
+    try (OutputStream gzipOutputStream = new GZIPOutputStream(compressedBytes)) {
+      gzipOutputStream.write(jsonBytes);
+    }
+    return TextNode.valueOf(
+        DCSA_CONFORMANCE_GZIP_VALUE
+            + Base64.getEncoder().encodeToString(compressedBytes.toByteArray()));
+  }
+
+  @Override
+  @SneakyThrows
+  public JsonNode decode(JsonNode storedValue) {
+    if (storedValue == null
+        || !storedValue.isTextual()
+        || !storedValue.asText().startsWith(DCSA_CONFORMANCE_GZIP_VALUE)) {
+      return storedValue;
+    }
+    byte[] compressedBytes =
+        Base64.getDecoder()
+            .decode(storedValue.asText().substring(DCSA_CONFORMANCE_GZIP_VALUE.length()));
+    try (InputStream gzipInputStream =
+        new GZIPInputStream(new ByteArrayInputStream(compressedBytes))) {
+      return OBJECT_MAPPER.readTree(gzipInputStream);
+    }
+  }
+}
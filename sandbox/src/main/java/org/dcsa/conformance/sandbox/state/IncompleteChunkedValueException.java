@@ -0,0 +1,14 @@
+package org.dcsa.conformance.sandbox.state;
+
+/**
+ * Thrown instead of decoding a chunked value whose chunks are not all found, typically because a
+ * concurrent write replaced the value and removed its chunks: reading the item again normally
+ * succeeds.
+ */
+public class IncompleteChunkedValueException extends RuntimeException {
+  public IncompleteChunkedValueException(String partitionKey, String sortKey) {
+    super(
+        "Incomplete chunks of item (partitionKey='%s', sortKey='%s')"
+            .formatted(partitionKey, sortKey));
+  }
+}
@@ -0,0 +1,29 @@
+package org.dcsa.conformance.sandbox.state;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Transforms item values between their external form and the form in which they are stored by the
+ * internal maps of the {@link ConformancePersistenceProvider}, before any chunking is applied.
+ *
+ * <p>Implementations must leave values they did not encode unchanged when decoding, so that items
+ * stored before a codec was introduced (or stored by a different codec) remain readable.
+ */
+public interface PersistedValueCodec {
+  PersistedValueCodec IDENTITY =
+      new PersistedValueCodec() {
+        @Override
+        public JsonNode encode(JsonNode value) {
+          return value;
+        }
+
+        @Override
+        public JsonNode decode(JsonNode storedValue) {
+          return storedValue;
+        }
+      };
+
+  JsonNode encode(JsonNode value);
+
+  JsonNode decode(JsonNode storedValue);
+}
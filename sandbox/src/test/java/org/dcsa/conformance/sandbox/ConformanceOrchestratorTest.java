@@ -0,0 +1,263 @@
+package org.dcsa.conformance.sandbox;
+
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.dcsa.conformance.core.AbstractComponentFactory;
+import org.dcsa.conformance.core.UserFacingException;
+import org.dcsa.conformance.core.report.ConformanceStatus;
+import org.dcsa.conformance.core.state.JsonNodeMap;
+import org.dcsa.conformance.core.state.MemorySortedPartitionsNonLockingMap;
+import org.dcsa.conformance.core.state.SortedPartitionsNonLockingMap;
+import org.dcsa.conformance.core.traffic.ConformanceExchange;
+import org.dcsa.conformance.core.traffic.ConformanceMessage;
+import org.dcsa.conformance.core.traffic.ConformanceMessageBody;
+import org.dcsa.conformance.core.traffic.ConformanceRequest;
+import org.dcsa.conformance.core.traffic.TrafficRecorder;
+import org.dcsa.conformance.sandbox.configuration.SandboxConfiguration;
+import org.dcsa.conformance.standards.adoption.AdoptionStandard;
+import org.dcsa.conformance.standards.adoption.party.AdoptionRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the statuses and sub-reports tracked per scenario are the same as those of the full
+ * scenario conformance check, on an Adoption sandbox where the adopter is the manual counterpart.
+ */
+class ConformanceOrchestratorTest {
+  private static final String ADOPTER_PARTY_NAME = AdoptionRole.ADOPTER.getConfigName() + "1";
+  private static final String DCSA_PARTY_NAME = AdoptionRole.DCSA.getConfigName() + "1";
+
+  private final List<ConformanceWebRequest> outboundWebRequests = new ArrayList<>();
+  private SortedPartitionsNonLockingMap nonLockingMap;
+  private SandboxConfiguration sandboxConfiguration;
+  private AbstractComponentFactory componentFactory;
+  private ConformanceOrchestrator orchestrator;
+  private String getScenarioId;
+  private String putScenarioId;
+
+  @BeforeEach
+  void setUp() {
+    nonLockingMap = new MemorySortedPartitionsNonLockingMap();
+    String standardVersion =
+        AdoptionStandard.INSTANCE.getScenarioSuitesByStandardVersion().firstKey();
+    componentFactory =
+        AdoptionStandard.INSTANCE.createComponentFactory(
+            standardVersion,
+            AdoptionStandard.INSTANCE
+                .getScenarioSuitesByStandardVersion()
+                .get(standardVersion)
+                .first());
+    sandboxConfiguration =
+        SandboxConfiguration.fromJsonNode(
+            componentFactory.getJsonSandboxConfigurationTemplate(
+                AdoptionRole.ADOPTER.getConfigName(), true, true));
+    orchestrator = createOrchestrator();
+
+    JsonNode scenarioDigests = orchestrator.getScenarioDigests();
+    getScenarioId = scenarioDigests.get(0).get("scenarios").get(0).get("id").asText();
+    putScenarioId = scenarioDigests.get(1).get("scenarios").get(0).get("id").asText();
+  }
+
+  @Test
+  void scenariosWithoutRunsHaveNoTraffic() {
+    assertStatusesMatchFullCheck(orchestrator);
+    assertEquals(ConformanceStatus.NO_TRAFFIC.name(), getDigestStatus(orchestrator, getScenarioId));
+  }
+
+  @Test
+  void newRunsMatchTheFullCheck() {
+    orchestrator.startOrStopScenario(getScenarioId);
+    assertStatusesMatchFullCheck(orchestrator);
+  }
+
+  @Test
+  void partyInputMatchesTheFullCheck() {
+    orchestrator.startOrStopScenario(getScenarioId);
+    assertStatusesMatchFullCheck(orchestrator);
+
+    supplyScenarioParameters();
+    assertStatusesMatchFullCheck(orchestrator);
+    assertFalse(outboundWebRequests.isEmpty());
+  }
+
+  @Test
+  void recordedExchangesInvalidateTheStoredStatus() {
+    orchestrator.startOrStopScenario(getScenarioId);
+    supplyScenarioParameters();
+    assertStatusesMatchFullCheck(orchestrator);
+    String statusBeforeExchange = getDigestStatus(orchestrator, getScenarioId);
+
+    orchestrator.handlePartyTrafficExchange(createExchange(DCSA_PARTY_NAME, ADOPTER_PARTY_NAME));
+    assertStatusesMatchFullCheck(orchestrator);
+    assertNotEquals(statusBeforeExchange, getDigestStatus(orchestrator, getScenarioId));
+  }
+
+  @Test
+  void completedActionsMatchTheFullCheck() {
+    orchestrator.startOrStopScenario(getScenarioId);
+    supplyScenarioParameters();
+    orchestrator.handlePartyTrafficExchange(createExchange(DCSA_PARTY_NAME, ADOPTER_PARTY_NAME));
+    assertStatusesMatchFullCheck(orchestrator);
+
+    orchestrator.completeCurrentAction(false);
+    assertStatusesMatchFullCheck(orchestrator);
+    assertFalse(orchestrator.getScenarioStatus(getScenarioId).get("isRunning").asBoolean());
+  }
+
+  @Test
+  void rejectedSkipsAndCompletionsKeepMatchingTheFullCheck() {
+    orchestrator.startOrStopScenario(putScenarioId);
+    assertStatusesMatchFullCheck(orchestrator);
+    String statusBeforeRejections = getDigestStatus(orchestrator, putScenarioId);
+
+    assertThrows(UserFacingException.class, () -> orchestrator.completeCurrentAction(true));
+    assertThrows(UserFacingException.class, () -> orchestrator.completeCurrentAction(false));
+    assertStatusesMatchFullCheck(orchestrator);
+    assertEquals(statusBeforeRejections, getDigestStatus(orchestrator, putScenarioId));
+
+    orchestrator.handlePartyTrafficExchange(createExchange(ADOPTER_PARTY_NAME, DCSA_PARTY_NAME));
+    orchestrator.completeCurrentAction(false);
+    assertStatusesMatchFullCheck(orchestrator);
+  }
+
+  @Test
+  void restartedRunsDoNotReuseTheStatusOfThePreviousRun() {
+    orchestrator.startOrStopScenario(putScenarioId);
+    orchestrator.handlePartyTrafficExchange(createExchange(ADOPTER_PARTY_NAME, DCSA_PARTY_NAME));
+    orchestrator.completeCurrentAction(false);
+    assertStatusesMatchFullCheck(orchestrator);
+    assertNotEquals(
+        ConformanceStatus.NO_TRAFFIC.name(), getDigestStatus(orchestrator, putScenarioId));
+
+    orchestrator.startOrStopScenario(putScenarioId);
+    assertStatusesMatchFullCheck(orchestrator);
+    assertEquals(ConformanceStatus.NO_TRAFFIC.name(), getDigestStatus(orchestrator, putScenarioId));
+  }
+
+  @Test
+  void persistedSubReportsOfInvalidatedStatusesAreNotReused() throws Exception {
+    orchestrator.startOrStopScenario(getScenarioId);
+    supplyScenarioParameters();
+    // computes and persists the sub-report of the current run
+    assertStatusesMatchFullCheck(orchestrator);
+
+    // the exchange invalidates the persisted sub-report without recomputing it
+    orchestrator.handlePartyTrafficExchange(createExchange(DCSA_PARTY_NAME, ADOPTER_PARTY_NAME));
+    JsonNode persistedState = OBJECT_MAPPER.readTree(orchestrator.exportJsonState().toString());
+
+    ConformanceOrchestrator readOnlyOrchestrator = createOrchestrator();
+    readOnlyOrchestrator.importJsonState(persistedState);
+    readOnlyOrchestrator.setReadOnly(true);
+    assertStatusesMatchFullCheck(readOnlyOrchestrator);
+
+    ConformanceOrchestrator otherOrchestrator = createOrchestrator();
+    otherOrchestrator.importJsonState(persistedState);
+    assertStatusesMatchFullCheck(otherOrchestrator);
+    assertEquals(
+        getDigestStatus(orchestrator, getScenarioId),
+        getDigestStatus(otherOrchestrator, getScenarioId));
+  }
+
+  private ConformanceOrchestrator createOrchestrator() {
+    ConformanceOrchestrator newOrchestrator =
+        new ConformanceOrchestrator(
+            sandboxConfiguration,
+            componentFactory,
+            new TrafficRecorder(nonLockingMap, "session#test"),
+            new JsonNodeMap(nonLockingMap, "session#test", "map#orchestrator#"));
+    newOrchestrator.setAsyncWebClient(outboundWebRequests::add);
+    return newOrchestrator;
+  }
+
+  private void supplyScenarioParameters() {
+    ObjectNode scenarioStatus = orchestrator.getScenarioStatus(getScenarioId);
+    ObjectNode partyInput =
+        OBJECT_MAPPER
+            .createObjectNode()
+            .put("actionId", scenarioStatus.get("promptActionId").asText());
+    partyInput.set("input", scenarioStatus.get("jsonForPromptText"));
+    orchestrator.handlePartyInput(partyInput);
+  }
+
+  private static ConformanceExchange createExchange(
+      String sourcePartyName, String targetPartyName) {
+    ConformanceRequest request =
+        new ConformanceRequest(
+            "GET",
+            "http://localhost/conformance/test",
+            Map.of(),
+            new ConformanceMessage(
+                sourcePartyName,
+                sourcePartyName.substring(0, sourcePartyName.length() - 1),
+                targetPartyName,
+                targetPartyName.substring(0, targetPartyName.length() - 1),
+                Map.of(),
+                new ConformanceMessageBody("{}"),
+                System.currentTimeMillis()));
+    return new ConformanceExchange(
+        request, request.createResponse(200, Map.of(), new ConformanceMessageBody("{}")));
+  }
+
+  private static String getDigestStatus(ConformanceOrchestrator orchestrator, String scenarioId) {
+    for (JsonNode moduleNode : orchestrator.getScenarioDigests()) {
+      for (JsonNode scenarioNode : moduleNode.get("scenarios")) {
+        if (scenarioId.equals(scenarioNode.get("id").asText())) {
+          return scenarioNode.get("conformanceStatus").asText();
+        }
+      }
+    }
+    throw new IllegalArgumentException("Unknown scenario " + scenarioId);
+  }
+
+  /**
+   * Asserts that the digest status of each scenario and the sub-report of each scenario run are
+   * those of the corresponding branch of the full report. The per-scenario queries run first, so
+   * that they do not benefit from the scenarios loaded by the full check.
+   */
+  private static void assertStatusesMatchFullCheck(ConformanceOrchestrator orchestrator) {
+    JsonNode scenarioDigests = orchestrator.getScenarioDigests();
+    Map<String, JsonNode> subReportsByScenarioId = new HashMap<>();
+    scenarioDigests.forEach(
+        moduleNode ->
+            moduleNode
+                .get("scenarios")
+                .forEach(
+                    scenarioNode -> {
+                      String scenarioId = scenarioNode.get("id").asText();
+                      JsonNode subReport =
+                          orchestrator.getScenarioStatus(scenarioId).get("conformanceSubReport");
+                      if (subReport != null) {
+                        subReportsByScenarioId.put(scenarioId, subReport);
+                      }
+                    }));
+
+    JsonNode moduleReports = orchestrator.createFullReport().get("subReports");
+    assertEquals(scenarioDigests.size(), moduleReports.size());
+    for (int moduleIndex = 0; moduleIndex < scenarioDigests.size(); ++moduleIndex) {
+      JsonNode scenarioNodes = scenarioDigests.get(moduleIndex).get("scenarios");
+      JsonNode scenarioReports = moduleReports.get(moduleIndex).get("subReports");
+      assertEquals(scenarioNodes.size(), scenarioReports.size());
+      for (int scenarioIndex = 0; scenarioIndex < scenarioNodes.size(); ++scenarioIndex) {
+        String scenarioId = scenarioNodes.get(scenarioIndex).get("id").asText();
+        JsonNode scenarioReport = scenarioReports.get(scenarioIndex);
+        assertEquals(
+            scenarioReport.get("status").asText(),
+            scenarioNodes.get(scenarioIndex).get("conformanceStatus").asText(),
+            "status of scenario " + scenarioId);
+        if (subReportsByScenarioId.containsKey(scenarioId)) {
+          assertEquals(
+              scenarioReport,
+              subReportsByScenarioId.get(scenarioId),
+              "sub-report of scenario " + scenarioId);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package org.dcsa.conformance.sandbox;
+
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.dcsa.conformance.core.state.MemorySortedPartitionsLockingMap;
+import org.dcsa.conformance.core.state.MemorySortedPartitionsNonLockingMap;
+import org.dcsa.conformance.sandbox.state.ConformancePersistenceProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrchestratorCacheTest {
+  private final JsonNode configuration = OBJECT_MAPPER.createObjectNode().put("id", "sandbox1");
+  private final JsonNode state = OBJECT_MAPPER.createObjectNode().put("currentScenarioId", "abc");
+
+  private ConformancePersistenceProvider persistenceProvider;
+  private ConformanceOrchestrator orchestrator;
+  private OrchestratorCache orchestratorCache;
+
+  @BeforeEach
+  void setUp() {
+    persistenceProvider =
+        new ConformancePersistenceProvider(
+            new MemorySortedPartitionsNonLockingMap(), new MemorySortedPartitionsLockingMap());
+    orchestrator = mock(ConformanceOrchestrator.class);
+    orchestratorCache = new OrchestratorCache(2);
+  }
+
+  @Test
+  void reusesOrchestratorWhenNothingChanged() {
+    orchestratorCache.checkIn(
+        persistenceProvider, "sandbox1", "session1", configuration, state, orchestrator);
+    assertSame(
+        orchestrator,
+        orchestratorCache.checkOut(
+            persistenceProvider, "sandbox1", "session1", configuration, state.deepCopy()));
+  }
+
+  @Test
+  void reusesOrchestratorWhenPersistedStateParsesNumbersDifferently() throws Exception {
+    JsonNode exportedState = OBJECT_MAPPER.createObjectNode().put("revision", 3L).put("ratio", 0.5);
+    orchestratorCache.checkIn(
+        persistenceProvider, "sandbox1", "session1", configuration, exportedState, orchestrator);
+    JsonNode persistedState = OBJECT_MAPPER.readTree(exportedState.toString());
+    assertNotEquals(exportedState, persistedState);
+    assertSame(
+        orchestrator,
+        orchestratorCache.checkOut(
+            persistenceProvider, "sandbox1", "session1", configuration, persistedState));
+  }
+
+  @Test
+  void orchestratorIsNotSharedWhileCheckedOut() {
+    orchestratorCache.checkIn(
+        persistenceProvider, "sandbox1", "session1", configuration, state, orchestrator);
+    assertNotNull(
+        orchestratorCache.checkOut(
+            persistenceProvider, "sandbox1", "session1", configuration, state));
+    assertNull(
+        orchestratorCache.checkOut(
+            persistenceProvider, "sandbox1", "session1", configuration, state));
+  }
+
+  @Test
+  void discardsOrchestratorWhenStateOrVersionChanged() {
+    JsonNode otherState = OBJECT_MAPPER.createObjectNode().put("currentScenarioId", "def");
+    JsonNode otherConfiguration = OBJECT_MAPPER.createObjectNode().put("id", "sandbox2");
+
+    orchestratorCache.checkIn(
+        persistenceProvider, "sandbox1", "session1", configuration, state, orchestrator);
+    assertNull(
+        orchestratorCache.checkOut(
+            persistenceProvider, "sandbox1", "session1", configuration, otherState));
+
+    orchestratorCache.checkIn(
+        persistenceProvider, "sandbox1", "session1", configuration, state, orchestrator);
+    assertNull(
+        orchestratorCache.checkOut(
+            persistenceProvider, "sandbox1", "session1", otherConfiguration, state));
+
+    orchestratorCache.checkIn(
+        persistenceProvider, "sandbox1", "session1", configuration, state, orchestrator);
+    assertNull(
+        orchestratorCache.checkOut(
+            persistenceProvider, "sandbox1", "session2", configuration, state));
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedEntries() {
+    orchestratorCache.checkIn(
+        persistenceProvider, "sandbox1", "session1", configuration, state, orchestrator);
+    orchestratorCache.checkIn(
+        persistenceProvider, "sandbox2", "session1", configuration, state, orchestrator);
+    orchestratorCache.checkIn(
+        persistenceProvider, "sandbox3", "session1", configuration, state, orchestrator);
+    assertNull(
+        orchestratorCache.checkOut(
+            persistenceProvider, "sandbox1", "session1", configuration, state));
+    assertNotNull(
+        orchestratorCache.checkOut(
+            persistenceProvider, "sandbox3", "session1", configuration, state));
+  }
+}
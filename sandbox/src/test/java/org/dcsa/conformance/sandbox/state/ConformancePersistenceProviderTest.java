@@ -5,6 +5,11 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
@@ -18,16 +23,20 @@ import org.junit.jupiter.api.Test;
 
 class ConformancePersistenceProviderTest {
   private static final int TEST_MAX_VALUE_LENGTH = 128;
+  private SortedPartitionsNonLockingMap internalNonLockingMap;
+  private ConformancePersistenceProvider conformancePersistenceProvider;
   private SortedPartitionsNonLockingMap nonLockingMap;
   private StatefulExecutor statefulExecutor;
 
   @BeforeEach
   void setUp() {
-    ConformancePersistenceProvider conformancePersistenceProvider =
+    internalNonLockingMap = new MemorySortedPartitionsNonLockingMap();
+    conformancePersistenceProvider =
         new ConformancePersistenceProvider(
-            new MemorySortedPartitionsNonLockingMap(),
+            internalNonLockingMap,
             new MemorySortedPartitionsLockingMap(),
-            TEST_MAX_VALUE_LENGTH);
+            TEST_MAX_VALUE_LENGTH,
+            PersistedValueCodec.IDENTITY);
     nonLockingMap = conformancePersistenceProvider.getNonLockingMap();
     statefulExecutor = conformancePersistenceProvider.getStatefulExecutor();
   }
@@ -61,6 +70,21 @@ class ConformancePersistenceProviderTest {
     assertEquals(writtenNode, readNode);
   }
 
+  @Test
+  void nonLockingMapBatchesWorkWithSmallAndLargeValues() {
+    JsonNode smallNode = OBJECT_MAPPER.createObjectNode().put("keyOne", "valueOne");
+    JsonNode largeNode = createNestedJsonNode(1);
+    LinkedHashMap<String, JsonNode> writtenNodesBySortKey = new LinkedHashMap<>();
+    writtenNodesBySortKey.put("smallSK", smallNode);
+    writtenNodesBySortKey.put("largeSK", largeNode);
+    nonLockingMap.setItemValues("testPK", writtenNodesBySortKey);
+
+    assertTrue(countChunks() > 0);
+    assertEquals(
+        writtenNodesBySortKey,
+        nonLockingMap.getItemValues("testPK", List.of("smallSK", "missingSK", "largeSK")));
+  }
+
   @Test
   void executorStateLargeJsonWorksNormally() {
     JsonNode firstSavedState = createNestedJsonNode(1);
@@ -91,6 +115,238 @@ class ConformancePersistenceProviderTest {
     assertEquals(secondSavedState, secondLoadedStateReference.get());
   }
 
+  @Test
+  void nonLockingMapOverwriteRemovesPreviousChunks() {
+    nonLockingMap.setItemValue("testPK", "testSK", createNestedJsonNode(1));
+    int firstVersionChunkCount = countChunks();
+    JsonNode secondWrittenNode = createNestedJsonNode(2);
+    nonLockingMap.setItemValue("testPK", "testSK", secondWrittenNode);
+
+    assertEquals(secondWrittenNode, nonLockingMap.getItemValue("testPK", "testSK"));
+    assertTrue(firstVersionChunkCount > 0);
+    assertEquals(
+        internalNonLockingMap
+            .getPartitionValuesBySortKey(
+                "testPK",
+                "chunk#testSK#%s#"
+                    .formatted(
+                        internalNonLockingMap
+                            .getItemValue("testPK", "testSK")
+                            .asText()
+                            .split("#")[1]))
+            .size(),
+        countChunks());
+
+    nonLockingMap.removeItem("testPK", "testSK");
+    assertNull(nonLockingMap.getItemValue("testPK", "testSK"));
+    assertEquals(0, countChunks());
+  }
+
+  @Test
+  void executorSaveRemovesPreviousChunks() {
+    statefulExecutor.execute(
+        "firstStateSaver", "testPK", "testSK", initialJsonState -> createNestedJsonNode(2));
+    int firstVersionChunkCount = countChunks();
+    statefulExecutor.execute(
+        "secondStateSaver", "testPK", "testSK", initialJsonState -> createNestedJsonNode(2));
+    assertEquals(firstVersionChunkCount, countChunks());
+
+    statefulExecutor.execute(
+        "smallStateSaver",
+        "testPK",
+        "testSK",
+        initialJsonState -> OBJECT_MAPPER.createObjectNode());
+    assertEquals(0, countChunks());
+  }
+
+  @Test
+  void executorOptimisticLargeJsonWorksNormally() {
+    JsonNode firstSavedState = createNestedJsonNode(1);
+    statefulExecutor.executeOptimistically(
+        "firstStateSaver", "testPK", "testSK", initialJsonState -> firstSavedState);
+    int firstVersionChunkCount = countChunks();
+
+    AtomicReference<JsonNode> loadedStateReference = new AtomicReference<>();
+    statefulExecutor.executeOptimistically(
+        "stateLoader",
+        "testPK",
+        "testSK",
+        initialJsonState -> {
+          loadedStateReference.set(initialJsonState);
+          return createNestedJsonNode(1);
+        });
+
+    assertEquals(firstSavedState, loadedStateReference.get());
+    assertTrue(firstVersionChunkCount > 0);
+    assertEquals(firstVersionChunkCount, countChunks());
+  }
+
+  @Test
+  void executorOptimisticConflictsRemoveAllSupersededChunks() {
+    statefulExecutor.executeOptimistically(
+        "firstStateSaver", "testPK", "testSK", initialJsonState -> createNestedJsonNode(1));
+    int firstVersionChunkCount = countChunks();
+
+    AtomicInteger attemptCount = new AtomicInteger();
+    statefulExecutor.executeOptimistically(
+        "conflictingStateSaver",
+        "testPK",
+        "testSK",
+        initialJsonState -> {
+          if (attemptCount.incrementAndGet() == 1) {
+            statefulExecutor.executeOptimistically(
+                "concurrentStateSaver",
+                "testPK",
+                "testSK",
+                concurrentJsonState -> createNestedJsonNode(1));
+          }
+          return createNestedJsonNode(1);
+        });
+
+    assertEquals(2, attemptCount.get());
+    assertEquals(firstVersionChunkCount, countChunks());
+  }
+
+  @Test
+  void stateSnapshotIsReadWhileStateIsLocked() {
+    JsonNode firstSavedState = createNestedJsonNode(1);
+    statefulExecutor.execute(
+        "firstStateSaver", "testPK", "testSK", initialJsonState -> firstSavedState);
+
+    AtomicReference<JsonNode> snapshotReference = new AtomicReference<>();
+    statefulExecutor.execute(
+        "stateModifier",
+        "testPK",
+        "testSK",
+        lockedJsonState -> {
+          snapshotReference.set(
+              conformancePersistenceProvider.readStateSnapshot("testPK", "testSK"));
+          return createNestedJsonNode(1);
+        });
+
+    assertEquals(firstSavedState, snapshotReference.get());
+    assertTrue(conformancePersistenceProvider.readStateSnapshot("otherPK", "otherSK").isEmpty());
+  }
+
+  @Test
+  void orphanedChunksAreDeletedAndLiveChunksAreKept() {
+    JsonNode writtenNode = createNestedJsonNode(1);
+    nonLockingMap.setItemValue("testPK", "testSK", writtenNode);
+    int liveChunkCount = countChunks();
+    internalNonLockingMap.setItemValue(
+        "testPK",
+        "chunk#testSK#%s#00000000".formatted(UUID.randomUUID()),
+        OBJECT_MAPPER.valueToTree("{"));
+    internalNonLockingMap.setItemValue(
+        "testPK",
+        "chunk#testSK#%s#00000001".formatted(UUID.randomUUID()),
+        OBJECT_MAPPER.valueToTree("}"));
+
+    assertEquals(2, conformancePersistenceProvider.deleteOrphanedChunks("test", Duration.ZERO));
+    assertEquals(liveChunkCount, countChunks());
+    assertEquals(writtenNode, nonLockingMap.getItemValue("testPK", "testSK"));
+    assertEquals(0, conformancePersistenceProvider.deleteOrphanedChunks("test", Duration.ZERO));
+  }
+
+  @Test
+  void nonLockingMapSmallOverwriteRemovesPreviousChunks() {
+    nonLockingMap.setItemValue("testPK", "testSK", createNestedJsonNode(1));
+    assertTrue(countChunks() > 0);
+
+    JsonNode smallNode = OBJECT_MAPPER.createObjectNode().put("keyOne", "valueOne");
+    nonLockingMap.setItemValue("testPK", "testSK", smallNode);
+    assertEquals(smallNode, nonLockingMap.getItemValue("testPK", "testSK"));
+    assertEquals(0, countChunks());
+  }
+
+  @Test
+  void orphanedChunksOfExecutorStatesAreDeleted() {
+    JsonNode savedState = createNestedJsonNode(1);
+    statefulExecutor.execute("stateSaver", "testPK", "testSK", initialJsonState -> savedState);
+    int liveChunkCount = countChunks();
+    internalNonLockingMap.setItemValue(
+        "testPK",
+        "chunk#testSK#%s#00000000".formatted(UUID.randomUUID()),
+        OBJECT_MAPPER.valueToTree("{}"));
+    internalNonLockingMap.setItemValue(
+        "testPK",
+        "chunk#missingSK#%s#00000000".formatted(UUID.randomUUID()),
+        OBJECT_MAPPER.valueToTree("{}"));
+
+    assertEquals(2, conformancePersistenceProvider.deleteOrphanedChunks("test", Duration.ZERO));
+    assertTrue(liveChunkCount > 0);
+    assertEquals(liveChunkCount, countChunks());
+    assertEquals(savedState, conformancePersistenceProvider.readStateSnapshot("testPK", "testSK"));
+  }
+
+  @Test
+  void incompleteChunkedValuesAreNotDecoded() {
+    nonLockingMap.setItemValue("testPK", "valueSK", createNestedJsonNode(1));
+    statefulExecutor.execute(
+        "stateSaver", "testPK", "stateSK", initialJsonState -> createNestedJsonNode(1));
+    _removeLastChunk("chunk#valueSK#");
+    _removeLastChunk("chunk#stateSK#");
+
+    assertThrows(
+        IncompleteChunkedValueException.class,
+        () -> nonLockingMap.getItemValue("testPK", "valueSK"));
+    assertThrows(
+        IncompleteChunkedValueException.class,
+        () -> conformancePersistenceProvider.readStateSnapshot("testPK", "stateSK"));
+    assertThrows(
+        IncompleteChunkedValueException.class,
+        () -> statefulExecutor.execute("stateLoader", "testPK", "stateSK", state -> null));
+  }
+
+  @Test
+  void chunkedValuesWithoutChunkCountAreStillRead() {
+    JsonNode writtenNode = createNestedJsonNode(1);
+    nonLockingMap.setItemValue("testPK", "testSK", writtenNode);
+    String redirect = internalNonLockingMap.getItemValue("testPK", "testSK").asText();
+    internalNonLockingMap.setItemValue(
+        "testPK",
+        "testSK",
+        OBJECT_MAPPER.valueToTree(redirect.substring(0, redirect.lastIndexOf('#'))));
+
+    assertEquals(writtenNode, nonLockingMap.getItemValue("testPK", "testSK"));
+  }
+
+  @Test
+  void compressedLargeValuesFitIntoSingleItems() {
+    ConformancePersistenceProvider compressingPersistenceProvider =
+        new ConformancePersistenceProvider(
+            internalNonLockingMap,
+            new MemorySortedPartitionsLockingMap(),
+            512,
+            new GzipPersistedValueCodec(64));
+    JsonNode writtenNode = createNestedJsonNode(1); // 1470 bytes as JSON, ~220 compressed
+    compressingPersistenceProvider.getNonLockingMap().setItemValue("testPK", "testSK", writtenNode);
+
+    assertEquals(0, countChunks());
+    assertTrue(internalNonLockingMap.getItemValue("testPK", "testSK").isTextual());
+    assertEquals(
+        writtenNode,
+        compressingPersistenceProvider.getNonLockingMap().getItemValue("testPK", "testSK"));
+
+    nonLockingMap.setItemValue("testPK", "uncompressedSK", writtenNode);
+    assertEquals(
+        writtenNode,
+        compressingPersistenceProvider.getNonLockingMap().getItemValue("testPK", "uncompressedSK"));
+  }
+
+  private void _removeLastChunk(String chunkSortKeyPrefix) {
+    internalNonLockingMap.removeItem(
+        "testPK",
+        internalNonLockingMap
+            .getPartitionValuesBySortKey("testPK", chunkSortKeyPrefix)
+            .lastEntry()
+            .getKey());
+  }
+
+  private int countChunks() {
+    return internalNonLockingMap.getPartitionValuesBySortKey("testPK", "chunk#").size();
+  }
+
   private static JsonNode createNestedJsonNode(int levels) {
     ObjectNode node = OBJECT_MAPPER.createObjectNode();
     Stream.of("one", "two", "three", "four", "five", "six", "seven", "eight", "nine", "ten")
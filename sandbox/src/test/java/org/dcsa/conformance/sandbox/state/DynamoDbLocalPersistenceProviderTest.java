@@ -0,0 +1,158 @@
+package org.dcsa.conformance.sandbox.state;
+
+import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.dcsa.conformance.core.state.SortedPartitionsNonLockingMap;
+import org.dcsa.conformance.core.state.StatefulExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
+import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
+
+/**
+ * Runs the chunk lifecycle against DynamoDB Local, where the locking and non-locking maps share
+ * the same table:
+ *
+ * <p>{@code docker run -p 127.0.0.1:8000:8000 amazon/dynamodb-local}
+ *
+ * <p>The endpoint can be overridden with the DYNAMODB_LOCAL_URL environment variable.
+ */
+@Tag("Integration")
+class DynamoDbLocalPersistenceProviderTest {
+  private static final int TEST_MAX_VALUE_LENGTH = 128;
+
+  private final String tableName = "conformance-test-" + UUID.randomUUID();
+  private DynamoDbClient dynamoDbClient;
+  private DynamoDbSortedPartitionsNonLockingMap internalNonLockingMap;
+  private ConformancePersistenceProvider persistenceProvider;
+  private SortedPartitionsNonLockingMap nonLockingMap;
+  private StatefulExecutor statefulExecutor;
+
+  @BeforeEach
+  void setUp() {
+    dynamoDbClient =
+        DynamoDbClient.builder()
+            .endpointOverride(
+                URI.create(
+                    Objects.requireNonNullElse(
+                        System.getenv("DYNAMODB_LOCAL_URL"), "http://localhost:8000")))
+            .region(Region.EU_NORTH_1)
+            .credentialsProvider(
+                StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create("DummyKey", "DummySecret")))
+            .build();
+    dynamoDbClient.createTable(
+        CreateTableRequest.builder()
+            .tableName(tableName)
+            .keySchema(
+                KeySchemaElement.builder().attributeName("PK").keyType(KeyType.HASH).build(),
+                KeySchemaElement.builder().attributeName("SK").keyType(KeyType.RANGE).build())
+            .attributeDefinitions(
+                AttributeDefinition.builder()
+                    .attributeName("PK")
+                    .attributeType(ScalarAttributeType.S)
+                    .build(),
+                AttributeDefinition.builder()
+                    .attributeName("SK")
+                    .attributeType(ScalarAttributeType.S)
+                    .build())
+            .billingMode(BillingMode.PAY_PER_REQUEST)
+            .build());
+    internalNonLockingMap = new DynamoDbSortedPartitionsNonLockingMap(dynamoDbClient, tableName);
+    persistenceProvider =
+        new ConformancePersistenceProvider(
+            internalNonLockingMap,
+            new DynamoDbSortedPartitionsLockingMap(dynamoDbClient, tableName),
+            TEST_MAX_VALUE_LENGTH,
+            PersistedValueCodec.IDENTITY);
+    nonLockingMap = persistenceProvider.getNonLockingMap();
+    statefulExecutor = persistenceProvider.getStatefulExecutor();
+  }
+
+  @AfterEach
+  void tearDown() {
+    dynamoDbClient.deleteTable(DeleteTableRequest.builder().tableName(tableName).build());
+    dynamoDbClient.close();
+  }
+
+  @Test
+  void replacingItemValuesReturnsThePreviousValues() {
+    JsonNode firstValue = OBJECT_MAPPER.createObjectNode().put("version", 1);
+    assertNull(internalNonLockingMap.replaceItemValue("testPK", "testSK", firstValue));
+    assertEquals(
+        firstValue,
+        internalNonLockingMap.replaceItemValue(
+            "testPK", "testSK", OBJECT_MAPPER.createObjectNode().put("version", 2)));
+  }
+
+  @Test
+  void nonLockingMapOverwritesRemovePreviousChunks() {
+    nonLockingMap.setItemValue("testPK", "testSK", createLargeJsonNode(1));
+    int firstVersionChunkCount = countChunks();
+    JsonNode secondWrittenNode = createLargeJsonNode(2);
+    nonLockingMap.setItemValue("testPK", "testSK", secondWrittenNode);
+    assertTrue(firstVersionChunkCount > 0);
+    assertEquals(firstVersionChunkCount, countChunks());
+    assertEquals(secondWrittenNode, nonLockingMap.getItemValue("testPK", "testSK"));
+
+    JsonNode smallNode = OBJECT_MAPPER.createObjectNode().put("small", true);
+    nonLockingMap.setItemValue("testPK", "testSK", smallNode);
+    assertEquals(0, countChunks());
+    assertEquals(smallNode, nonLockingMap.getItemValue("testPK", "testSK"));
+  }
+
+  @Test
+  void orphanedChunksAreDeletedAndLiveChunksAreKept() {
+    JsonNode savedState = createLargeJsonNode(1);
+    statefulExecutor.execute("stateSaver", "testPK", "stateSK", initialJsonState -> savedState);
+    JsonNode writtenNode = createLargeJsonNode(2);
+    nonLockingMap.setItemValue("testPK", "valueSK", writtenNode);
+    int liveChunkCount = countChunks();
+    internalNonLockingMap.setItemValue(
+        "testPK",
+        "chunk#stateSK#%s#00000000".formatted(UUID.randomUUID()),
+        OBJECT_MAPPER.valueToTree("{}"));
+    internalNonLockingMap.setItemValue(
+        "testPK",
+        "chunk#valueSK#%s#00000000".formatted(UUID.randomUUID()),
+        OBJECT_MAPPER.valueToTree("{}"));
+    internalNonLockingMap.setItemValue(
+        "testPK",
+        "chunk#missingSK#%s#00000000".formatted(UUID.randomUUID()),
+        OBJECT_MAPPER.valueToTree("{}"));
+
+    assertEquals(3, persistenceProvider.deleteOrphanedChunks("test", Duration.ZERO));
+    assertEquals(liveChunkCount, countChunks());
+    assertEquals(savedState, persistenceProvider.readStateSnapshot("testPK", "stateSK"));
+    assertEquals(writtenNode, nonLockingMap.getItemValue("testPK", "valueSK"));
+  }
+
+  private int countChunks() {
+    return internalNonLockingMap.getPartitionValuesBySortKey("testPK", "chunk#").size();
+  }
+
+  private static JsonNode createLargeJsonNode(int version) {
+    ObjectNode node = OBJECT_MAPPER.createObjectNode().put("version", version);
+    IntStream.range(0, 20).forEach(index -> node.put("key" + index, "value" + index));
+    return node;
+  }
+}
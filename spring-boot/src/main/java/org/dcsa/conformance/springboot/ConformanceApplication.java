@@ -9,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.OutputStreamWriter;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -19,19 +20,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.dcsa.conformance.core.AbstractComponentFactory;
+import org.dcsa.conformance.core.AbstractStandard;
 import org.dcsa.conformance.core.state.MemorySortedPartitionsLockingMap;
 import org.dcsa.conformance.core.state.MemorySortedPartitionsNonLockingMap;
+import org.dcsa.conformance.core.toolkit.IOToolkit;
 import org.dcsa.conformance.core.toolkit.JsonToolkit;
 import org.dcsa.conformance.sandbox.ConformanceAccessChecker;
 import org.dcsa.conformance.sandbox.ConformanceSandbox;
@@ -72,19 +71,23 @@ public class ConformanceApplication {
   private final ConformancePersistenceProvider persistenceProvider;
   @Getter private final ConformanceWebuiHandler webuiHandler;
 
-  ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+  private final DeferredSandboxTaskExecutor deferredSandboxTaskExecutor;
   @Getter private final Consumer<JsonNode> deferredSandboxTaskConsumer;
+  private final LazySandboxRegistry lazySandboxRegistry;
 
   private final ConformanceAccessChecker accessChecker =
       new ConformanceAccessChecker() {
         @Override
         public String getUserEnvironmentId(String userId) {
+          // the webui lists the sandboxes of the environment
+          ConformanceApplication.this.lazySandboxRegistry.ensureManualSandboxesCreated();
           return USER_ID;
         }
 
         @Override
         public void checkUserSandboxAccess(String userId, String sandboxId) {
           // full access
+          ConformanceApplication.this.lazySandboxRegistry.ensureCreated(sandboxId);
         }
       };
 
@@ -162,9 +165,17 @@ public class ConformanceApplication {
       throw new RuntimeException(e);
     }
 
+    IOToolkit.OUTBOUND_HTTP_CLIENT.setDefaultTimeout(
+        Duration.ofMillis(conformanceConfiguration.outboundRequestTimeout));
+    deferredSandboxTaskExecutor =
+        new DeferredSandboxTaskExecutor(
+            conformanceConfiguration.deferredTaskMaxRunning,
+            conformanceConfiguration.deferredTaskMaxPending,
+            conformanceConfiguration.deferredTaskMaxSubmitWait);
     deferredSandboxTaskConsumer =
         jsonNode ->
-            executor.schedule(
+            deferredSandboxTaskExecutor.submit(
+                jsonNode.path("sandboxId").asText(),
                 () -> {
                   _addSimulatedLambdaDelay();
                   try {
@@ -173,73 +184,66 @@ public class ConformanceApplication {
                   } catch (Exception e) {
                     log.error("Deferred sandbox task execution failed", e);
                   }
-                },
-                5,
-                TimeUnit.MILLISECONDS);
-
-    Stream<AbstractComponentFactory> componentFactories =
-        Arrays.stream(ConformanceSandbox.SUPPORTED_STANDARDS)
-            .flatMap(
-                standard ->
-                    standard.getScenarioSuitesByStandardVersion().keySet().stream()
-                        .flatMap(
-                            standardVersion ->
-                                standard
-                                    .getScenarioSuitesByStandardVersion()
-                                    .get(standardVersion)
-                                    .stream()
-                                    .map(
-                                        scenarioSuite ->
-                                            standard.createComponentFactory(
-                                                standardVersion, scenarioSuite))));
-
-    componentFactories.forEach(
-        componentFactory -> {
-          ArrayList<String> roleNames = new ArrayList<>(componentFactory.getRoleNames());
-          String roleOne = roleNames.get(0);
-          String roleTwo = roleNames.get(1);
-          Stream.concat(
-                  this.conformanceConfiguration.createAutoTestingSandboxes
-                      ? Stream.of(
-                          componentFactory.getJsonSandboxConfigurationTemplate(null, false, false),
-                          componentFactory.getJsonSandboxConfigurationTemplate(
-                              roleOne, false, false),
-                          componentFactory.getJsonSandboxConfigurationTemplate(
-                              roleOne, false, true),
-                          componentFactory.getJsonSandboxConfigurationTemplate(
-                              roleTwo, false, false),
-                          componentFactory.getJsonSandboxConfigurationTemplate(
-                              roleTwo, false, true))
-                      : Stream.of(),
-                  this.conformanceConfiguration.createManualTestingSandboxes
-                      ? Stream.of(
-                          componentFactory.getJsonSandboxConfigurationTemplate(
-                              roleOne, true, false),
-                          componentFactory.getJsonSandboxConfigurationTemplate(roleOne, true, true),
-                          componentFactory.getJsonSandboxConfigurationTemplate(
-                              roleTwo, true, false),
-                          componentFactory.getJsonSandboxConfigurationTemplate(roleTwo, true, true))
-                      : Stream.of())
-              .forEach(
-                  jsonSandboxConfigurationTemplate -> {
-                    String sandboxId = jsonSandboxConfigurationTemplate.get("id").asText();
-                    if (sandboxId.contains("-auto-")
-                        && (sandboxId.contains("all-in-one")
-                            || (!conformanceConfiguration.showOnlyAllInOneSandboxes
-                                && sandboxId.contains("testing-counterparts")))) {
-                      homepageSandboxIds.add(sandboxId);
-                    }
-                    ConformanceSandbox.create(
-                        persistenceProvider,
-                        deferredSandboxTaskConsumer,
-                        USER_ID,
-                        SandboxConfiguration.fromJsonNode(jsonSandboxConfigurationTemplate));
-                  });
-        });
+                });
+
+    lazySandboxRegistry =
+        new LazySandboxRegistry(persistenceProvider, deferredSandboxTaskConsumer, USER_ID);
+    // the component factories are only used to register the sandboxes, which rebuild them on
+    // first access
+    Arrays.stream(ConformanceSandbox.SUPPORTED_STANDARDS)
+        .forEach(
+            standard ->
+                standard
+                    .getScenarioSuitesByStandardVersion()
+                    .forEach(
+                        (standardVersion, scenarioSuites) ->
+                            scenarioSuites.forEach(
+                                scenarioSuite ->
+                                    _registerSandboxes(
+                                        standard,
+                                        standard.createComponentFactory(
+                                            standardVersion, scenarioSuite)))));
     webuiHandler = new ConformanceWebuiHandler(accessChecker, "http://localhost:8080",
       persistenceProvider, deferredSandboxTaskConsumer);
   }
 
+  private void _registerSandboxes(
+      AbstractStandard standard, AbstractComponentFactory componentFactory) {
+    ArrayList<String> roleNames = new ArrayList<>(componentFactory.getRoleNames());
+    String roleOne = roleNames.get(0);
+    String roleTwo = roleNames.get(1);
+    if (this.conformanceConfiguration.createAutoTestingSandboxes) {
+      _registerSandbox(standard, componentFactory, null, false, false);
+      _registerSandbox(standard, componentFactory, roleOne, false, false);
+      _registerSandbox(standard, componentFactory, roleOne, false, true);
+      _registerSandbox(standard, componentFactory, roleTwo, false, false);
+      _registerSandbox(standard, componentFactory, roleTwo, false, true);
+    }
+    if (this.conformanceConfiguration.createManualTestingSandboxes) {
+      _registerSandbox(standard, componentFactory, roleOne, true, false);
+      _registerSandbox(standard, componentFactory, roleOne, true, true);
+      _registerSandbox(standard, componentFactory, roleTwo, true, false);
+      _registerSandbox(standard, componentFactory, roleTwo, true, true);
+    }
+  }
+
+  private void _registerSandbox(
+      AbstractStandard standard,
+      AbstractComponentFactory componentFactory,
+      String testedPartyRole,
+      boolean isManual,
+      boolean isTestingCounterpartsConfig) {
+    String sandboxId =
+        lazySandboxRegistry.register(
+            standard, componentFactory, testedPartyRole, isManual, isTestingCounterpartsConfig);
+    if (sandboxId.contains("-auto-")
+        && (sandboxId.contains("all-in-one")
+            || (!conformanceConfiguration.showOnlyAllInOneSandboxes
+                && sandboxId.contains("testing-counterparts")))) {
+      homepageSandboxIds.add(sandboxId);
+    }
+  }
+
   private void _addSimulatedLambdaDelay() {
     if (conformanceConfiguration.simulatedLambdaDelay > 0) {
       log.info("Simulating lambda delay of {} milliseconds", conformanceConfiguration.simulatedLambdaDelay);
@@ -279,6 +283,7 @@ public class ConformanceApplication {
       int sandboxIdStart = requestUrl.indexOf(uriAuthPrefix) + uriAuthPrefix.length();
       int sandboxIdEnd = requestUrl.indexOf("/", sandboxIdStart);
       String sandboxId = requestUrl.substring(sandboxIdStart, sandboxIdEnd);
+      lazySandboxRegistry.ensureCreated(sandboxId);
 
       requestUrl = requestUrl.replaceAll(localhostAuthUrlToken + "/", "");
 
@@ -305,6 +310,7 @@ public class ConformanceApplication {
     }
 
     if (conformanceWebResponse == null) {
+      lazySandboxRegistry.ensureCreated(_getSandboxId(requestUrl));
       conformanceWebResponse = ConformanceSandbox.handleRequest(
           persistenceProvider,
           new ConformanceWebRequest(
@@ -324,6 +330,17 @@ public class ConformanceApplication {
         conformanceWebResponse.body());
   }
 
+  private static String _getSandboxId(String requestUrl) {
+    String sandboxPrefix = "/conformance/sandbox/";
+    int sandboxIdStart = requestUrl.indexOf(sandboxPrefix);
+    if (sandboxIdStart < 0) return null;
+    sandboxIdStart += sandboxPrefix.length();
+    int sandboxIdEnd = requestUrl.indexOf("/", sandboxIdStart);
+    return sandboxIdEnd < 0
+        ? requestUrl.substring(sandboxIdStart)
+        : requestUrl.substring(sandboxIdStart, sandboxIdEnd);
+  }
+
   private static Map<String, List<String>> _getQueryParameters(HttpServletRequest request) {
     return request.getParameterMap().entrySet().stream()
         .map(entry -> Map.entry(entry.getKey(), Arrays.asList(entry.getValue())))
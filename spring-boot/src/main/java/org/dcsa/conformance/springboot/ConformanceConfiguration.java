@@ -15,4 +15,8 @@ public class ConformanceConfiguration {
     boolean createManualTestingSandboxes;
     boolean showOnlyAllInOneSandboxes;
     long simulatedLambdaDelay;
+    int deferredTaskMaxRunning = 64;
+    int deferredTaskMaxPending = 10_000;
+    long deferredTaskMaxSubmitWait = 5_000;
+    long outboundRequestTimeout = 3_600_000;
 }
@@ -0,0 +1,96 @@
+package org.dcsa.conformance.springboot;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the deferred sandbox tasks on virtual threads, so that tasks blocked on slow counterparts
+ * (synchronous outbound requests can wait for up to an hour) only hold up their own sandbox.
+ *
+ * <p>Tasks with the same ordering key (the sandbox id) run one at a time, in submission order, as
+ * they did on the single deferred task thread. Tasks with different keys run concurrently, up to
+ * the configured maximum number of running tasks.
+ *
+ * <p>Submitting a task blocks while the maximum number of pending tasks is reached. Since tasks
+ * also submit other tasks, the submission proceeds anyway after a while, rather than risk waiting
+ * for a task that cannot start until the submitting one completes.
+ */
+@Slf4j
+class DeferredSandboxTaskExecutor {
+  private record PendingTask(Runnable runnable, boolean hasPendingPermit) {}
+
+  private final ExecutorService virtualThreadExecutor =
+      Executors.newVirtualThreadPerTaskExecutor();
+  private final Semaphore runningTaskPermits;
+  private final Semaphore pendingTaskPermits;
+  private final long maxSubmitWaitMillis;
+
+  // queues of the ordering keys that have a task draining them, which remove them once empty
+  private final HashMap<String, ArrayDeque<PendingTask>> pendingTasksByOrderingKey =
+      new HashMap<>();
+
+  DeferredSandboxTaskExecutor(int maxRunningTasks, int maxPendingTasks, long maxSubmitWaitMillis) {
+    this.runningTaskPermits = new Semaphore(maxRunningTasks, true);
+    this.pendingTaskPermits = new Semaphore(maxPendingTasks);
+    this.maxSubmitWaitMillis = maxSubmitWaitMillis;
+  }
+
+  void submit(String orderingKey, Runnable runnable) {
+    PendingTask pendingTask = new PendingTask(runnable, _acquirePendingTaskPermit(orderingKey));
+    boolean startDraining;
+    synchronized (pendingTasksByOrderingKey) {
+      ArrayDeque<PendingTask> pendingTasks = pendingTasksByOrderingKey.get(orderingKey);
+      startDraining = pendingTasks == null;
+      if (startDraining) {
+        pendingTasks = new ArrayDeque<>();
+        pendingTasksByOrderingKey.put(orderingKey, pendingTasks);
+      }
+      pendingTasks.add(pendingTask);
+    }
+    if (startDraining) {
+      virtualThreadExecutor.execute(() -> _drain(orderingKey));
+    }
+  }
+
+  private boolean _acquirePendingTaskPermit(String orderingKey) {
+    if (pendingTaskPermits.tryAcquire()) return true;
+    log.info("Deferred task queue full, waiting to submit task for '{}'", orderingKey);
+    try {
+      if (pendingTaskPermits.tryAcquire(maxSubmitWaitMillis, TimeUnit.MILLISECONDS)) return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    log.warn("Deferred task queue still full, submitting task for '{}' anyway", orderingKey);
+    return false;
+  }
+
+  private void _drain(String orderingKey) {
+    while (true) {
+      PendingTask pendingTask;
+      synchronized (pendingTasksByOrderingKey) {
+        ArrayDeque<PendingTask> pendingTasks = pendingTasksByOrderingKey.get(orderingKey);
+        pendingTask = pendingTasks.poll();
+        if (pendingTask == null) {
+          pendingTasksByOrderingKey.remove(orderingKey);
+          return;
+        }
+      }
+      if (pendingTask.hasPendingPermit()) {
+        pendingTaskPermits.release();
+      }
+      runningTaskPermits.acquireUninterruptibly();
+      try {
+        pendingTask.runnable().run();
+      } catch (RuntimeException e) {
+        log.error("Deferred task for '%s' failed".formatted(orderingKey), e);
+      } finally {
+        runningTaskPermits.release();
+      }
+    }
+  }
+}
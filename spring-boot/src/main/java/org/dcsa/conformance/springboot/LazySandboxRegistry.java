@@ -0,0 +1,113 @@
+package org.dcsa.conformance.springboot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.dcsa.conformance.core.AbstractComponentFactory;
+import org.dcsa.conformance.core.AbstractStandard;
+import org.dcsa.conformance.sandbox.ConformanceSandbox;
+import org.dcsa.conformance.sandbox.configuration.SandboxConfiguration;
+import org.dcsa.conformance.sandbox.state.ConformancePersistenceProvider;
+
+/**
+ * Sandboxes that the application provides out of the box, which are only created (configuration
+ * saved and, where needed, state reset) the first time they are accessed, so that the startup time
+ * and the memory used depend on the sandboxes in use rather than on the number of standards,
+ * versions, suites and roles.
+ *
+ * <p>Until then, only the id of each sandbox is kept, together with the standard, version, suite,
+ * role and flags from which its configuration template is generated when it is created: neither
+ * the template nor the component factory generating it are kept.
+ */
+@Slf4j
+class LazySandboxRegistry {
+  private record PendingSandbox(
+      AbstractStandard standard,
+      String standardVersion,
+      String scenarioSuite,
+      String testedPartyRole,
+      boolean isManual,
+      boolean isTestingCounterpartsConfig) {
+    JsonNode generateTemplate() {
+      return standard
+          .createComponentFactory(standardVersion, scenarioSuite)
+          .getJsonSandboxConfigurationTemplate(
+              testedPartyRole, isManual, isTestingCounterpartsConfig);
+    }
+  }
+
+  private final ConformancePersistenceProvider persistenceProvider;
+  private final Consumer<JsonNode> deferredSandboxTaskConsumer;
+  private final String environmentId;
+
+  private final ConcurrentHashMap<String, PendingSandbox> pendingSandboxesBySandboxId =
+      new ConcurrentHashMap<>();
+  private final Set<String> pendingManualSandboxIds = ConcurrentHashMap.newKeySet();
+
+  LazySandboxRegistry(
+      ConformancePersistenceProvider persistenceProvider,
+      Consumer<JsonNode> deferredSandboxTaskConsumer,
+      String environmentId) {
+    this.persistenceProvider = persistenceProvider;
+    this.deferredSandboxTaskConsumer = deferredSandboxTaskConsumer;
+    this.environmentId = environmentId;
+  }
+
+  /**
+   * Registers a sandbox to be created on first access, without generating its configuration
+   * template.
+   *
+   * @param componentFactory a component factory of the standard, only used during the call
+   * @return the id of the sandbox
+   */
+  String register(
+      AbstractStandard standard,
+      AbstractComponentFactory componentFactory,
+      String testedPartyRole,
+      boolean isManual,
+      boolean isTestingCounterpartsConfig) {
+    String sandboxId =
+        componentFactory.getSandboxId(testedPartyRole, isManual, isTestingCounterpartsConfig);
+    pendingSandboxesBySandboxId.put(
+        sandboxId,
+        new PendingSandbox(
+            standard,
+            componentFactory.getStandardVersion(),
+            componentFactory.getScenarioSuite(),
+            testedPartyRole,
+            isManual,
+            isTestingCounterpartsConfig));
+    if (isManual) {
+      pendingManualSandboxIds.add(sandboxId);
+    }
+    return sandboxId;
+  }
+
+  /** Creates the sandbox if it is registered and not created yet, otherwise does nothing. */
+  void ensureCreated(String sandboxId) {
+    if (sandboxId == null) return;
+    PendingSandbox pendingSandbox = pendingSandboxesBySandboxId.get(sandboxId);
+    if (pendingSandbox == null) return;
+    // the pending sandbox is the lock of its creation: concurrent accesses to the same sandbox wait
+    // until it is created, while other sandboxes are created in parallel and the map is not blocked
+    synchronized (pendingSandbox) {
+      if (pendingSandboxesBySandboxId.get(sandboxId) != pendingSandbox) return;
+      log.info("Creating sandbox {} on first access", sandboxId);
+      ConformanceSandbox.create(
+          persistenceProvider,
+          deferredSandboxTaskConsumer,
+          environmentId,
+          SandboxConfiguration.fromJsonNode(pendingSandbox.generateTemplate()));
+      pendingSandboxesBySandboxId.remove(sandboxId, pendingSandbox);
+    }
+    pendingManualSandboxIds.remove(sandboxId);
+  }
+
+  /** Creates the manual testing sandboxes not created yet, which the webui lists. */
+  void ensureManualSandboxesCreated() {
+    if (pendingManualSandboxIds.isEmpty()) return;
+    Set.copyOf(pendingManualSandboxIds).forEach(this::ensureCreated);
+  }
+}
@@ -0,0 +1,108 @@
+package org.dcsa.conformance.springboot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class DeferredSandboxTaskExecutorTest {
+
+  @Test
+  void runsTasksOfTheSameSandboxInSubmissionOrder() throws InterruptedException {
+    DeferredSandboxTaskExecutor executor = new DeferredSandboxTaskExecutor(8, 1000, 1000);
+    List<Integer> executedTasks = new CopyOnWriteArrayList<>();
+    CountDownLatch completedTasks = new CountDownLatch(100);
+
+    IntStream.range(0, 100)
+        .forEach(
+            taskIndex ->
+                executor.submit(
+                    "sandbox1",
+                    () -> {
+                      executedTasks.add(taskIndex);
+                      completedTasks.countDown();
+                    }));
+
+    assertTrue(completedTasks.await(10, TimeUnit.SECONDS));
+    assertEquals(IntStream.range(0, 100).boxed().toList(), executedTasks);
+  }
+
+  @Test
+  void slowSandboxDoesNotBlockOtherSandboxes() throws InterruptedException {
+    DeferredSandboxTaskExecutor executor = new DeferredSandboxTaskExecutor(8, 1000, 1000);
+    CountDownLatch slowTaskRelease = new CountDownLatch(1);
+    CountDownLatch fastTaskCompletion = new CountDownLatch(1);
+
+    executor.submit("slowSandbox", () -> awaitQuietly(slowTaskRelease));
+    executor.submit("fastSandbox", fastTaskCompletion::countDown);
+
+    assertTrue(fastTaskCompletion.await(10, TimeUnit.SECONDS));
+    slowTaskRelease.countDown();
+  }
+
+  @Test
+  void runningTasksAreBounded() throws InterruptedException {
+    int maxRunningTasks = 3;
+    DeferredSandboxTaskExecutor executor =
+        new DeferredSandboxTaskExecutor(maxRunningTasks, 1000, 1000);
+    AtomicInteger runningTaskCount = new AtomicInteger();
+    AtomicInteger maxObservedRunningTaskCount = new AtomicInteger();
+    CountDownLatch completedTasks = new CountDownLatch(20);
+
+    IntStream.range(0, 20)
+        .forEach(
+            sandboxIndex ->
+                executor.submit(
+                    "sandbox" + sandboxIndex,
+                    () -> {
+                      maxObservedRunningTaskCount.accumulateAndGet(
+                          runningTaskCount.incrementAndGet(), Math::max);
+                      sleepQuietly(20);
+                      runningTaskCount.decrementAndGet();
+                      completedTasks.countDown();
+                    }));
+
+    assertTrue(completedTasks.await(10, TimeUnit.SECONDS));
+    assertTrue(maxObservedRunningTaskCount.get() <= maxRunningTasks);
+  }
+
+  @Test
+  void fullQueueDelaysButDoesNotDropSubmissions() throws InterruptedException {
+    DeferredSandboxTaskExecutor executor = new DeferredSandboxTaskExecutor(1, 1, 50);
+    CountDownLatch completedTasks = new CountDownLatch(5);
+
+    IntStream.range(0, 5)
+        .forEach(
+            ignoredIndex ->
+                executor.submit(
+                    "sandbox1",
+                    () -> {
+                      sleepQuietly(10);
+                      completedTasks.countDown();
+                    }));
+
+    assertTrue(completedTasks.await(10, TimeUnit.SECONDS));
+  }
+
+  private static void awaitQuietly(CountDownLatch countDownLatch) {
+    try {
+      countDownLatch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleepQuietly(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package org.dcsa.conformance.springboot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.dcsa.conformance.core.AbstractComponentFactory;
+import org.dcsa.conformance.core.AbstractStandard;
+import org.dcsa.conformance.core.state.MemorySortedPartitionsLockingMap;
+import org.dcsa.conformance.core.state.MemorySortedPartitionsNonLockingMap;
+import org.dcsa.conformance.sandbox.ConformanceSandbox;
+import org.dcsa.conformance.sandbox.state.ConformancePersistenceProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LazySandboxRegistryTest {
+  private ConformancePersistenceProvider persistenceProvider;
+  private LazySandboxRegistry lazySandboxRegistry;
+  private AbstractStandard standard;
+  private AbstractComponentFactory componentFactory;
+
+  @BeforeEach
+  void setUp() {
+    persistenceProvider =
+        new ConformancePersistenceProvider(
+            new MemorySortedPartitionsNonLockingMap(), new MemorySortedPartitionsLockingMap());
+    lazySandboxRegistry =
+        new LazySandboxRegistry(persistenceProvider, ignoredTask -> {}, "test-env");
+    standard = ConformanceSandbox.SUPPORTED_STANDARDS[0];
+    String standardVersion = standard.getScenarioSuitesByStandardVersion().firstKey();
+    componentFactory =
+        standard.createComponentFactory(
+            standardVersion,
+            standard.getScenarioSuitesByStandardVersion().get(standardVersion).first());
+  }
+
+  @Test
+  void createsSandboxOnlyOnFirstAccess() {
+    String sandboxId = lazySandboxRegistry.register(standard, componentFactory, null, false, false);
+    assertEquals(
+        componentFactory.getJsonSandboxConfigurationTemplate(null, false, false).get("id").asText(),
+        sandboxId);
+    assertNull(getSandboxConfigurationNode(sandboxId));
+
+    lazySandboxRegistry.ensureCreated(sandboxId);
+    assertNotNull(getSandboxConfigurationNode(sandboxId));
+    assertEquals(
+        sandboxId,
+        ConformanceSandbox.loadSandboxConfiguration(persistenceProvider, sandboxId).getId());
+  }
+
+  @Test
+  void sandboxIdsMatchTheGeneratedTemplates() {
+    String roleName = componentFactory.getRoleNames().first();
+    for (boolean isManual : new boolean[] {false, true}) {
+      for (boolean isTestingCounterpartsConfig : new boolean[] {false, true}) {
+        JsonNode template =
+            componentFactory.getJsonSandboxConfigurationTemplate(
+                roleName, isManual, isTestingCounterpartsConfig);
+        assertEquals(
+            template.get("id").asText(),
+            componentFactory.getSandboxId(roleName, isManual, isTestingCounterpartsConfig));
+      }
+    }
+  }
+
+  @Test
+  void concurrentFirstAccessesCreateTheSandboxOnce() throws Exception {
+    String sandboxId =
+        lazySandboxRegistry.register(
+            standard, componentFactory, componentFactory.getRoleNames().first(), true, false);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<?>> futures =
+          IntStream.range(0, 8)
+              .<Future<?>>mapToObj(
+                  ignored ->
+                      executorService.submit(
+                          () -> {
+                            startLatch.await();
+                            lazySandboxRegistry.ensureCreated(sandboxId);
+                            return null;
+                          }))
+              .toList();
+      startLatch.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+
+    assertNotNull(getSandboxConfigurationNode(sandboxId));
+    // a manual sandbox is reset once when it is created, which starts its first session
+    assertEquals(
+        1,
+        persistenceProvider
+            .getNonLockingMap()
+            .getPartitionValuesBySortKey("sandbox#" + sandboxId, "SK=session#")
+            .size());
+  }
+
+  @Test
+  void ignoresUnknownSandboxes() {
+    lazySandboxRegistry.ensureCreated("unknown-sandbox");
+    lazySandboxRegistry.ensureCreated(null);
+    assertNull(getSandboxConfigurationNode("unknown-sandbox"));
+  }
+
+  private JsonNode getSandboxConfigurationNode(String sandboxId) {
+    return persistenceProvider.getNonLockingMap().getItemValue("sandbox#" + sandboxId, "config");
+  }
+}
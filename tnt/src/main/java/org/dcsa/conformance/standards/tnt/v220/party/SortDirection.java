@@ -1,6 +0,0 @@
-package org.dcsa.conformance.standards.tnt.v220.party;
-
-public enum SortDirection {
-  ASC,
-  DESC
- }
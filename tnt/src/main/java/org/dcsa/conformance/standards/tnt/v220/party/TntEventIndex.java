@@ -0,0 +1,53 @@
+package org.dcsa.conformance.standards.tnt.v220.party;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.dcsa.conformance.core.query.IndexedJsonCollection;
+import org.dcsa.conformance.core.query.QueryAttribute;
+import org.dcsa.conformance.core.toolkit.JsonToolkit;
+import org.dcsa.conformance.standards.tnt.v220.checks.TntSchemaConformanceCheck;
+
+/**
+ * The events returned by the TNT 2.2.0 publisher, extracted once from the response template and
+ * indexed for the query parameters of the attribute mappings. Events are identified by their
+ * eventID, so that queries return each event only once.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class TntEventIndex {
+  private static final String RESPONSE_TEMPLATE_PATH =
+      "/standards/tnt/messages/tnt-220-response.json";
+
+  private static final class DefaultIndexHolder {
+    private static final IndexedJsonCollection INSTANCE =
+        of(JsonToolkit.templateFileToJsonNode(RESPONSE_TEMPLATE_PATH, Map.ofEntries()));
+  }
+
+  static IndexedJsonCollection getDefault() {
+    return DefaultIndexHolder.INSTANCE;
+  }
+
+  static IndexedJsonCollection of(JsonNode responseBody) {
+    Map<String, List<QueryAttribute>> attributesByParamName = new HashMap<>();
+    AttributeMapping.initializeAttributeMappings()
+        .forEach(
+            (paramName, mappings) ->
+                attributesByParamName.put(
+                    paramName,
+                    mappings.stream()
+                        .map(
+                            mapping ->
+                                new QueryAttribute(
+                                    mapping.getJsonPath(),
+                                    mapping.getCondition(),
+                                    mapping.getValues()))
+                        .toList()));
+    return new IndexedJsonCollection(
+        TntSchemaConformanceCheck.findEventNodes(responseBody),
+        attributesByParamName,
+        event -> event.at("/eventID").asText());
+  }
+}
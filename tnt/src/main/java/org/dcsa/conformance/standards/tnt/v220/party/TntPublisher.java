@@ -7,7 +7,6 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -17,6 +16,8 @@ import org.dcsa.conformance.core.party.ConformanceParty;
 import org.dcsa.conformance.core.party.CounterpartConfiguration;
 import org.dcsa.conformance.core.party.PartyConfiguration;
 import org.dcsa.conformance.core.party.PartyWebClient;
+import org.dcsa.conformance.core.query.IndexedJsonCollection;
+import org.dcsa.conformance.core.query.QueryPlan;
 import org.dcsa.conformance.core.scenario.ConformanceAction;
 import org.dcsa.conformance.core.state.JsonNodeMap;
 import org.dcsa.conformance.core.toolkit.JsonToolkit;
@@ -24,9 +25,7 @@ import org.dcsa.conformance.core.traffic.ConformanceMessageBody;
 import org.dcsa.conformance.core.traffic.ConformanceRequest;
 import org.dcsa.conformance.core.traffic.ConformanceResponse;
 import org.dcsa.conformance.standards.tnt.v220.action.SupplyScenarioParametersAction;
-import org.dcsa.conformance.standards.tnt.v220.checks.TntSchemaConformanceCheck;
 
-import static org.dcsa.conformance.core.party.CustomJsonPointer.traverse;
 import static org.dcsa.conformance.core.toolkit.JsonToolkit.OBJECT_MAPPER;
 
 @Slf4j
@@ -38,6 +37,8 @@ public class TntPublisher extends ConformanceParty {
   private static final boolean USE_WRONG_EVENT_IDS = false;
   private static final boolean USE_WRONG_RESPONSE_STRUCTURE = false;
 
+  private final IndexedJsonCollection eventIndex = TntEventIndex.getDefault();
+
   public TntPublisher(
       String apiVersion,
       PartyConfiguration partyConfiguration,
@@ -106,65 +107,18 @@ public class TntPublisher extends ConformanceParty {
     Map<String, Collection<String>> headers =
         new HashMap<>(Map.of(API_VERSION, List.of(apiVersion)));
 
-    Map<String, List<AttributeMapping>> attributeMappings =
-        AttributeMapping.initializeAttributeMappings();
-
-    JsonNode jsonResponseBody =
-        JsonToolkit.templateFileToJsonNode(
-            "/standards/tnt/messages/tnt-220-response.json", Map.ofEntries());
-
-    ArrayList<JsonNode> eventNodes = TntSchemaConformanceCheck.findEventNodes(jsonResponseBody);
-
     if (!new QueryParameterSpecificRule().validate(request.queryParams())) {
       return return400(request);
     }
-    ArrayNode filteredArray = OBJECT_MAPPER.createArrayNode();
-    eventNodes.forEach(filteredArray::add);
-
-    // Chained Filtering Logic
-    for (Map.Entry<String, ? extends Collection<String>> queryParam :
-        request.queryParams().entrySet()) {
-      String paramName = queryParam.getKey();
-      Collection<String> paramValues =
-          queryParam.getValue().stream()
-              .flatMap(value -> Arrays.stream(value.split(",")))
-              .collect(Collectors.toList());
-      List<AttributeMapping> mappings = attributeMappings.get(paramName);
-      Set<String> seenEventIds = new HashSet<>();
-      if (mappings != null) {
-        filteredArray = applyFilter(filteredArray, mappings, paramValues, seenEventIds);
-      }
-    }
 
-    if (request.queryParams().containsKey("sort")) {
-      Collection<String> sortingFields = request.queryParams().get("sort");
-      List<SortCriteria> sortCriteria =
-          sortingFields.stream()
-              .map(
-                  sortField -> {
-                    String[] parts = sortField.split(":");
-                    return new SortCriteria(
-                        parts[0],
-                        attributeMappings.get(parts[0]),
-                        parts.length > 1
-                            ? SortDirection.valueOf(parts[1].toUpperCase())
-                            : SortDirection.ASC);
-                  })
-              .collect(Collectors.toList());
-      filteredArray = sortJsonArray(filteredArray, sortCriteria);
-    }
-    int limit =
-        Integer.parseInt(
-            request.queryParams().containsKey("limit")
-                ? request.queryParams().get("limit").iterator().next()
-                : "100");
-    String cursor =
-        request.queryParams().containsKey("cursor")
-            ? request.queryParams().get("cursor").iterator().next()
-            : null;
+    // Chained filtering and sorting
+    QueryPlan queryPlan = QueryPlan.compile(request.queryParams());
+    int[] filteredEvents = eventIndex.execute(queryPlan);
+    int limit = queryPlan.limitOrDefault(100);
+    String cursor = queryPlan.cursor();
     String cursorKey = "cursorKey";
 
-    ArrayNode limitedArray = applyCursorLogic(filteredArray, cursor, cursorKey, limit, headers);
+    ArrayNode limitedArray = applyCursorLogic(filteredEvents, cursor, cursorKey, limit, headers);
 
     if (RETURN_EMPTY_RESPONSE) {
       return request.createResponse(
@@ -206,72 +160,6 @@ public class TntPublisher extends ConformanceParty {
     }
   }
 
-  private ArrayNode applyFilter(
-      ArrayNode inputArray,
-      List<AttributeMapping> mappings,
-      Collection<String> paramValues,
-      Set<String> seenEventIds) {
-    ArrayNode resultArray =
-        OBJECT_MAPPER.createArrayNode(); // Track seen eventIds within this filter
-
-    mappings.forEach(
-        mapping ->
-            paramValues.forEach(
-                paramValue ->
-                    StreamSupport.stream(inputArray.spliterator(), false)
-                        .forEach(
-                            node -> {
-                              String jsonPath = mapping.getJsonPath();
-                              BiPredicate<JsonNode, String> condition = mapping.getCondition();
-
-                              List<JsonNode> results = new ArrayList<>();
-                              traverse(
-                                  node, jsonPath.split("/"), 0, results, condition, paramValue);
-
-                              if (!results.isEmpty()) {
-                                String eventId = node.at("/eventID").asText();
-                                if (!seenEventIds.contains(eventId)
-                                    && (mapping.getValues().isEmpty()
-                                        || results.stream()
-                                            .anyMatch(
-                                                result ->
-                                                    mapping
-                                                        .getValues()
-                                                        .contains(result.asText())))) {
-                                  seenEventIds.add(eventId);
-                                  resultArray.add(node);
-                                }
-                              }
-                            })));
-    return resultArray;
-  }
-
-  public static ArrayNode sortJsonArray(ArrayNode jsonArray, List<SortCriteria> criteria) {
-    if (jsonArray == null || criteria == null || criteria.isEmpty()) {
-      return jsonArray; // No sorting needed
-    }
-
-    List<JsonNode> jsonNodeList = new ArrayList<>();
-    jsonArray.forEach(jsonNodeList::add);
-
-    jsonNodeList.sort(
-        (node1, node2) -> {
-          int comparisonResult = 0;
-          for (SortCriteria criterion : criteria) {
-            comparisonResult =
-                compareNodesByField(node1, node2, criterion.field(), criterion.direction());
-            if (comparisonResult != 0) {
-              return comparisonResult; // Stop comparing if a difference is found
-            }
-          }
-          return comparisonResult;
-        });
-
-    ArrayNode sortedArray = jsonArray.arrayNode();
-    jsonNodeList.forEach(sortedArray::add);
-    return sortedArray;
-  }
-
   private ConformanceResponse return400(ConformanceRequest request) {
     return request.createResponse(
         400,
@@ -306,77 +194,30 @@ public class TntPublisher extends ConformanceParty {
     return rootNode;
   }
 
-  private static int compareNodesByField(
-      JsonNode node1, JsonNode node2, String field, SortDirection direction) {
-    // Handle nested fields using recursion
-    String[] fieldParts = field.split("/", 2);
-    JsonNode value1 = node1.path(fieldParts[0]);
-    JsonNode value2 = node2.path(fieldParts[0]);
-
-    if (fieldParts.length > 1 && value1.isObject() && value2.isObject()) {
-      return compareNodesByField(value1, value2, fieldParts[1], direction);
-    }
-
-    // Handle different data types
-    if (value1.isTextual() && value2.isTextual()) {
-      return direction == SortDirection.ASC
-          ? value1.asText().compareTo(value2.asText())
-          : value2.asText().compareTo(value1.asText());
-    } else if (value1.isNumber() && value2.isNumber()) {
-      return direction == SortDirection.ASC
-          ? Double.compare(value1.asDouble(), value2.asDouble())
-          : Double.compare(value2.asDouble(), value1.asDouble());
-    } else {
-      // Add more type handling as needed (e.g., boolean, dates)
-      return 0; // Consider how to handle incomparable types
-    }
-  }
-
-  protected String generateCursor(ArrayNode events, int limit, String cursorKey) {
-    if (events.size() <= limit) {
-      persistentMap.save(cursorKey, OBJECT_MAPPER.createObjectNode());
-      return null;
-    }
-    JsonNode lastEvent = events.get(limit - 1);
-    String lastEventId = lastEvent.at("/eventID").asText();
-    persistentMap.save(cursorKey, OBJECT_MAPPER.createObjectNode().put("cursor", lastEventId));
-    return lastEventId;
-  }
-
   private ArrayNode applyCursorLogic(
-      ArrayNode filteredArray,
+      int[] filteredEvents,
       String cursor,
       String cursorKey,
       int limit,
       Map<String, Collection<String>> headers) {
     // Retrieve cursor from persistentMap if available
+    int cursorOffset = -1;
     if (cursor != null) {
       JsonNode storedCursor = persistentMap.load(cursorKey);
       if (storedCursor != null) {
         cursor = storedCursor.path("cursor").asText();
+        cursorOffset = storedCursor.path("offset").asInt(-1);
       }
     }
 
-    ArrayNode limitedArray = OBJECT_MAPPER.createArrayNode();
-    int startIndex = 0; // Start from the beginning if no cursor
-
-    // Apply cursor logic (skip events based on cursor)
-    if (cursor != null) {
-      for (int i = 0; i < filteredArray.size(); i++) {
-        if (filteredArray.get(i).at("/eventID").asText().equals(cursor)) {
-          startIndex = i + 1; // Start from the next event
-          break;
-        }
-      }
-    }
+    // Skip the events up to the cursor event, normally found at the saved offset
+    int startIndex = eventIndex.findCursorStartIndex(filteredEvents, cursor, cursorOffset);
 
     // Limit results
-    for (int i = startIndex; i < filteredArray.size() && limitedArray.size() < limit; i++) {
-      limitedArray.add(filteredArray.get(i));
-    }
+    ArrayNode limitedArray = eventIndex.toArrayNode(filteredEvents, startIndex, startIndex + limit);
 
     // Generate and store cursor for the next page
-    String nextCursor = generateCursor(filteredArray, startIndex + limit, cursorKey);
+    String nextCursor = generateCursor(filteredEvents, startIndex + limit, cursorKey);
 
     if (nextCursor != null) {
       headers.put("Next-Page-Cursor", List.of(nextCursor));
@@ -384,4 +225,16 @@ public class TntPublisher extends ConformanceParty {
 
     return limitedArray;
   }
+
+  protected String generateCursor(int[] filteredEvents, int nextStartIndex, String cursorKey) {
+    if (filteredEvents.length <= nextStartIndex) {
+      persistentMap.save(cursorKey, OBJECT_MAPPER.createObjectNode());
+      return null;
+    }
+    String lastEventId = eventIndex.getItemId(filteredEvents[nextStartIndex - 1]);
+    persistentMap.save(
+        cursorKey,
+        OBJECT_MAPPER.createObjectNode().put("cursor", lastEventId).put("offset", nextStartIndex));
+    return lastEventId;
+  }
 }
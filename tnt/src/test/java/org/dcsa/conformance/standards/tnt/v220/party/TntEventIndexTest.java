@@ -0,0 +1,115 @@
+package org.dcsa.conformance.standards.tnt.v220.party;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.util.Arrays;
+import java.util.List;
+import org.dcsa.conformance.core.query.IndexedJsonCollection;
+import org.dcsa.conformance.core.query.QueryPlan.SortCriterion;
+import org.dcsa.conformance.core.query.QueryPlan.SortDirection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TntEventIndexTest {
+
+  private IndexedJsonCollection eventIndex;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    JsonNode responseBody =
+        new ObjectMapper()
+            .readTree(
+                """
+                [
+                  {"eventID": "e1", "eventType": "SHIPMENT",
+                   "eventCreatedDateTime": "2021-01-03T00:00:00Z",
+                   "documentTypeCode": "BKG", "documentID": "CBR1"},
+                  {"eventID": "e2", "eventType": "TRANSPORT",
+                   "eventCreatedDateTime": "2021-01-01T00:00:00Z",
+                   "transportCall": {"carrierServiceCode": "FE1"},
+                   "documentReferences": [
+                     {"documentReferenceType": "BKG", "documentReferenceValue": "CBR1"}
+                   ]},
+                  {"eventID": "e3", "eventType": "EQUIPMENT",
+                   "eventCreatedDateTime": "2021-01-02T00:00:00Z",
+                   "transportCall": {"carrierServiceCode": "FE2"}},
+                  {"eventID": "e4", "eventType": "SHIPMENT",
+                   "eventCreatedDateTime": "2021-01-04T00:00:00Z",
+                   "documentTypeCode": "TRD", "documentID": "TD1"}
+                ]
+                """);
+    eventIndex = TntEventIndex.of(responseBody);
+  }
+
+  @Test
+  void filtersByIndexedAttributes() {
+    assertEquals(
+        List.of("e1", "e4"),
+        eventIds(eventIndex.filter(eventIndex.all(), "eventType", List.of("SHIPMENT"))));
+    assertEquals(
+        List.of("e2"),
+        eventIds(eventIndex.filter(eventIndex.all(), "carrierServiceCode", List.of("FE1"))));
+    assertEquals(
+        List.of("e2", "e1"),
+        eventIds(
+            eventIndex.filter(eventIndex.all(), "carrierBookingReference", List.of("CBR1"))));
+    assertEquals(
+        List.of("e1", "e3", "e4"),
+        eventIds(
+            eventIndex.filter(
+                eventIndex.all(),
+                "eventCreatedDateTime:gte",
+                List.of("2021-01-02T00:00:00Z"))));
+  }
+
+  @Test
+  void chainedFiltersIntersectSelections() {
+    int[] selectedEvents =
+        eventIndex.filter(eventIndex.all(), "eventType", List.of("SHIPMENT", "TRANSPORT"));
+    assertEquals(List.of("e1", "e4", "e2"), eventIds(selectedEvents));
+    selectedEvents =
+        eventIndex.filter(
+            selectedEvents, "eventCreatedDateTime:lt", List.of("2021-01-04T00:00:00Z"));
+    assertEquals(List.of("e1", "e2"), eventIds(selectedEvents));
+    assertArrayEquals(
+        selectedEvents, eventIndex.filter(selectedEvents, "unknownParameter", List.of("x")));
+  }
+
+  @Test
+  void sortsByPreRankedValues() {
+    assertEquals(
+        List.of("e2", "e3", "e1", "e4"),
+        eventIds(
+            eventIndex.sort(
+                eventIndex.all(),
+                List.of(new SortCriterion("eventCreatedDateTime", SortDirection.ASC)))));
+    assertEquals(
+        List.of("e2", "e1", "e4", "e3"),
+        eventIds(
+            eventIndex.sort(
+                eventIndex.all(),
+                List.of(
+                    new SortCriterion("eventType", SortDirection.DESC),
+                    new SortCriterion("documentID", SortDirection.ASC)))));
+  }
+
+  @Test
+  void cursorsResumeAtTheSavedOffset() {
+    int[] selectedEvents = eventIndex.all();
+    assertEquals(0, eventIndex.findCursorStartIndex(selectedEvents, null, -1));
+    assertEquals(2, eventIndex.findCursorStartIndex(selectedEvents, "e2", 2));
+    assertEquals(3, eventIndex.findCursorStartIndex(selectedEvents, "e3", 2));
+    assertEquals(0, eventIndex.findCursorStartIndex(selectedEvents, "", -1));
+
+    ArrayNode page = eventIndex.toArrayNode(selectedEvents, 2, 10);
+    assertEquals(2, page.size());
+    assertEquals("e3", page.get(0).path("eventID").asText());
+  }
+
+  private List<String> eventIds(int[] selectedEvents) {
+    return Arrays.stream(selectedEvents).mapToObj(eventIndex::getItemId).toList();
+  }
+}